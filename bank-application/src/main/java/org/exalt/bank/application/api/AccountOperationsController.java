@@ -8,8 +8,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.exalt.bank.application.model.AccountOperationRequest;
+import org.exalt.bank.application.model.BatchOperationResultResponse;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
 import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +22,8 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,6 +32,9 @@ import java.util.UUID;
 @Tag(name = "Bank Account Operations", description = "gestion des dépots et retraits des comptes bancaires")
 public class AccountOperationsController {
     static final String ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE = "bank account not found";
+    static final int MAX_BATCH_SIZE = 50_000;
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
     private final BankAccountOperationUseCase bankAccountOperationUseCase;
 
     public AccountOperationsController(BankAccountOperationUseCase bankAccountOperationUseCase) {
@@ -38,16 +48,26 @@ public class AccountOperationsController {
                     @ApiResponse(responseCode = "201", description = "Retrait effectué avec succès",
                             content = @Content(schema = @Schema(implementation = BankAccountOperationResult.class))),
                     @ApiResponse(responseCode = "400", description = "Requête invalide"),
+                    @ApiResponse(responseCode = "409", description = "Opération avec la même clé d'idempotence encore en cours"),
+                    @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour une autre opération"),
                     @ApiResponse(responseCode = "500", description = "retrait echoués")
             })
     public ResponseEntity<BankAccountOperationResult> withdrawal(
             @PathVariable @NotBlank @Parameter(description = "Identifiant unique du compte") UUID accountId,
-            @RequestBody @NotBlank @Parameter(description = "Montant à retirer") BigDecimal withdrawalAmount) {
+            @RequestBody @NotBlank @Parameter(description = "Montant à retirer") BigDecimal withdrawalAmount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Clé fournie par le client : un retrait rejoué avec la même clé renvoie le résultat d'origine") String idempotencyKey) {
         if (BigDecimal.ZERO.compareTo(withdrawalAmount) >= 0) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure("withdrawal amount must be greater than zero."));
         }
+        if (!Money.fitsDefaultScale(withdrawalAmount)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(tooManyDecimals());
+        }
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidIdempotencyKey());
+        }
 
-        var result = bankAccountOperationUseCase.withdrawal(accountId, withdrawalAmount);
+        var result = bankAccountOperationUseCase.withdrawal(accountId, withdrawalAmount, idempotencyKey);
         return result instanceof BankAccountOperationResult.Failure failure
                 ? handleFailure(failure)
                 : ResponseEntity.status(HttpStatus.CREATED).body(result);
@@ -61,25 +81,97 @@ public class AccountOperationsController {
                             content = @Content(schema = @Schema(implementation = BankAccountOperationResult.class))),
                     @ApiResponse(responseCode = "400", description = "paramètre invalide"),
                     @ApiResponse(responseCode = "404", description = "Compte non trouvé"),
+                    @ApiResponse(responseCode = "409", description = "Opération avec la même clé d'idempotence encore en cours"),
+                    @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour une autre opération"),
                     @ApiResponse(responseCode = "500", description = "dêpot echoué")
             })
     public ResponseEntity<BankAccountOperationResult> deposit(
             @PathVariable @NotBlank @Parameter(description = "Identifiant unique du compte") UUID accountId,
-            @RequestBody @NotNull @Parameter(description = "Montant à déposer") BigDecimal depositAmount) {
+            @RequestBody @NotNull @Parameter(description = "Montant à déposer") BigDecimal depositAmount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Parameter(description = "Clé fournie par le client : un dépôt rejoué avec la même clé renvoie le résultat d'origine") String idempotencyKey) {
 
         if (BigDecimal.ZERO.compareTo(depositAmount) >= 0)
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure("Deposit amount must be greater than zero."));
-        var result = this.bankAccountOperationUseCase.deposit(accountId, depositAmount);
+        if (!Money.fitsDefaultScale(depositAmount))
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(tooManyDecimals());
+        if (!isValidIdempotencyKey(idempotencyKey))
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidIdempotencyKey());
+        var result = this.bankAccountOperationUseCase.deposit(accountId, depositAmount, idempotencyKey);
         if (result instanceof BankAccountOperationResult.Failure failure) {
             return handleFailure(failure);
         }
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    @PostMapping(value = "/operations:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Applique un lot de dépôts et retraits",
+            description = "Regroupe les opérations par compte et renvoie un résultat par opération, dans l'ordre de soumission.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lot traité, voir le résultat de chaque opération"),
+                    @ApiResponse(responseCode = "400", description = "Lot vide ou trop volumineux")
+            })
+    public ResponseEntity<List<BatchOperationResultResponse>> applyBatch(
+            @RequestBody @NotNull @Parameter(description = "Opérations à appliquer") List<AccountOperationRequest> operations) {
+        if (operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var results = new BatchOperationResultResponse[operations.size()];
+        var commands = new ArrayList<BankAccountOperationCommand>(operations.size());
+        var commandIndexes = new ArrayList<Integer>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            var operation = operations.get(index);
+            var rejection = validate(operation);
+            if (rejection != null) {
+                results[index] = BatchOperationResultResponse.from(index, operation.getAccountId(), rejection);
+            } else {
+                commands.add(operation.toCommand());
+                commandIndexes.add(index);
+            }
+        }
+
+        var outcomes = bankAccountOperationUseCase.applyBatch(commands);
+        for (int i = 0; i < commands.size(); i++) {
+            int index = commandIndexes.get(i);
+            results[index] = BatchOperationResultResponse.from(index, commands.get(i).getAccountId(), outcomes.get(i));
+        }
+        return ResponseEntity.ok(List.of(results));
+    }
+
+    private static BankAccountOperationResult.Failure validate(AccountOperationRequest operation) {
+        if (operation.getAccountId() == null || operation.getOperationType() == null) {
+            return new BankAccountOperationResult.Failure("accountId and operationType are required.");
+        }
+        if (operation.getAmount() == null || BigDecimal.ZERO.compareTo(operation.getAmount()) >= 0) {
+            return new BankAccountOperationResult.Failure("amount must be greater than zero.");
+        }
+        if (!Money.fitsDefaultScale(operation.getAmount())) {
+            return tooManyDecimals();
+        }
+        return null;
+    }
+
+    private static BankAccountOperationResult.Failure tooManyDecimals() {
+        return new BankAccountOperationResult.Failure(Money.TOO_MANY_DECIMALS_MESSAGE);
+    }
+
+    private static boolean isValidIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey == null || (!idempotencyKey.isBlank() && idempotencyKey.length() <= MAX_IDEMPOTENCY_KEY_LENGTH);
+    }
+
+    private static BankAccountOperationResult.Failure invalidIdempotencyKey() {
+        return new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+    }
+
     private ResponseEntity<BankAccountOperationResult> handleFailure(BankAccountOperationResult.Failure failure) {
         HttpStatus status;
         if (failure.getOperationMessage().equals(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE)) {
             status = HttpStatus.NOT_FOUND;
+        } else if (failure.getOperationMessage().equals(BankAccountOperationPort.IDEMPOTENCY_KEY_REUSED_MESSAGE)) {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+        } else if (failure.getOperationMessage().equals(BankAccountOperationPort.IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE)) {
+            status = HttpStatus.CONFLICT;
         } else {
             status = HttpStatus.INTERNAL_SERVER_ERROR;
         }
@@ -8,7 +8,11 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotBlank;
+import org.exalt.bank.application.model.AccountOperationCursorToken;
+import org.exalt.bank.application.model.AccountOperationPageResponse;
 import org.exalt.bank.application.model.BankAccountStatementResponse;
+import org.exalt.bank.application.model.StatementSummaryResponse;
+import org.exalt.bank.domain.model.AccountOperationCursor;
 import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +20,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
@@ -29,6 +34,7 @@ import java.util.UUID;
 @Tag(name = "Bank Account statement", description = "récupération d'état d'un compte sur un mois glissant")
 public class AccountStatementController {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    static final int MAX_PAGE_SIZE = 500;
     private final BankAccountStatementUseCase bankAccountStatementUseCase;
 
     public AccountStatementController(BankAccountStatementUseCase bankAccountStatementUseCase) {
@@ -59,4 +65,61 @@ public class AccountStatementController {
                 .orElseGet(() -> ResponseEntity.ok().body(BankAccountStatementResponse.EMPTY));
 
     }
+
+    @GetMapping(value = "/{accountId}/operations", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Récupération paginée des opérations d'un compte",
+            description = "Cet API renvoie les opérations d'un mois glissant page par page, de la plus récente à la plus ancienne. " +
+                    "Le curseur renvoyé permet de demander la page suivante.",
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = AccountOperationPageResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "date, curseur ou taille de page incorrects")
+            }
+    )
+    public ResponseEntity<AccountOperationPageResponse> retrieveAccountOperationsPage(
+            @PathVariable @NotBlank @Parameter(description = "Identifiant unique du compte") UUID accountId,
+            @RequestParam @Parameter(description = "Date d'émission du relevé") String date,
+            @RequestParam(required = false) @Parameter(description = "Curseur de la page suivante") String cursor,
+            @RequestParam(defaultValue = "50") @Parameter(description = "Nombre d'opérations par page") int size
+    ) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime dateOfIssue;
+        AccountOperationCursor operationCursor;
+        try {
+            dateOfIssue = LocalDateTime.parse(date, FORMATTER);
+            operationCursor = cursor == null ? null : AccountOperationCursorToken.decode(cursor);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var page = bankAccountStatementUseCase.retrieveAccountOperationsPage(accountId, dateOfIssue, operationCursor, size);
+        return ResponseEntity.ok(AccountOperationPageResponse.from(page));
+    }
+
+    @GetMapping(value = "/{accountId}/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Totaux des opérations d'un compte",
+            description = "Cet API renvoie les totaux et le nombre de dépôts et de retraits sur un mois glissant, calculés par la base, " +
+                    "sans transférer les opérations",
+            responses = {
+                    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = StatementSummaryResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "date incorrecte"),
+                    @ApiResponse(responseCode = "404", description = "Compte non trouvé")
+            }
+    )
+    public ResponseEntity<StatementSummaryResponse> retrieveStatementSummary(
+            @PathVariable @NotBlank @Parameter(description = "Identifiant unique du compte") UUID accountId,
+            @RequestParam @Parameter(description = "Date d'émission du relevé") String date
+    ) {
+        LocalDateTime dateOfIssue;
+        try {
+            dateOfIssue = LocalDateTime.parse(date, FORMATTER);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return bankAccountStatementUseCase.retrieveStatementSummary(accountId, dateOfIssue)
+                .map(summary -> ResponseEntity.ok(StatementSummaryResponse.from(summary)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,121 @@
+package org.exalt.bank.application.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+import org.exalt.bank.application.enums.StatementExportFormat;
+import org.exalt.bank.application.model.AccountOperationResponse;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("v1/bank/statement")
+@Validated
+@Tag(name = "Bank Account statement export", description = "export de l'historique complet des opérations d'un compte")
+public class AccountStatementExportController {
+    static final String CSV_HEADER = "operationId,operationDateTime,amount,operationType,accountType";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final LocalDateTime HISTORY_START = LocalDate.EPOCH.atStartOfDay();
+
+    private final BankAccountStatementUseCase bankAccountStatementUseCase;
+    private final ObjectWriter operationWriter;
+
+    public AccountStatementExportController(BankAccountStatementUseCase bankAccountStatementUseCase, ObjectMapper objectMapper) {
+        this.bankAccountStatementUseCase = bankAccountStatementUseCase;
+        this.operationWriter = objectMapper.writerFor(AccountOperationResponse.class);
+    }
+
+    @GetMapping(value = "/{accountId}/export")
+    @Operation(summary = "Export des opérations d'un compte",
+            description = "Cet API écrit les opérations au fil de l'eau, en NDJSON ou en CSV, sans charger l'historique en mémoire",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "flux des opérations, de la plus récente à la plus ancienne"),
+                    @ApiResponse(responseCode = "400", description = "dates incorrectes")
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportAccountOperations(
+            @PathVariable @NotBlank @Parameter(description = "Identifiant unique du compte") UUID accountId,
+            @RequestParam(defaultValue = "NDJSON") @Parameter(description = "Format de l'export : NDJSON ou CSV") StatementExportFormat format,
+            @RequestParam(required = false) @Parameter(description = "Début de la période, tout l'historique par défaut") String from,
+            @RequestParam(required = false) @Parameter(description = "Fin de la période, maintenant par défaut") String to
+    ) {
+        LocalDateTime startDate;
+        LocalDateTime endDate;
+        try {
+            startDate = from == null ? HISTORY_START : LocalDateTime.parse(from, FORMATTER);
+            endDate = to == null ? LocalDateTime.now() : LocalDateTime.parse(to, FORMATTER);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == StatementExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            bankAccountStatementUseCase.exportAccountOperations(accountId, startDate, endDate, operation -> write(writer, format, operation));
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
+    }
+
+    private void write(Writer writer, StatementExportFormat format, AccountOperation operation) {
+        try {
+            if (format == StatementExportFormat.CSV) {
+                writer.write(toCsvLine(operation));
+            } else {
+                writer.write(operationWriter.writeValueAsString(AccountOperationResponse.from(operation)));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            // the client went away: failing here closes the stream and ends the read transaction
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsvLine(AccountOperation operation) {
+        return operation.getOperationId() + "," +
+                operation.getOperationDateTime().format(FORMATTER) + "," +
+                operation.getAmount().toPlainString() + "," +
+                operation.getOperationType() + "," +
+                escapeCsv(operation.getAccountType());
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
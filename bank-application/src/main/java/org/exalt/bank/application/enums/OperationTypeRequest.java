@@ -0,0 +1,14 @@
+package org.exalt.bank.application.enums;
+
+import org.exalt.bank.domain.enums.OperationType;
+
+public enum OperationTypeRequest {
+    DEPOSIT, WITHDRAWAL;
+
+    public OperationType toDomainOperationType() {
+        return switch (this) {
+            case DEPOSIT -> OperationType.DEPOSIT;
+            case WITHDRAWAL -> OperationType.WITHDRAWAL;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package org.exalt.bank.application.enums;
+
+import org.springframework.http.MediaType;
+
+public enum StatementExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv"));
+
+    private final MediaType mediaType;
+
+    StatementExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
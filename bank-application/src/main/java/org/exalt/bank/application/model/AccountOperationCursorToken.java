@@ -0,0 +1,36 @@
+package org.exalt.bank.application.model;
+
+import org.exalt.bank.domain.model.AccountOperationCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public final class AccountOperationCursorToken {
+    private static final String SEPARATOR = "|";
+
+    private AccountOperationCursorToken() {}
+
+    public static String encode(AccountOperationCursor cursor) {
+        var raw = cursor.getOperationDateTime() + SEPARATOR + cursor.getOperationId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AccountOperationCursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return AccountOperationCursor.builder()
+                    .withOperationDateTime(LocalDateTime.parse(raw.substring(0, separatorIndex)))
+                    .withOperationId(UUID.fromString(raw.substring(separatorIndex + 1)))
+                    .build();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+}
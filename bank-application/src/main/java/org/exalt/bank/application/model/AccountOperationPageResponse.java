@@ -0,0 +1,78 @@
+package org.exalt.bank.application.model;
+
+import org.exalt.bank.domain.model.AccountOperationPage;
+
+import java.util.List;
+import java.util.Objects;
+
+public class AccountOperationPageResponse {
+    private final List<AccountOperationResponse> accountOperations;
+    private final String nextCursor;
+
+    private AccountOperationPageResponse(Builder builder) {
+        accountOperations = builder.accountOperations;
+        nextCursor = builder.nextCursor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static AccountOperationPageResponse from(AccountOperationPage accountOperationPage) {
+        return AccountOperationPageResponse.builder()
+                .withAccountOperations(accountOperationPage.getAccountOperations().stream()
+                        .map(AccountOperationResponse::from)
+                        .toList())
+                .withNextCursor(accountOperationPage.getNextCursor().map(AccountOperationCursorToken::encode).orElse(null))
+                .build();
+    }
+
+    public List<AccountOperationResponse> getAccountOperations() {
+        return accountOperations;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationPageResponse that)) return false;
+        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountOperations, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationPageResponse{" +
+                "accountOperations=" + accountOperations +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+
+    public static final class Builder {
+        private List<AccountOperationResponse> accountOperations;
+        private String nextCursor;
+
+        private Builder() {}
+
+        public Builder withAccountOperations(List<AccountOperationResponse> accountOperations) {
+            this.accountOperations = accountOperations;
+            return this;
+        }
+
+        public Builder withNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
+        public AccountOperationPageResponse build() {
+            return new AccountOperationPageResponse(this);
+        }
+    }
+}
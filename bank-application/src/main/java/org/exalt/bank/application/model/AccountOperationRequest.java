@@ -0,0 +1,96 @@
+package org.exalt.bank.application.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import org.exalt.bank.application.enums.OperationTypeRequest;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+@JsonDeserialize(builder = AccountOperationRequest.Builder.class)
+public class AccountOperationRequest {
+    private final UUID accountId;
+    private final OperationTypeRequest operationType;
+    private final BigDecimal amount;
+
+    private AccountOperationRequest(Builder builder) {
+        accountId = builder.accountId;
+        operationType = builder.operationType;
+        amount = builder.amount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public OperationTypeRequest getOperationType() {
+        return operationType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BankAccountOperationCommand toCommand() {
+        return BankAccountOperationCommand.builder()
+                .withAccountId(accountId)
+                .withOperationType(operationType.toDomainOperationType())
+                .withAmount(amount)
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationRequest that)) return false;
+        return Objects.equals(accountId, that.accountId) && operationType == that.operationType && Objects.equals(amount, that.amount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, operationType, amount);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationRequest{" +
+                "accountId=" + accountId +
+                ", operationType=" + operationType +
+                ", amount=" + amount +
+                '}';
+    }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    public static final class Builder {
+        private UUID accountId;
+        private OperationTypeRequest operationType;
+        private BigDecimal amount;
+
+        private Builder() {}
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withOperationType(OperationTypeRequest operationType) {
+            this.operationType = operationType;
+            return this;
+        }
+
+        public Builder withAmount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public AccountOperationRequest build() {
+            return new AccountOperationRequest(this);
+        }
+    }
+}
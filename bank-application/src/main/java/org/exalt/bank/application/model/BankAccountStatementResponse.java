@@ -1,6 +1,7 @@
 package org.exalt.bank.application.model;
 
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -10,15 +11,28 @@ import java.util.Objects;
 public class BankAccountStatementResponse {
     public static final BankAccountStatementResponse EMPTY = BankAccountStatementResponse.builder()
             .withAccountOperations(Collections.emptyList())
-            .withAmountAtIssueDate(BigDecimal.ZERO).
-            build();
+            .withAmountAtIssueDate(BigDecimal.ZERO)
+            .withAggregates(StatementAggregates.of(BigDecimal.ZERO, Collections.emptyList()))
+            .build();
 
     private final List<AccountOperationResponse> accountOperations;
     private final BigDecimal amountAtIssueDate;
+    private final BigDecimal openingBalance;
+    private final BigDecimal depositTotal;
+    private final BigDecimal withdrawalTotal;
+    private final Integer operationCount;
+    private final BigDecimal minBalance;
+    private final BigDecimal maxBalance;
 
     private BankAccountStatementResponse(Builder builder) {
         accountOperations = builder.accountOperations;
         amountAtIssueDate = builder.amountAtIssueDate;
+        openingBalance = builder.openingBalance;
+        depositTotal = builder.depositTotal;
+        withdrawalTotal = builder.withdrawalTotal;
+        operationCount = builder.operationCount;
+        minBalance = builder.minBalance;
+        maxBalance = builder.maxBalance;
     }
 
     public static Builder builder() {
@@ -31,6 +45,7 @@ public class BankAccountStatementResponse {
                         .map(AccountOperationResponse::from)
                         .toList())
                 .withAmountAtIssueDate(bankAccountStatement.getAmountAtIssueDate())
+                .withAggregates(bankAccountStatement.getAggregates())
                 .build();
     }
 
@@ -42,16 +57,43 @@ public class BankAccountStatementResponse {
         return amountAtIssueDate;
     }
 
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getDepositTotal() {
+        return depositTotal;
+    }
+
+    public BigDecimal getWithdrawalTotal() {
+        return withdrawalTotal;
+    }
+
+    public Integer getOperationCount() {
+        return operationCount;
+    }
+
+    public BigDecimal getMinBalance() {
+        return minBalance;
+    }
+
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof BankAccountStatementResponse that)) return false;
-        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(amountAtIssueDate, that.amountAtIssueDate);
+        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(amountAtIssueDate, that.amountAtIssueDate)
+                && Objects.equals(openingBalance, that.openingBalance) && Objects.equals(depositTotal, that.depositTotal)
+                && Objects.equals(withdrawalTotal, that.withdrawalTotal) && Objects.equals(operationCount, that.operationCount)
+                && Objects.equals(minBalance, that.minBalance) && Objects.equals(maxBalance, that.maxBalance);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(accountOperations, amountAtIssueDate);
+        return Objects.hash(accountOperations, amountAtIssueDate, openingBalance, depositTotal, withdrawalTotal, operationCount, minBalance, maxBalance);
     }
 
     @Override
@@ -59,12 +101,24 @@ public class BankAccountStatementResponse {
         return "BankAccountStatementResponse{" +
                 "accountOperations=" + accountOperations +
                 ", amountAtIssueDate=" + amountAtIssueDate +
+                ", openingBalance=" + openingBalance +
+                ", depositTotal=" + depositTotal +
+                ", withdrawalTotal=" + withdrawalTotal +
+                ", operationCount=" + operationCount +
+                ", minBalance=" + minBalance +
+                ", maxBalance=" + maxBalance +
                 '}';
     }
 
     public static final class Builder {
         private List<AccountOperationResponse> accountOperations;
         private BigDecimal amountAtIssueDate;
+        private BigDecimal openingBalance;
+        private BigDecimal depositTotal;
+        private BigDecimal withdrawalTotal;
+        private Integer operationCount;
+        private BigDecimal minBalance;
+        private BigDecimal maxBalance;
 
         private Builder() {}
 
@@ -78,6 +132,19 @@ public class BankAccountStatementResponse {
             return this;
         }
 
+        // a statement built without aggregates leaves them out of the response
+        public Builder withAggregates(StatementAggregates aggregates) {
+            if (aggregates != null) {
+                this.openingBalance = aggregates.getOpeningBalance();
+                this.depositTotal = aggregates.getDepositTotal();
+                this.withdrawalTotal = aggregates.getWithdrawalTotal();
+                this.operationCount = aggregates.getOperationCount();
+                this.minBalance = aggregates.getMinBalance();
+                this.maxBalance = aggregates.getMaxBalance();
+            }
+            return this;
+        }
+
         public BankAccountStatementResponse build() {
             return new BankAccountStatementResponse(this);
         }
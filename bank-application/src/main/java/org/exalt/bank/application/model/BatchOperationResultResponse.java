@@ -0,0 +1,104 @@
+package org.exalt.bank.application.model;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+
+import java.util.Objects;
+import java.util.UUID;
+
+public class BatchOperationResultResponse {
+    private final int index;
+    private final UUID accountId;
+    private final boolean successful;
+    private final String operationMessage;
+
+    private BatchOperationResultResponse(Builder builder) {
+        index = builder.index;
+        accountId = builder.accountId;
+        successful = builder.successful;
+        operationMessage = builder.operationMessage;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static BatchOperationResultResponse from(int index, UUID accountId, BankAccountOperationResult result) {
+        return BatchOperationResultResponse.builder()
+                .withIndex(index)
+                .withAccountId(accountId)
+                .withSuccessful(result instanceof BankAccountOperationResult.Ok)
+                .withOperationMessage(result.getOperationMessage())
+                .build();
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public String getOperationMessage() {
+        return operationMessage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BatchOperationResultResponse that)) return false;
+        return index == that.index && successful == that.successful && Objects.equals(accountId, that.accountId) && Objects.equals(operationMessage, that.operationMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, accountId, successful, operationMessage);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationResultResponse{" +
+                "index=" + index +
+                ", accountId=" + accountId +
+                ", successful=" + successful +
+                ", operationMessage='" + operationMessage + '\'' +
+                '}';
+    }
+
+    public static final class Builder {
+        private int index;
+        private UUID accountId;
+        private boolean successful;
+        private String operationMessage;
+
+        private Builder() {}
+
+        public Builder withIndex(int index) {
+            this.index = index;
+            return this;
+        }
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withSuccessful(boolean successful) {
+            this.successful = successful;
+            return this;
+        }
+
+        public Builder withOperationMessage(String operationMessage) {
+            this.operationMessage = operationMessage;
+            return this;
+        }
+
+        public BatchOperationResultResponse build() {
+            return new BatchOperationResultResponse(this);
+        }
+    }
+}
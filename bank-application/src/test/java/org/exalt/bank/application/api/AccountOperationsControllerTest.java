@@ -1,7 +1,13 @@
 package org.exalt.bank.application.api;
 
+import org.exalt.bank.application.enums.OperationTypeRequest;
+import org.exalt.bank.application.model.AccountOperationRequest;
+import org.exalt.bank.application.model.BatchOperationResultResponse;
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
 import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +20,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,10 +46,10 @@ class AccountOperationsControllerTest {
             // Arrange
             var withdrawalAmount = new BigDecimal("100");
             var successResult = new BankAccountOperationResult.Ok(WITHDRAWAL_SUCCESS_MESSAGE);
-            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount)).thenReturn(successResult);
+            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount, null)).thenReturn(successResult);
 
             //Act
-            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount);
+            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Ok(WITHDRAWAL_SUCCESS_MESSAGE);
@@ -53,7 +62,7 @@ class AccountOperationsControllerTest {
         @ValueSource(strings = {"0", "-10", "-100"})
         void should_return_bad_request_when_withdrawal_amount_is_invalid(String stringAmount) {
             //Act
-            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, new BigDecimal(stringAmount));
+            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, new BigDecimal(stringAmount), null);
 
             //Assert
             var expected = new BankAccountOperationResult.Failure("withdrawal amount must be greater than zero.");
@@ -68,10 +77,10 @@ class AccountOperationsControllerTest {
             // Arrange
             var withdrawalAmount = new BigDecimal("100");
             var notFoundResult = new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_FAILURE_MESSAGE);
-            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount)).thenReturn(notFoundResult);
+            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount, null)).thenReturn(notFoundResult);
 
             //Act
-            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount);
+            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_FAILURE_MESSAGE);
@@ -85,10 +94,10 @@ class AccountOperationsControllerTest {
             // Arrange
             var withdrawalAmount = new BigDecimal("100");
             var failedResult = new BankAccountOperationResult.Failure("operation failed");
-            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount)).thenReturn(failedResult);
+            when(bankAccountOperationUseCase.withdrawal(ACCOUNT_ID, withdrawalAmount, null)).thenReturn(failedResult);
 
             //Act
-            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount);
+            var actual = accountOperationsController.withdrawal(ACCOUNT_ID, withdrawalAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Failure("operation failed");
@@ -108,10 +117,10 @@ class AccountOperationsControllerTest {
             // Arrange
             var depositAmount = new BigDecimal("100");
             var successResult = new BankAccountOperationResult.Ok(DEPOSIT_SUCCESS_MESSAGE);
-            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount)).thenReturn(successResult);
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, null)).thenReturn(successResult);
 
             //Act
-            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount);
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Ok(DEPOSIT_SUCCESS_MESSAGE);
@@ -124,7 +133,7 @@ class AccountOperationsControllerTest {
         @ValueSource(strings = {"0", "-10", "-100"})
         void should_return_bad_request_when_deposit_amount_is_invalid(String stringAmount) {
             //Act
-            var actual = accountOperationsController.deposit(ACCOUNT_ID, new BigDecimal(stringAmount));
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, new BigDecimal(stringAmount), null);
 
             //Assert
             var expected = new BankAccountOperationResult.Failure("Deposit amount must be greater than zero.");
@@ -134,15 +143,29 @@ class AccountOperationsControllerTest {
 
         }
 
+        @ParameterizedTest
+        @ValueSource(strings = {"10.005", "0.001"})
+        void should_return_bad_request_when_deposit_amount_is_finer_than_a_cent(String stringAmount) {
+            //Act
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, new BigDecimal(stringAmount), null);
+
+            //Assert
+            var expected = new BankAccountOperationResult.Failure("amount must not have more than 2 decimals.");
+            assertThat(actual)
+                    .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
+                    .contains(HttpStatus.BAD_REQUEST, expected);
+            verifyNoInteractions(bankAccountOperationUseCase);
+        }
+
         @Test
         void should_return_not_found_when_no_account_is_found() {
             // Arrange
             var depositAmount = new BigDecimal("100");
             var notFoundResult = new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_FAILURE_MESSAGE);
-            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount)).thenReturn(notFoundResult);
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, null)).thenReturn(notFoundResult);
 
             //Act
-            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount);
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_FAILURE_MESSAGE);
@@ -156,10 +179,10 @@ class AccountOperationsControllerTest {
             // Arrange
             var depositAmount = new BigDecimal("100");
             var failureResult = new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE);
-            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount)).thenReturn(failureResult);
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, null)).thenReturn(failureResult);
 
             //Act
-            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount);
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, null);
 
             // Assert
             var expected = new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE);
@@ -167,5 +190,110 @@ class AccountOperationsControllerTest {
                     .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
                     .contains(HttpStatus.INTERNAL_SERVER_ERROR, expected);
         }
+
+        @Test
+        void should_pass_idempotency_key_to_use_case() {
+            // Arrange
+            var depositAmount = new BigDecimal("100");
+            var successResult = new BankAccountOperationResult.Ok("DEPOSIT successful");
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, "retry-42")).thenReturn(successResult);
+
+            //Act
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, "retry-42");
+
+            // Assert
+            assertThat(actual)
+                    .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
+                    .contains(HttpStatus.CREATED, successResult);
+        }
+
+        @Test
+        void should_return_unprocessable_entity_when_idempotency_key_is_reused_for_another_operation() {
+            // Arrange
+            var depositAmount = new BigDecimal("100");
+            var reusedResult = new BankAccountOperationResult.Failure(BankAccountOperationPort.IDEMPOTENCY_KEY_REUSED_MESSAGE);
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, "retry-42")).thenReturn(reusedResult);
+
+            //Act
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, "retry-42");
+
+            // Assert
+            assertThat(actual)
+                    .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
+                    .contains(HttpStatus.UNPROCESSABLE_ENTITY, reusedResult);
+        }
+
+        @Test
+        void should_return_conflict_when_an_operation_with_the_same_idempotency_key_is_in_progress() {
+            // Arrange
+            var depositAmount = new BigDecimal("100");
+            var inProgressResult = new BankAccountOperationResult.Failure(BankAccountOperationPort.IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE);
+            when(bankAccountOperationUseCase.deposit(ACCOUNT_ID, depositAmount, "retry-42")).thenReturn(inProgressResult);
+
+            //Act
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, depositAmount, "retry-42");
+
+            // Assert
+            assertThat(actual)
+                    .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
+                    .contains(HttpStatus.CONFLICT, inProgressResult);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "   "})
+        void should_return_bad_request_when_idempotency_key_is_blank(String idempotencyKey) {
+            //Act
+            var actual = accountOperationsController.deposit(ACCOUNT_ID, new BigDecimal("100"), idempotencyKey);
+
+            // Assert
+            assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            verifyNoInteractions(bankAccountOperationUseCase);
+        }
+    }
+
+    @Nested
+    class Batch {
+        private static AccountOperationRequest buildRequest(OperationTypeRequest operationType, String amount) {
+            return AccountOperationRequest.builder()
+                    .withAccountId(ACCOUNT_ID)
+                    .withOperationType(operationType)
+                    .withAmount(new BigDecimal(amount))
+                    .build();
+        }
+
+        @Test
+        void should_return_one_result_per_operation_and_reject_invalid_ones_locally() {
+            // Arrange
+            var requests = List.of(
+                    buildRequest(OperationTypeRequest.DEPOSIT, "100"),
+                    buildRequest(OperationTypeRequest.WITHDRAWAL, "0"),
+                    buildRequest(OperationTypeRequest.WITHDRAWAL, "50"));
+            var commands = List.of(
+                    BankAccountOperationCommand.builder().withAccountId(ACCOUNT_ID).withOperationType(OperationType.DEPOSIT).withAmount(new BigDecimal("100")).build(),
+                    BankAccountOperationCommand.builder().withAccountId(ACCOUNT_ID).withOperationType(OperationType.WITHDRAWAL).withAmount(new BigDecimal("50")).build());
+            when(bankAccountOperationUseCase.applyBatch(commands)).thenReturn(List.of(
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Ok("WITHDRAWAL successful")));
+
+            // Act
+            var actual = accountOperationsController.applyBatch(requests);
+
+            // Assert
+            assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(actual.getBody()).containsExactly(
+                    BatchOperationResultResponse.from(0, ACCOUNT_ID, new BankAccountOperationResult.Ok("DEPOSIT successful")),
+                    BatchOperationResultResponse.from(1, ACCOUNT_ID, new BankAccountOperationResult.Failure("amount must be greater than zero.")),
+                    BatchOperationResultResponse.from(2, ACCOUNT_ID, new BankAccountOperationResult.Ok("WITHDRAWAL successful")));
+        }
+
+        @Test
+        void should_return_bad_request_for_an_empty_batch() {
+            // Act
+            var actual = accountOperationsController.applyBatch(Collections.emptyList());
+
+            // Assert
+            assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            verifyNoInteractions(bankAccountOperationUseCase);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,14 @@
 package org.exalt.bank.application.api;
 
+import org.exalt.bank.application.model.AccountOperationCursorToken;
 import org.exalt.bank.application.model.BankAccountStatementResponse;
+import org.exalt.bank.application.model.StatementSummaryResponse;
 import org.exalt.bank.domain.enums.OperationType;
 import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementSummary;
 import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +25,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -79,6 +85,98 @@ class AccountStatementControllerTest {
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    void should_return_page_with_an_opaque_cursor_to_the_next_one() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var date = "2023-01-01T00:00:00";
+        var operation = buildAccountOperation();
+        var page = AccountOperationPage.builder()
+                .withAccountOperations(Collections.singletonList(operation))
+                .withNextCursor(AccountOperationCursor.after(operation))
+                .build();
+        when(bankAccountStatementUseCase.retrieveAccountOperationsPage(accountId, LocalDateTime.parse(date), null, 1)).thenReturn(page);
+
+        // Act
+        var actual = accountStatementController.retrieveAccountOperationsPage(accountId, date, null, 1);
+
+        // Assert
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody().getAccountOperations()).hasSize(1);
+        assertThat(AccountOperationCursorToken.decode(actual.getBody().getNextCursor())).isEqualTo(AccountOperationCursor.after(operation));
+    }
+
+    @Test
+    void should_pass_the_decoded_cursor_to_the_use_case() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var date = "2023-01-01T00:00:00";
+        var cursor = AccountOperationCursor.after(buildAccountOperation());
+        var lastPage = AccountOperationPage.builder().withAccountOperations(Collections.emptyList()).build();
+        when(bankAccountStatementUseCase.retrieveAccountOperationsPage(accountId, LocalDateTime.parse(date), cursor, 50)).thenReturn(lastPage);
+
+        // Act
+        var actual = accountStatementController.retrieveAccountOperationsPage(accountId, date, AccountOperationCursorToken.encode(cursor), 50);
+
+        // Assert
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody().getNextCursor()).isNull();
+    }
+
+    @Test
+    void should_return_bad_request_given_invalid_cursor_or_page_size() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var date = "2023-01-01T00:00:00";
+
+        // Act
+        var invalidCursor = accountStatementController.retrieveAccountOperationsPage(accountId, date, "not-a-cursor", 50);
+        var invalidSize = accountStatementController.retrieveAccountOperationsPage(accountId, date, null, AccountStatementController.MAX_PAGE_SIZE + 1);
+
+        // Assert
+        assertThat(invalidCursor.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(invalidSize.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(bankAccountStatementUseCase);
+    }
+
+    @Test
+    void should_return_the_statement_summary() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var date = "2023-01-01T00:00:00";
+        var summary = StatementSummary.builder()
+                .withDepositTotal(new BigDecimal("500"))
+                .withDepositCount(2)
+                .withWithdrawalTotal(new BigDecimal("120"))
+                .withWithdrawalCount(1)
+                .withNetAmount(new BigDecimal("380"))
+                .withBalanceAtIssueDate(new BigDecimal("3000"))
+                .build();
+        when(bankAccountStatementUseCase.retrieveStatementSummary(accountId, LocalDateTime.parse(date))).thenReturn(Optional.of(summary));
+
+        // Act
+        var actual = accountStatementController.retrieveStatementSummary(accountId, date);
+
+        // Assert
+        assertThat(actual)
+                .extracting(ResponseEntity::getStatusCode, ResponseEntity::getBody)
+                .contains(HttpStatus.OK, StatementSummaryResponse.from(summary));
+    }
+
+    @Test
+    void should_return_not_found_when_no_summary_can_be_computed() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var date = "2023-01-01T00:00:00";
+        when(bankAccountStatementUseCase.retrieveStatementSummary(accountId, LocalDateTime.parse(date))).thenReturn(Optional.empty());
+
+        // Act
+        var actual = accountStatementController.retrieveStatementSummary(accountId, date);
+
+        // Assert
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     private static AccountOperation buildAccountOperation() {
         return AccountOperation.builder()
                 .withOperationId(OPERATION_ID)
@@ -0,0 +1,102 @@
+package org.exalt.bank.application.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.exalt.bank.application.enums.StatementExportFormat;
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatementExportControllerTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+    private static final UUID OPERATION_ID = UUID.randomUUID();
+    private static final LocalDateTime OPERATION_DATE_TIME = LocalDateTime.of(2024, 11, 11, 12, 12, 30);
+    @Mock
+    private BankAccountStatementUseCase bankAccountStatementUseCase;
+    private AccountStatementExportController accountStatementExportController;
+
+    @BeforeEach
+    void setUp() {
+        accountStatementExportController = new AccountStatementExportController(bankAccountStatementUseCase, new ObjectMapper());
+    }
+
+    private static AccountOperation buildAccountOperation() {
+        return AccountOperation.builder()
+                .withOperationId(OPERATION_ID)
+                .withOperationDateTime(OPERATION_DATE_TIME)
+                .withAmount(new BigDecimal("-100.50"))
+                .withAccountType("Current")
+                .withOperationType(OperationType.WITHDRAWAL)
+                .build();
+    }
+
+    private void givenOneOperation() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<AccountOperation>>getArgument(3).accept(buildAccountOperation());
+            return null;
+        }).when(bankAccountStatementUseCase).exportAccountOperations(eq(ACCOUNT_ID), any(), eq(LocalDateTime.parse("2024-12-01T00:00:00")), any());
+    }
+
+    @Test
+    void should_stream_operations_as_csv_lines() throws Exception {
+        // Arrange
+        givenOneOperation();
+        var output = new ByteArrayOutputStream();
+
+        // Act
+        var actual = accountStatementExportController.exportAccountOperations(ACCOUNT_ID, StatementExportFormat.CSV, null, "2024-12-01T00:00:00");
+        actual.getBody().writeTo(output);
+
+        // Assert
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getHeaders().getContentType()).isEqualTo(StatementExportFormat.CSV.getMediaType());
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                AccountStatementExportController.CSV_HEADER + "\n" +
+                OPERATION_ID + ",2024-11-11T12:12:30,-100.50,WITHDRAWAL,Current\n");
+    }
+
+    @Test
+    void should_stream_one_json_document_per_line() throws Exception {
+        // Arrange
+        givenOneOperation();
+        var output = new ByteArrayOutputStream();
+
+        // Act
+        var actual = accountStatementExportController.exportAccountOperations(ACCOUNT_ID, StatementExportFormat.NDJSON, null, "2024-12-01T00:00:00");
+        actual.getBody().writeTo(output);
+
+        // Assert
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).contains("\"operationId\":\"" + OPERATION_ID + "\"", "\"operationType\":\"WITHDRAWAL\"");
+    }
+
+    @Test
+    void should_return_bad_request_when_period_is_inverted() {
+        // Act
+        var actual = accountStatementExportController.exportAccountOperations(ACCOUNT_ID, StatementExportFormat.CSV, "2024-12-02T00:00:00", "2024-12-01T00:00:00");
+
+        // Assert
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(bankAccountStatementUseCase);
+    }
+}
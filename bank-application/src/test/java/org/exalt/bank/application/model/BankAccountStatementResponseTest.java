@@ -4,6 +4,7 @@ import org.exalt.bank.application.enums.OperationTypeResponse;
 import org.exalt.bank.domain.enums.OperationType;
 import org.exalt.bank.domain.model.AccountOperation;
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -29,6 +30,26 @@ class BankAccountStatementResponseTest {
         assertThat(actual).isEqualTo(buildBankAccountStatementResponse());
     }
 
+    @Test
+    void should_carry_the_statement_aggregates() {
+        // Arrange
+        var statement = BankAccountStatement.builder()
+                .withAccountOperations(Collections.singletonList(buildAccountOperation()))
+                .withAmountAtIssueDate(new BigDecimal("3000"))
+                .withAggregates(StatementAggregates.of(new BigDecimal("3000"), Collections.singletonList(buildAccountOperation())))
+                .build();
+
+        // Act
+        var actual = BankAccountStatementResponse.from(statement);
+
+        // Assert
+        assertThat(actual.getOperationCount()).isEqualTo(1);
+        assertThat(actual.getDepositTotal()).isEqualByComparingTo("100");
+        assertThat(actual.getOpeningBalance()).isEqualByComparingTo("2900");
+        assertThat(actual.getMinBalance()).isEqualByComparingTo("2900");
+        assertThat(actual.getMaxBalance()).isEqualByComparingTo("3000");
+    }
+
     private static AccountOperation buildAccountOperation() {
         return AccountOperation.builder()
                 .withOperationId(OPERATION_ID)
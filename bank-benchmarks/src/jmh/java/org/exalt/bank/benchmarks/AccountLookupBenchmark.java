@@ -0,0 +1,105 @@
+package org.exalt.bank.benchmarks;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+import org.exalt.bank.infrastructure.entities.BankAccountEntity;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.entities.SavingAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// the account read at the start of every deposit and withdrawal; run it on two commits to compare mappings,
+// the statements per lookup printed at teardown come from Hibernate's statistics
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AccountLookupBenchmark {
+    @Param({"Current", "Saving"})
+    public String accountType;
+
+    @Param({"10000"})
+    public int accountCount;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountRepository bankAccountRepository;
+    private Statistics statistics;
+    private List<UUID> accountIds;
+    private long lookups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:lookup;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        bankAccountRepository = context.getBean(BankAccountRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        var accounts = new ArrayList<BankAccountEntity>(accountCount);
+        for (int index = 0; index < accountCount; index++) {
+            accounts.add(account());
+        }
+        bankAccountRepository.saveAll(accounts);
+        accountIds = accounts.stream().map(BankAccountEntity::getAccountId).toList();
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s: %.2f statements per lookup%n", accountType, statistics.getPrepareStatementCount() / (double) Math.max(lookups, 1));
+        context.close();
+    }
+
+    @Benchmark
+    public BankAccountEntity findById() {
+        lookups++;
+        return bankAccountRepository.findById(accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()))).orElseThrow();
+    }
+
+    private BankAccountEntity account() {
+        BankAccountEntity account;
+        if ("Saving".equals(accountType)) {
+            var savingAccount = new SavingAccountEntity();
+            savingAccount.setDepositLimit(new BigDecimal("10000.00"));
+            account = savingAccount;
+        } else {
+            var currentAccount = new CurrentAccountEntity();
+            currentAccount.setOverdraftLimit(new BigDecimal("500.00"));
+            account = currentAccount;
+        }
+        account.setAccountId(TimeOrderedUuid.next());
+        account.setBalance(new BigDecimal("1000.00"));
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCreatedAt(LocalDate.now());
+        return account;
+    }
+}
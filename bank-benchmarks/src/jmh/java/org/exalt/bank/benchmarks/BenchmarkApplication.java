@@ -0,0 +1,11 @@
+package org.exalt.bank.benchmarks;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@SpringBootApplication(scanBasePackages = "org.exalt.bank.infrastructure")
+@EntityScan("org.exalt.bank.infrastructure.entities")
+@EnableJpaRepositories("org.exalt.bank.infrastructure.repositories")
+public class BenchmarkApplication {
+}
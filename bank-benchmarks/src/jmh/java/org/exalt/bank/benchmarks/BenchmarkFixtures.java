@@ -0,0 +1,47 @@
+package org.exalt.bank.benchmarks;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+    static final LocalDateTime DATE_OF_ISSUE = LocalDateTime.of(2024, 11, 30, 23, 59);
+
+    private BenchmarkFixtures() {}
+
+    static List<AccountOperation> accountOperations(int count) {
+        var random = new SplittableRandom(42);
+        var operations = new ArrayList<AccountOperation>(count);
+        for (int index = 0; index < count; index++) {
+            var deposit = random.nextBoolean();
+            var amount = BigDecimal.valueOf(random.nextLong(1, 100_000), 2);
+            operations.add(AccountOperation.builder()
+                    .withOperationId(UUID.randomUUID())
+                    .withOperationDateTime(DATE_OF_ISSUE.minusSeconds(random.nextLong(31L * 24 * 3600)))
+                    .withAmount(deposit ? amount : amount.negate())
+                    .withOperationType(deposit ? OperationType.DEPOSIT : OperationType.WITHDRAWAL)
+                    .withAccountType("Current")
+                    .build());
+        }
+        return operations;
+    }
+
+    static List<AccountOperationEntity> accountOperationEntities(int count) {
+        return accountOperations(count).stream()
+                .map(operation -> AccountOperationEntity.builder()
+                        .withOperationId(operation.getOperationId())
+                        .withOperationDateTime(operation.getOperationDateTime())
+                        .withAmount(operation.getAmount())
+                        .withOperationType(org.exalt.bank.infrastructure.enums.OperationType.valueOf(operation.getOperationType().name()))
+                        .withAccountType(operation.getAccountType())
+                        .build())
+                .toList();
+    }
+}
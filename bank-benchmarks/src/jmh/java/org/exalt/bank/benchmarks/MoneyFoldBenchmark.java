@@ -0,0 +1,52 @@
+package org.exalt.bank.benchmarks;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// run with -prof gc: the point is as much the allocation rate as the time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyFoldBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int operationCount;
+
+    private List<AccountOperation> operations;
+
+    @Setup
+    public void setUp() {
+        operations = BenchmarkFixtures.accountOperations(operationCount);
+        // the minor units are converted once per operation, as a statement read twice would
+        operations.forEach(AccountOperation::getMoney);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBalance() {
+        var balance = BigDecimal.ZERO;
+        for (var operation : operations) {
+            balance = balance.add(operation.getAmount());
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money minorUnitsBalance() {
+        long balance = 0;
+        for (var operation : operations) {
+            balance = Math.addExact(balance, operation.getMoney().getMinorUnits());
+        }
+        return Money.ofMinor(balance);
+    }
+}
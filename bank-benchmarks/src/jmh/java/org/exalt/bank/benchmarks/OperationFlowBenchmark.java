@@ -0,0 +1,69 @@
+package org.exalt.bank.benchmarks;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// H2 stands in for MySQL: the numbers track the adapter's own cost, not the production database's
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OperationFlowBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    private ConfigurableApplicationContext context;
+    private BankAccountOperationPort bankAccountOperationPort;
+    private UUID accountId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        bankAccountOperationPort = context.getBean(BankAccountOperationPort.class);
+
+        accountId = UUID.randomUUID();
+        var account = new CurrentAccountEntity();
+        account.setAccountId(accountId);
+        account.setBalance(new BigDecimal("1000000.00"));
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCreatedAt(LocalDate.now());
+        account.setOverdraftLimit(BigDecimal.ZERO);
+        context.getBean(BankAccountRepository.class).save(account);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BankAccountOperationResult depositThenWithdraw() {
+        bankAccountOperationPort.deposit(accountId, AMOUNT);
+        return bankAccountOperationPort.withdrawal(accountId, AMOUNT);
+    }
+}
@@ -0,0 +1,50 @@
+package org.exalt.bank.benchmarks;
+
+import org.exalt.bank.application.model.BankAccountStatementResponse;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementMappingBenchmark {
+    @Param({"100", "10000"})
+    public int operationCount;
+
+    private List<AccountOperationEntity> entities;
+    private BankAccountStatement statement;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkFixtures.accountOperationEntities(operationCount);
+        statement = BankAccountStatement.builder()
+                .withAccountOperations(BenchmarkFixtures.accountOperations(operationCount))
+                .withAmountAtIssueDate(BigDecimal.TEN)
+                .build();
+    }
+
+    @Benchmark
+    public List<AccountOperation> toAccountOperation() {
+        return entities.stream()
+                .map(AccountOperationEntity::toAccountOperation)
+                .toList();
+    }
+
+    @Benchmark
+    public BankAccountStatementResponse statementResponseFrom() {
+        return BankAccountStatementResponse.from(statement);
+    }
+}
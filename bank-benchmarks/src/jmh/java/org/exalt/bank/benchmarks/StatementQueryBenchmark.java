@@ -0,0 +1,104 @@
+package org.exalt.bank.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.exalt.bank.infrastructure.statement.AccountOperationView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// the statement window read as managed entities, as findOperationsByAccountId used to, against the projection it reads now;
+// run with -PjmhIncludes=StatementQueryBenchmark -PjmhProfilers=gc to see the allocation per window next to the time
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatementQueryBenchmark {
+    private static final String ENTITY_QUERY = "SELECT op FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId " +
+            "AND op.operationDateTime BETWEEN :startDate AND :endDate ORDER BY op.operationDateTime DESC";
+
+    @Param({"1000", "10000", "100000"})
+    public int operationCount;
+
+    private ConfigurableApplicationContext context;
+    private BankAccountRepository bankAccountRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private UUID accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:statement-query;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        bankAccountRepository = context.getBean(BankAccountRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        var account = new CurrentAccountEntity();
+        account.setAccountId(TimeOrderedUuid.next());
+        account.setBalance(new BigDecimal("1000.00"));
+        account.setOverdraftLimit(new BigDecimal("500.00"));
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCreatedAt(LocalDate.now());
+        bankAccountRepository.save(account);
+        accountId = account.getAccountId();
+
+        var operations = BenchmarkFixtures.accountOperationEntities(operationCount);
+        operations.forEach(operation -> operation.setBankAccount(account));
+        context.getBean(AccountOperationRepository.class).saveAll(operations);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AccountOperation> managedEntities() {
+        return transactionTemplate.execute(status -> entityManager.createQuery(ENTITY_QUERY, AccountOperationEntity.class)
+                .setParameter("accountId", accountId)
+                .setParameter("startDate", BenchmarkFixtures.DATE_OF_ISSUE.minusDays(31))
+                .setParameter("endDate", BenchmarkFixtures.DATE_OF_ISSUE)
+                .getResultStream()
+                .map(AccountOperationEntity::toAccountOperation)
+                .toList());
+    }
+
+    @Benchmark
+    public List<AccountOperation> projection() {
+        return transactionTemplate.execute(status -> bankAccountRepository.findOperationsByAccountId(accountId,
+                        BenchmarkFixtures.DATE_OF_ISSUE.minusDays(31), BenchmarkFixtures.DATE_OF_ISSUE).stream()
+                .map(AccountOperationView::toAccountOperation)
+                .toList());
+    }
+}
@@ -0,0 +1,104 @@
+package org.exalt.bank.benchmarks;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.domain.port.out.BankAccountStatementPort;
+import org.exalt.bank.domain.usecases.BankAccountStatementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementServiceBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int operationCount;
+
+    private BankAccountStatementService bankAccountStatementService;
+    private UUID accountId;
+    private List<AccountOperation> operations;
+    private BigDecimal balance;
+
+    @Setup
+    public void setUp() {
+        operations = BenchmarkFixtures.accountOperations(operationCount);
+        var statementPort = new InMemoryStatementPort(operations);
+        bankAccountStatementService = new BankAccountStatementService(statementPort);
+        accountId = UUID.randomUUID();
+        balance = statementPort.balance;
+    }
+
+    @Benchmark
+    public Optional<BankAccountStatement> retrieveAccountOperations() {
+        return bankAccountStatementService.retrieveAccountOperations(accountId, BenchmarkFixtures.DATE_OF_ISSUE);
+    }
+
+    // compare with -PjmhIncludes=StatementServiceBenchmark.*Aggregates -PjmhProfilers=gc: gc.alloc.rate.norm is the point
+    @Benchmark
+    public StatementAggregates foldAggregates() {
+        return StatementAggregates.of(balance, operations);
+    }
+
+    // the stream pipelines the fold replaces, one per aggregate
+    @Benchmark
+    public BigDecimal[] streamAggregates() {
+        var deposits = operations.stream().map(AccountOperation::getAmount).filter(amount -> amount.signum() > 0).reduce(BigDecimal.ZERO, BigDecimal::add);
+        var withdrawals = operations.stream().map(AccountOperation::getAmount).filter(amount -> amount.signum() < 0).map(BigDecimal::negate).reduce(BigDecimal.ZERO, BigDecimal::add);
+        var opening = balance.subtract(operations.stream().map(AccountOperation::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        return new BigDecimal[]{deposits, withdrawals, opening};
+    }
+
+    // the port answers from memory so only the domain work is measured
+    private static final class InMemoryStatementPort implements BankAccountStatementPort {
+        private final List<AccountOperation> operations;
+        private final BigDecimal balance;
+
+        private InMemoryStatementPort(List<AccountOperation> operations) {
+            this.operations = operations;
+            this.balance = operations.stream().map(AccountOperation::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        @Override
+        public List<AccountOperation> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
+            return operations;
+        }
+
+        @Override
+        public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+            return AccountOperationPage.builder().withAccountOperations(operations.subList(0, Math.min(pageSize, operations.size()))).build();
+        }
+
+        @Override
+        public void streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+            operations.forEach(consumer);
+        }
+
+        @Override
+        public BigDecimal retrieveBalanceAt(UUID accountId, LocalDateTime dateTime) {
+            return balance;
+        }
+
+        @Override
+        public StatementSummary retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+            return StatementSummary.builder().withBalanceAtIssueDate(balance).build();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.exalt.bank.load;
+
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test: each step runs a fixed number of clients that send requests back to back, and the step's
+ * p99 is compared with the first one's. The last level whose p99 stays within the tolerance is the number of
+ * concurrent clients the service holds at flat p99.
+ * <p>
+ * Without {@code bank.load.base-url} the web application is started in-process on H2, with
+ * {@code spring.threads.virtual.enabled} taken from {@code bank.load.virtual-threads}; against a deployed instance,
+ * {@code bank.load.accounts} lists the account ids to use.
+ */
+public final class ConcurrencyLoadTest {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final List<UUID> accountIds;
+    private final int writePercentage;
+
+    private ConcurrencyLoadTest(String baseUrl, List<UUID> accountIds, int writePercentage) {
+        this.baseUrl = baseUrl;
+        this.accountIds = accountIds;
+        this.writePercentage = writePercentage;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var levels = Arrays.stream(System.getProperty("bank.load.levels", "16,32,64,128,256,512,1024").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        var warmup = Duration.ofSeconds(Long.getLong("bank.load.warmup-seconds", 5));
+        var stepDuration = Duration.ofSeconds(Long.getLong("bank.load.step-seconds", 20));
+        var tolerance = Double.parseDouble(System.getProperty("bank.load.p99-tolerance", "1.5"));
+        var writePercentage = Integer.getInteger("bank.load.write-percentage", 20);
+        var virtualThreads = Boolean.getBoolean("bank.load.virtual-threads");
+        var output = Path.of(System.getProperty("bank.load.output", "build/results/load/load-" + (virtualThreads ? "virtual" : "platform") + ".csv"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = System.getProperty("bank.load.base-url");
+        List<UUID> accountIds;
+        if (baseUrl == null) {
+            context = startApplication(virtualThreads);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            accountIds = seedAccounts(context, Integer.getInteger("bank.load.account-count", 1000));
+        } else {
+            accountIds = Arrays.stream(System.getProperty("bank.load.accounts", "").split(","))
+                    .filter(id -> !id.isBlank())
+                    .map(id -> UUID.fromString(id.trim()))
+                    .toList();
+            if (accountIds.isEmpty()) {
+                throw new IllegalArgumentException("bank.load.accounts is required with bank.load.base-url");
+            }
+        }
+
+        try {
+            var loadTest = new ConcurrencyLoadTest(baseUrl, accountIds, writePercentage);
+            loadTest.runStep(levels[0], warmup);
+            var results = new ArrayList<StepResult>();
+            for (var level : levels) {
+                var result = loadTest.runStep(level, stepDuration);
+                results.add(result);
+                System.out.println(result);
+            }
+            report(results, tolerance, output);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(boolean virtualThreads) {
+        return new SpringApplicationBuilder(LoadTestApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + System.getProperty("bank.load.pool-size", "20"),
+                        "bank.db.concurrency.max-in-flight=" + System.getProperty("bank.load.max-in-flight", "16"),
+                        "bank.db.concurrency.acquire-timeout=5s",
+                        "server.tomcat.threads.max=" + System.getProperty("bank.load.tomcat-threads", "200"),
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static List<UUID> seedAccounts(ConfigurableApplicationContext context, int accountCount) {
+        var bankAccountRepository = context.getBean(BankAccountRepository.class);
+        var accounts = new ArrayList<CurrentAccountEntity>(accountCount);
+        for (int index = 0; index < accountCount; index++) {
+            var account = new CurrentAccountEntity();
+            account.setAccountId(TimeOrderedUuid.next());
+            account.setBalance(new BigDecimal("1000000.00"));
+            account.setStatus(AccountStatus.ACTIVATED);
+            account.setCreatedAt(LocalDate.now());
+            account.setOverdraftLimit(BigDecimal.ZERO);
+            accounts.add(account);
+        }
+        bankAccountRepository.saveAll(accounts);
+        return accounts.stream().map(CurrentAccountEntity::getAccountId).toList();
+    }
+
+    private StepResult runStep(int clients, Duration duration) throws InterruptedException {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var latencies = new long[clients][];
+        var counts = new int[clients];
+        var errors = new AtomicLong();
+        var done = new CountDownLatch(clients);
+        for (int client = 0; client < clients; client++) {
+            var index = client;
+            var thread = new Thread(() -> {
+                var recorded = new long[1024];
+                var count = 0;
+                while (System.nanoTime() < deadline) {
+                    var start = System.nanoTime();
+                    if (!sendRequest()) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == recorded.length) {
+                        recorded = Arrays.copyOf(recorded, count * 2);
+                    }
+                    recorded[count++] = System.nanoTime() - start;
+                }
+                latencies[index] = recorded;
+                counts[index] = count;
+                done.countDown();
+            }, "load-client-" + client);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        var total = Arrays.stream(counts).sum();
+        var merged = new long[total];
+        var offset = 0;
+        for (int client = 0; client < clients; client++) {
+            System.arraycopy(latencies[client], 0, merged, offset, counts[client]);
+            offset += counts[client];
+        }
+        Arrays.sort(merged);
+        return new StepResult(clients, total, errors.get(), total / (double) duration.toSeconds(),
+                percentile(merged, 0.50), percentile(merged, 0.99), percentile(merged, 0.999));
+    }
+
+    private boolean sendRequest() {
+        var accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+        var request = ThreadLocalRandom.current().nextInt(100) < writePercentage
+                ? HttpRequest.newBuilder(URI.create(baseUrl + "/v1/bank/account/" + accountId + "/deposit"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("10.00"))
+                        .build()
+                : HttpRequest.newBuilder(URI.create(baseUrl + "/v1/bank/statement/" + accountId + "/operations?size=50&date="
+                        + LocalDateTime.now().format(DATE_FORMATTER)))
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        var index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static void report(List<StepResult> results, double tolerance, Path output) throws IOException {
+        var baselineP99 = results.get(0).p99Millis();
+        var flatUpTo = results.get(0).clients();
+        for (var result : results) {
+            if (result.p99Millis() > baselineP99 * tolerance) {
+                break;
+            }
+            flatUpTo = result.clients();
+        }
+        System.out.printf("p99 stays within %.1fx of %.2f ms up to %d concurrent clients%n", tolerance, baselineP99, flatUpTo);
+
+        var lines = new ArrayList<String>();
+        lines.add("clients,requests,errors,throughput_per_second,p50_ms,p99_ms,p999_ms");
+        results.forEach(result -> lines.add(result.toCsv()));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, lines);
+    }
+
+    private record StepResult(int clients, long requests, long errors, double throughput, double p50Millis, double p99Millis, double p999Millis) {
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%d,%d,%.1f,%.3f,%.3f,%.3f", clients, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "clients=%-5d requests=%-8d errors=%-6d throughput=%8.1f/s p50=%8.2f ms p99=%8.2f ms p999=%8.2f ms",
+                    clients, requests, errors, throughput, p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
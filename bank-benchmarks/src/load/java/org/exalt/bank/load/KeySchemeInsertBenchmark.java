@@ -0,0 +1,141 @@
+package org.exalt.bank.load;
+
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of the operations table keyed by random version 4 UUIDs against time-ordered version 7 ones,
+ * both stored as BINARY(16). Each scheme fills its own table with batched, committed inserts up to
+ * {@code bank.keys.rows} rows and reports the throughput of every {@code bank.keys.window} rows, so the slowdown of
+ * random keys shows up once the primary key no longer fits in the buffer pool.
+ * <p>
+ * Meant to run against MySQL ({@code bank.keys.url}, {@code bank.keys.user}, {@code bank.keys.password}); without
+ * a url it falls back to an H2 file database in MySQL mode, which only shows the trend.
+ */
+public final class KeySchemeInsertBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final long rows;
+    private final int batchSize;
+    private final long window;
+
+    private KeySchemeInsertBenchmark(String url, String user, String password, long rows, int batchSize, long window) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.window = window;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var benchmark = new KeySchemeInsertBenchmark(
+                System.getProperty("bank.keys.url", "jdbc:h2:file:./build/key-scheme;MODE=MySQL"),
+                System.getProperty("bank.keys.user", "sa"),
+                System.getProperty("bank.keys.password", ""),
+                Long.getLong("bank.keys.rows", 10_000_000),
+                Integer.getInteger("bank.keys.batch-size", 1000),
+                Long.getLong("bank.keys.window", 1_000_000));
+        var output = Path.of(System.getProperty("bank.keys.output", "build/results/load/key-scheme.csv"));
+
+        var results = new ArrayList<WindowResult>();
+        results.addAll(benchmark.fill("random_v4", UUID::randomUUID));
+        results.addAll(benchmark.fill("time_ordered_v7", TimeOrderedUuid::next));
+        report(results, output);
+    }
+
+    private List<WindowResult> fill(String scheme, Supplier<UUID> keys) throws SQLException {
+        var table = "key_scheme_" + scheme;
+        var accountIds = new byte[64][];
+        for (int index = 0; index < accountIds.length; index++) {
+            accountIds[index] = toBytes(TimeOrderedUuid.next());
+        }
+        var random = new SplittableRandom(42);
+        var results = new ArrayList<WindowResult>();
+        try (var connection = DriverManager.getConnection(url, user, password)) {
+            createTable(connection, table);
+            connection.setAutoCommit(false);
+            try (var insert = connection.prepareStatement("INSERT INTO " + table +
+                    " (operation_id, bank_account_account_id, operation_date_time, amount) VALUES (?, ?, ?, ?)")) {
+                var windowStart = System.nanoTime();
+                for (long row = 1; row <= rows; row++) {
+                    insert.setBytes(1, toBytes(keys.get()));
+                    insert.setBytes(2, accountIds[random.nextInt(accountIds.length)]);
+                    insert.setTimestamp(3, Timestamp.valueOf(START.plusSeconds(row)));
+                    insert.setBigDecimal(4, BigDecimal.valueOf(random.nextLong(-100_000, 100_000), 2));
+                    insert.addBatch();
+                    if (row % batchSize == 0 || row == rows) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % window == 0 || row == rows) {
+                        var windowRows = row % window == 0 ? window : row % window;
+                        var result = new WindowResult(scheme, row, windowRows / ((System.nanoTime() - windowStart) / 1_000_000_000.0));
+                        results.add(result);
+                        System.out.println(result);
+                        windowStart = System.nanoTime();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void createTable(Connection connection, String table) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // the same key layout and statement index as account_operation_entity
+            statement.execute("CREATE TABLE " + table + " (" +
+                    "operation_id BINARY(16) NOT NULL PRIMARY KEY, " +
+                    "bank_account_account_id BINARY(16), " +
+                    "operation_date_time TIMESTAMP(6), " +
+                    "amount DECIMAL(38, 2))");
+            statement.execute("CREATE INDEX idx_" + table + " ON " + table + " (bank_account_account_id, operation_date_time DESC, operation_id)");
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static void report(List<WindowResult> results, Path output) throws IOException {
+        var lines = new ArrayList<String>();
+        lines.add("scheme,rows,rows_per_second");
+        results.forEach(result -> lines.add(result.toCsv()));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, lines);
+    }
+
+    private record WindowResult(String scheme, long rows, double rowsPerSecond) {
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f", scheme, rows, rowsPerSecond);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "scheme=%-16s rows=%-10d throughput=%10.1f rows/s", scheme, rows, rowsPerSecond);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.exalt.bank.domain.model;
+
+// the two balance rules every operation engine applies, on minor units so the checks themselves allocate nothing
+public final class AccountLimits {
+    // what every engine answers when a rule refuses an operation, so the servlet and reactive APIs say the same thing
+    public static final String INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE = "The withdrawal amount exceeds the available balance and the authorized overdraft limit.";
+    public static final String DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE = "Deposit exceeds the maximum allowed deposit limit for SavingAccount.";
+
+    private AccountLimits() {}
+
+    public static boolean canWithdraw(Money balance, Money amount, Money overdraftLimit) {
+        checkScales(balance, amount, overdraftLimit);
+        return Math.subtractExact(balance.getMinorUnits(), amount.getMinorUnits()) >= -overdraftLimit.getMinorUnits();
+    }
+
+    // a null limit means the account has none
+    public static boolean exceedsDepositLimit(Money balance, Money amount, Money depositLimit) {
+        if (depositLimit == null) {
+            return false;
+        }
+        checkScales(balance, amount, depositLimit);
+        return Math.addExact(balance.getMinorUnits(), amount.getMinorUnits()) > depositLimit.getMinorUnits();
+    }
+
+    private static void checkScales(Money balance, Money amount, Money limit) {
+        if (balance.getScale() != amount.getScale() || balance.getScale() != limit.getScale()) {
+            throw new IllegalArgumentException("Cannot compare amounts of different scales");
+        }
+    }
+}
@@ -14,6 +14,8 @@ public class AccountOperation {
     private final BigDecimal amount;
     private final OperationType operationType;
     private final String accountType;
+    // converted on first use and kept: a fold over the operations then reads minor units without allocating
+    private Money money;
 
     private AccountOperation(Builder builder) {
         operationId = builder.operationId;
@@ -39,6 +41,15 @@ public class AccountOperation {
         return amount;
     }
 
+    public Money getMoney() {
+        var converted = money;
+        if (converted == null) {
+            converted = Money.of(amount);
+            money = converted;
+        }
+        return converted;
+    }
+
     public OperationType getOperationType() {
         return operationType;
     }
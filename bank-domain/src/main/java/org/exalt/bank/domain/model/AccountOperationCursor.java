@@ -0,0 +1,75 @@
+package org.exalt.bank.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public class AccountOperationCursor {
+    private final LocalDateTime operationDateTime;
+    private final UUID operationId;
+
+    private AccountOperationCursor(Builder builder) {
+        operationDateTime = builder.operationDateTime;
+        operationId = builder.operationId;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static AccountOperationCursor after(AccountOperation accountOperation) {
+        return AccountOperationCursor.builder()
+                .withOperationDateTime(accountOperation.getOperationDateTime())
+                .withOperationId(accountOperation.getOperationId())
+                .build();
+    }
+
+    public LocalDateTime getOperationDateTime() {
+        return operationDateTime;
+    }
+
+    public UUID getOperationId() {
+        return operationId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationCursor that)) return false;
+        return Objects.equals(operationDateTime, that.operationDateTime) && Objects.equals(operationId, that.operationId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operationDateTime, operationId);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationCursor{" +
+                "operationDateTime=" + operationDateTime +
+                ", operationId=" + operationId +
+                '}';
+    }
+
+    public static final class Builder {
+        private LocalDateTime operationDateTime;
+        private UUID operationId;
+
+        private Builder() {}
+
+        public Builder withOperationDateTime(LocalDateTime operationDateTime) {
+            this.operationDateTime = operationDateTime;
+            return this;
+        }
+
+        public Builder withOperationId(UUID operationId) {
+            this.operationId = operationId;
+            return this;
+        }
+
+        public AccountOperationCursor build() {
+            return new AccountOperationCursor(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.exalt.bank.domain.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public class AccountOperationPage {
+    private final List<AccountOperation> accountOperations;
+    private final AccountOperationCursor nextCursor;
+
+    private AccountOperationPage(Builder builder) {
+        accountOperations = builder.accountOperations;
+        nextCursor = builder.nextCursor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<AccountOperation> getAccountOperations() {
+        return accountOperations;
+    }
+
+    public Optional<AccountOperationCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationPage that)) return false;
+        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(nextCursor, that.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountOperations, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationPage{" +
+                "accountOperations=" + accountOperations +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+
+    public static final class Builder {
+        private List<AccountOperation> accountOperations;
+        private AccountOperationCursor nextCursor;
+
+        private Builder() {}
+
+        public Builder withAccountOperations(List<AccountOperation> accountOperations) {
+            this.accountOperations = accountOperations;
+            return this;
+        }
+
+        public Builder withNextCursor(AccountOperationCursor nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
+        public AccountOperationPage build() {
+            return new AccountOperationPage(this);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.exalt.bank.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// how a past balance is derived from the daily closing balances, whichever engine reads the snapshots and the sums:
+// the closing balance of the last active day before dateTime, plus what happened since that day ended
+public final class BalanceSnapshots {
+    private BalanceSnapshots() {}
+
+    // only snapshots dated strictly before this day count: the day of dateTime is still open at dateTime
+    public static LocalDate snapshotDateBefore(LocalDateTime dateTime) {
+        return dateTime.toLocalDate();
+    }
+
+    // the operations to add to a snapshot run from the start of the next day up to dateTime, both included
+    public static LocalDateTime replayStart(LocalDate snapshotDate) {
+        return snapshotDate.plusDays(1).atStartOfDay();
+    }
+
+    public static BigDecimal fromSnapshot(BigDecimal closingBalance, BigDecimal amountsSinceSnapshot) {
+        return closingBalance.add(amountsSinceSnapshot);
+    }
+
+    // no earlier snapshot: the account only became active on that day, or its history predates snapshots
+    public static BigDecimal rewind(BigDecimal currentBalance, BigDecimal amountsAfterDateTime) {
+        return currentBalance.subtract(amountsAfterDateTime);
+    }
+}
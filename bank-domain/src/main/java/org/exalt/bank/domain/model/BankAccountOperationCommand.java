@@ -0,0 +1,85 @@
+package org.exalt.bank.domain.model;
+
+import org.exalt.bank.domain.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+public class BankAccountOperationCommand {
+    private final UUID accountId;
+    private final OperationType operationType;
+    private final BigDecimal amount;
+
+    private BankAccountOperationCommand(Builder builder) {
+        accountId = builder.accountId;
+        operationType = builder.operationType;
+        amount = builder.amount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BankAccountOperationCommand that)) return false;
+        return Objects.equals(accountId, that.accountId) &&
+                operationType == that.operationType &&
+                Objects.equals(amount, that.amount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, operationType, amount);
+    }
+
+    @Override
+    public String toString() {
+        return "BankAccountOperationCommand{" +
+                "accountId=" + accountId +
+                ", operationType=" + operationType +
+                ", amount=" + amount +
+                '}';
+    }
+
+    public static final class Builder {
+        private UUID accountId;
+        private OperationType operationType;
+        private BigDecimal amount;
+
+        private Builder() {}
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withOperationType(OperationType operationType) {
+            this.operationType = operationType;
+            return this;
+        }
+
+        public Builder withAmount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public BankAccountOperationCommand build() {
+            return new BankAccountOperationCommand(this);
+        }
+    }
+}
@@ -7,10 +7,12 @@ import java.util.Objects;
 public class BankAccountStatement {
     private final List<AccountOperation> accountOperations;
     private final BigDecimal amountAtIssueDate;
+    private final StatementAggregates aggregates;
 
     private BankAccountStatement(Builder builder) {
         accountOperations = builder.accountOperations;
         amountAtIssueDate = builder.amountAtIssueDate;
+        aggregates = builder.aggregates;
     }
 
     public static Builder builder() {
@@ -25,16 +27,21 @@ public class BankAccountStatement {
         return amountAtIssueDate;
     }
 
+    public StatementAggregates getAggregates() {
+        return aggregates;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof BankAccountStatement that)) return false;
-        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(amountAtIssueDate, that.amountAtIssueDate);
+        return Objects.equals(accountOperations, that.accountOperations) && Objects.equals(amountAtIssueDate, that.amountAtIssueDate)
+                && Objects.equals(aggregates, that.aggregates);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(accountOperations, amountAtIssueDate);
+        return Objects.hash(accountOperations, amountAtIssueDate, aggregates);
     }
 
     @Override
@@ -42,12 +49,14 @@ public class BankAccountStatement {
         return "BankAccountStatement{" +
                 "accountOperations=" + accountOperations +
                 ", amountAtIssueDate=" + amountAtIssueDate +
+                ", aggregates=" + aggregates +
                 '}';
     }
 
     public static final class Builder {
         private List<AccountOperation> accountOperations;
         private BigDecimal amountAtIssueDate;
+        private StatementAggregates aggregates;
 
         private Builder() {}
 
@@ -61,6 +70,11 @@ public class BankAccountStatement {
             return this;
         }
 
+        public Builder withAggregates(StatementAggregates aggregates) {
+            this.aggregates = aggregates;
+            return this;
+        }
+
         public BankAccountStatement build() {
             return new BankAccountStatement(this);
         }
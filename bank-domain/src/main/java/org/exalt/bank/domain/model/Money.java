@@ -0,0 +1,117 @@
+package org.exalt.bank.domain.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount held as a {@code long} count of minor units (cents for a scale of 2). Arithmetic is exact and throws
+ * {@link ArithmeticException} on overflow instead of wrapping; amounts of different scales are never mixed.
+ * {@link BigDecimal} stays the type of the ports and the API, amounts are converted where they enter the domain.
+ */
+public final class Money implements Comparable<Money> {
+    public static final int DEFAULT_SCALE = 2;
+    public static final Money ZERO = new Money(0, DEFAULT_SCALE);
+    public static final String TOO_MANY_DECIMALS_MESSAGE = "amount must not have more than " + DEFAULT_SCALE + " decimals.";
+
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_SCALE);
+    }
+
+    // exact: an amount with more decimals than the currency has is a bug upstream, not something to round away
+    public static Money of(BigDecimal amount, int scale) {
+        return new Money(amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), scale);
+    }
+
+    // what the API checks before an amount reaches of(amount), so a client gets a refusal instead of an ArithmeticException
+    public static boolean fitsDefaultScale(BigDecimal amount) {
+        return amount.stripTrailingZeros().scale() <= DEFAULT_SCALE;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_SCALE);
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("scale must not be negative");
+        }
+        return minorUnits == 0 && scale == DEFAULT_SCALE ? ZERO : new Money(minorUnits, scale);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameScale(other).minorUnits), scale);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameScale(other).minorUnits), scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), scale);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameScale(other).minorUnits);
+    }
+
+    private Money sameScale(Money other) {
+        if (other.scale != scale) {
+            throw new IllegalArgumentException("Cannot combine amounts of scale " + scale + " and " + other.scale);
+        }
+        return other;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money that)) return false;
+        return minorUnits == that.minorUnits && scale == that.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
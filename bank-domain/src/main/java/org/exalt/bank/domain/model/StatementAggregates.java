@@ -0,0 +1,155 @@
+package org.exalt.bank.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+public class StatementAggregates {
+    private final BigDecimal openingBalance;
+    private final BigDecimal depositTotal;
+    private final BigDecimal withdrawalTotal;
+    private final int operationCount;
+    private final BigDecimal minBalance;
+    private final BigDecimal maxBalance;
+
+    private StatementAggregates(Builder builder) {
+        openingBalance = builder.openingBalance;
+        depositTotal = builder.depositTotal;
+        withdrawalTotal = builder.withdrawalTotal;
+        operationCount = builder.operationCount;
+        minBalance = builder.minBalance;
+        maxBalance = builder.maxBalance;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Folds the operations of a statement in one pass, on minor units: nothing is allocated per operation once
+     * {@link AccountOperation#getMoney()} has been read. The operations come newest first, as the statement ports
+     * return them, so the running balance is walked back from the balance at the issue date; withdrawals are negative.
+     */
+    public static StatementAggregates of(BigDecimal balanceAtIssueDate, List<AccountOperation> newestFirst) {
+        var closingBalance = Money.of(balanceAtIssueDate);
+        long balance = closingBalance.getMinorUnits();
+        long minBalance = balance;
+        long maxBalance = balance;
+        long depositTotal = 0;
+        long withdrawalTotal = 0;
+        for (int index = 0, size = newestFirst.size(); index < size; index++) {
+            long amount = newestFirst.get(index).getMoney().getMinorUnits();
+            if (amount > 0) {
+                depositTotal = Math.addExact(depositTotal, amount);
+            } else {
+                withdrawalTotal = Math.subtractExact(withdrawalTotal, amount);
+            }
+            // the balance before this operation, which is the balance after the previous one
+            balance = Math.subtractExact(balance, amount);
+            minBalance = Math.min(minBalance, balance);
+            maxBalance = Math.max(maxBalance, balance);
+        }
+        return StatementAggregates.builder()
+                .withOpeningBalance(Money.ofMinor(balance).toBigDecimal())
+                .withDepositTotal(Money.ofMinor(depositTotal).toBigDecimal())
+                .withWithdrawalTotal(Money.ofMinor(withdrawalTotal).toBigDecimal())
+                .withOperationCount(newestFirst.size())
+                .withMinBalance(Money.ofMinor(minBalance).toBigDecimal())
+                .withMaxBalance(Money.ofMinor(maxBalance).toBigDecimal())
+                .build();
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getDepositTotal() {
+        return depositTotal;
+    }
+
+    public BigDecimal getWithdrawalTotal() {
+        return withdrawalTotal;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public BigDecimal getMinBalance() {
+        return minBalance;
+    }
+
+    public BigDecimal getMaxBalance() {
+        return maxBalance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StatementAggregates that)) return false;
+        return operationCount == that.operationCount && Objects.equals(openingBalance, that.openingBalance) && Objects.equals(depositTotal, that.depositTotal)
+                && Objects.equals(withdrawalTotal, that.withdrawalTotal) && Objects.equals(minBalance, that.minBalance) && Objects.equals(maxBalance, that.maxBalance);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(openingBalance, depositTotal, withdrawalTotal, operationCount, minBalance, maxBalance);
+    }
+
+    @Override
+    public String toString() {
+        return "StatementAggregates{" +
+                "openingBalance=" + openingBalance +
+                ", depositTotal=" + depositTotal +
+                ", withdrawalTotal=" + withdrawalTotal +
+                ", operationCount=" + operationCount +
+                ", minBalance=" + minBalance +
+                ", maxBalance=" + maxBalance +
+                '}';
+    }
+
+    public static final class Builder {
+        private BigDecimal openingBalance;
+        private BigDecimal depositTotal;
+        private BigDecimal withdrawalTotal;
+        private int operationCount;
+        private BigDecimal minBalance;
+        private BigDecimal maxBalance;
+
+        private Builder() {}
+
+        public Builder withOpeningBalance(BigDecimal openingBalance) {
+            this.openingBalance = openingBalance;
+            return this;
+        }
+
+        public Builder withDepositTotal(BigDecimal depositTotal) {
+            this.depositTotal = depositTotal;
+            return this;
+        }
+
+        public Builder withWithdrawalTotal(BigDecimal withdrawalTotal) {
+            this.withdrawalTotal = withdrawalTotal;
+            return this;
+        }
+
+        public Builder withOperationCount(int operationCount) {
+            this.operationCount = operationCount;
+            return this;
+        }
+
+        public Builder withMinBalance(BigDecimal minBalance) {
+            this.minBalance = minBalance;
+            return this;
+        }
+
+        public Builder withMaxBalance(BigDecimal maxBalance) {
+            this.maxBalance = maxBalance;
+            return this;
+        }
+
+        public StatementAggregates build() {
+            return new StatementAggregates(this);
+        }
+    }
+}
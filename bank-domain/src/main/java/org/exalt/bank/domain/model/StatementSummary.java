@@ -0,0 +1,122 @@
+package org.exalt.bank.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// totals of a statement window, computed by the database: withdrawals are reported as a positive total
+public class StatementSummary {
+    private final BigDecimal depositTotal;
+    private final long depositCount;
+    private final BigDecimal withdrawalTotal;
+    private final long withdrawalCount;
+    private final BigDecimal netAmount;
+    private final BigDecimal balanceAtIssueDate;
+
+    private StatementSummary(Builder builder) {
+        depositTotal = builder.depositTotal;
+        depositCount = builder.depositCount;
+        withdrawalTotal = builder.withdrawalTotal;
+        withdrawalCount = builder.withdrawalCount;
+        netAmount = builder.netAmount;
+        balanceAtIssueDate = builder.balanceAtIssueDate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public BigDecimal getDepositTotal() {
+        return depositTotal;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    public BigDecimal getWithdrawalTotal() {
+        return withdrawalTotal;
+    }
+
+    public long getWithdrawalCount() {
+        return withdrawalCount;
+    }
+
+    public BigDecimal getNetAmount() {
+        return netAmount;
+    }
+
+    public BigDecimal getBalanceAtIssueDate() {
+        return balanceAtIssueDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StatementSummary that)) return false;
+        return depositCount == that.depositCount && withdrawalCount == that.withdrawalCount && Objects.equals(depositTotal, that.depositTotal)
+                && Objects.equals(withdrawalTotal, that.withdrawalTotal) && Objects.equals(netAmount, that.netAmount)
+                && Objects.equals(balanceAtIssueDate, that.balanceAtIssueDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(depositTotal, depositCount, withdrawalTotal, withdrawalCount, netAmount, balanceAtIssueDate);
+    }
+
+    @Override
+    public String toString() {
+        return "StatementSummary{" +
+                "depositTotal=" + depositTotal +
+                ", depositCount=" + depositCount +
+                ", withdrawalTotal=" + withdrawalTotal +
+                ", withdrawalCount=" + withdrawalCount +
+                ", netAmount=" + netAmount +
+                ", balanceAtIssueDate=" + balanceAtIssueDate +
+                '}';
+    }
+
+    public static final class Builder {
+        private BigDecimal depositTotal = BigDecimal.ZERO;
+        private long depositCount;
+        private BigDecimal withdrawalTotal = BigDecimal.ZERO;
+        private long withdrawalCount;
+        private BigDecimal netAmount = BigDecimal.ZERO;
+        private BigDecimal balanceAtIssueDate;
+
+        private Builder() {}
+
+        public Builder withDepositTotal(BigDecimal depositTotal) {
+            this.depositTotal = depositTotal;
+            return this;
+        }
+
+        public Builder withDepositCount(long depositCount) {
+            this.depositCount = depositCount;
+            return this;
+        }
+
+        public Builder withWithdrawalTotal(BigDecimal withdrawalTotal) {
+            this.withdrawalTotal = withdrawalTotal;
+            return this;
+        }
+
+        public Builder withWithdrawalCount(long withdrawalCount) {
+            this.withdrawalCount = withdrawalCount;
+            return this;
+        }
+
+        public Builder withNetAmount(BigDecimal netAmount) {
+            this.netAmount = netAmount;
+            return this;
+        }
+
+        public Builder withBalanceAtIssueDate(BigDecimal balanceAtIssueDate) {
+            this.balanceAtIssueDate = balanceAtIssueDate;
+            return this;
+        }
+
+        public StatementSummary build() {
+            return new StatementSummary(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.exalt.bank.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): a 48-bit Unix millisecond timestamp followed by a 12-bit counter and 62 random bits.
+ * Ids generated later compare greater, byte for byte, so new rows land at the right end of a BINARY(16) primary key
+ * instead of splitting pages all over it the way random version 4 ids do.
+ */
+public final class TimeOrderedUuid {
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // the millisecond timestamp shifted left by COUNTER_BITS, plus the counter of ids already handed out in it
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuid() {}
+
+    public static UUID next() {
+        return fromSequence(nextSequence(LAST, System.currentTimeMillis()), ThreadLocalRandom.current().nextLong());
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    static long nextSequence(AtomicLong last, long nowMillis) {
+        // ids stay strictly increasing within a millisecond and across a clock stepping back; a counter overflow
+        // borrows from the next millisecond
+        return last.updateAndGet(previous -> Math.max(previous + 1, nowMillis << COUNTER_BITS));
+    }
+
+    static UUID fromSequence(long sequence, long random) {
+        var mostSignificantBits = (sequence >>> COUNTER_BITS) << 16 | VERSION_7 | (sequence & COUNTER_MASK);
+        var leastSignificantBits = VARIANT_RFC_4122 | (random & RANDOM_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -1,12 +1,25 @@
 package org.exalt.bank.domain.port.in;
 
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 public interface BankAccountOperationUseCase {
-    BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount);
+    // a replayed idempotency key returns the result recorded for it instead of applying the operation again
+    BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount, String idempotencyKey);
 
-    BankAccountOperationResult deposit(UUID accountId, BigDecimal amount);
+    BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey);
+
+    default BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount) {
+        return withdrawal(accountId, amount, null);
+    }
+
+    default BankAccountOperationResult deposit(UUID accountId, BigDecimal amount) {
+        return deposit(accountId, amount, null);
+    }
+
+    List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands);
 }
@@ -1,11 +1,22 @@
 package org.exalt.bank.domain.port.in;
 
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementSummary;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface BankAccountStatementUseCase {
     Optional<BankAccountStatement> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue);
+
+    AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize);
+
+    void exportAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer);
+
+    Optional<StatementSummary> retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue);
 }
@@ -1,12 +1,46 @@
 package org.exalt.bank.domain.port.out;
 
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 public interface BankAccountOperationPort {
-    BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount);
+    String UNSUPPORTED_OPERATION_MESSAGE = "Unsupported operation type";
+    String IDEMPOTENCY_KEY_REUSED_MESSAGE = "The idempotency key was already used for a different operation";
+    String IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE = "An operation with this idempotency key is still in progress";
 
-    BankAccountOperationResult deposit(UUID accountId, BigDecimal amount);
+    BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount, String idempotencyKey);
+
+    BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey);
+
+    default BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount) {
+        return withdrawal(accountId, amount, null);
+    }
+
+    default BankAccountOperationResult deposit(UUID accountId, BigDecimal amount) {
+        return deposit(accountId, amount, null);
+    }
+
+    default List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands) {
+        return commands.stream()
+                .map(this::applyCommand)
+                .toList();
+    }
+
+    private BankAccountOperationResult applyCommand(BankAccountOperationCommand command) {
+        try {
+            return switch (command.getOperationType()) {
+                case DEPOSIT -> deposit(command.getAccountId(), command.getAmount());
+                case WITHDRAWAL -> withdrawal(command.getAccountId(), command.getAmount());
+                default -> new BankAccountOperationResult.Failure(UNSUPPORTED_OPERATION_MESSAGE);
+            };
+        } catch (BankAccountNotFoundException | BankOperationsException e) {
+            return new BankAccountOperationResult.Failure(e.getMessage());
+        }
+    }
 }
@@ -1,11 +1,24 @@
 package org.exalt.bank.domain.port.out;
 
 import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.StatementSummary;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface BankAccountStatementPort {
     List<AccountOperation> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue);
+
+    AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize);
+
+    void streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer);
+
+    BigDecimal retrieveBalanceAt(UUID accountId, LocalDateTime dateTime);
+
+    StatementSummary retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue);
 }
@@ -2,6 +2,7 @@ package org.exalt.bank.domain.usecases;
 
 import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
 import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
 import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
 import org.exalt.bank.domain.port.out.BankAccountOperationPort;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 public class BankAccountService implements BankAccountOperationUseCase {
@@ -22,9 +24,12 @@ public class BankAccountService implements BankAccountOperationUseCase {
     }
 
     @Override
-    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount) {
+    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount, String idempotencyKey) {
         try {
-            return this.bankAccountOperationPort.withdrawal(accountId, amount);
+            return this.bankAccountOperationPort.withdrawal(accountId, amount, idempotencyKey);
+        } catch (BankOperationsException e) {
+            LOGGER.warn("Operation failed for bank account with ID {}: {}", accountId, e.getMessage());
+            return new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE);
         } catch (BankAccountNotFoundException e) {
             LOGGER.warn("Bank account not found for ID {}", accountId);
             return new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE);
@@ -32,9 +37,9 @@ public class BankAccountService implements BankAccountOperationUseCase {
     }
 
     @Override
-    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount) {
+    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
         try {
-            return this.bankAccountOperationPort.deposit(accountId, amount);
+            return this.bankAccountOperationPort.deposit(accountId, amount, idempotencyKey);
         } catch (BankOperationsException e) {
             LOGGER.warn("Operation failed for bank account with ID {}: {}", accountId, e.getMessage());
             return new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE);
@@ -43,4 +48,15 @@ public class BankAccountService implements BankAccountOperationUseCase {
             return new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE);
         }
     }
+
+    @Override
+    public List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        var results = this.bankAccountOperationPort.applyBatch(commands);
+        LOGGER.info("Applied batch of {} operations, {} failed", commands.size(),
+                results.stream().filter(BankAccountOperationResult.Failure.class::isInstance).count());
+        return results;
+    }
 }
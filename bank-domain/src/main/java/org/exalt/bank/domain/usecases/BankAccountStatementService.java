@@ -1,20 +1,21 @@
 package org.exalt.bank.domain.usecases;
 
-import org.exalt.bank.domain.enums.OperationType;
 import org.exalt.bank.domain.exceptions.AccountOperationsException;
 import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
+import org.exalt.bank.domain.model.StatementSummary;
 import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
 import org.exalt.bank.domain.port.out.BankAccountStatementPort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class BankAccountStatementService implements BankAccountStatementUseCase {
     private static final Logger LOGGER = LoggerFactory.getLogger(BankAccountStatementService.class);
@@ -26,12 +27,13 @@ public class BankAccountStatementService implements BankAccountStatementUseCase
     public Optional<BankAccountStatement> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
         try {
             var accountOperations = this.bankAccountStatementPort.retrieveAccountOperations(accountId, dateOfIssue);
-            var balanceAtIssueDate = calculateBalanceAtIssueDate(accountOperations);
+            var balanceAtIssueDate = this.bankAccountStatementPort.retrieveBalanceAt(accountId, dateOfIssue);
 
             return Optional.of(
                     BankAccountStatement.builder()
                             .withAmountAtIssueDate(balanceAtIssueDate)
                             .withAccountOperations(accountOperations)
+                            .withAggregates(StatementAggregates.of(balanceAtIssueDate, accountOperations))
                             .build()
             );
         } catch (AccountOperationsException e) {
@@ -40,12 +42,29 @@ public class BankAccountStatementService implements BankAccountStatementUseCase
         }
     }
 
-    private BigDecimal calculateBalanceAtIssueDate(List<AccountOperation> accountOperations) {
+    @Override
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        return this.bankAccountStatementPort.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, pageSize);
+    }
+
+    @Override
+    public void exportAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        this.bankAccountStatementPort.streamAccountOperations(accountId, startDate, endDate, consumer);
+    }
 
-        return accountOperations
-                .stream()
-                .filter(operation -> operation.getOperationDateTime() != null)
-                .map(operation -> Objects.equals(operation.getOperationType(), OperationType.DEPOSIT) ? operation.getAmount() : operation.getAmount().negate())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Override
+    public Optional<StatementSummary> retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        try {
+            return Optional.of(this.bankAccountStatementPort.retrieveStatementSummary(accountId, dateOfIssue));
+        } catch (AccountOperationsException e) {
+            LOGGER.warn("Failed to summarize operations for bank account with ID {} for the date {}", accountId, dateOfIssue);
+            return Optional.empty();
+        }
     }
 }
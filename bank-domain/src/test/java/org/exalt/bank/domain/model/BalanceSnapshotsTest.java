@@ -0,0 +1,37 @@
+package org.exalt.bank.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceSnapshotsTest {
+
+    @Test
+    void should_replay_from_the_start_of_the_day_after_the_snapshot() {
+        // Arrange
+        var dateTime = LocalDateTime.of(2024, 11, 30, 10, 15);
+
+        // Act
+        var snapshotDateBefore = BalanceSnapshots.snapshotDateBefore(dateTime);
+        var replayStart = BalanceSnapshots.replayStart(LocalDate.of(2024, 11, 27));
+
+        // Assert
+        assertThat(snapshotDateBefore).isEqualTo(LocalDate.of(2024, 11, 30));
+        assertThat(replayStart).isEqualTo(LocalDateTime.of(2024, 11, 28, 0, 0));
+    }
+
+    @Test
+    void should_add_the_replayed_amounts_to_a_snapshot_and_take_later_ones_off_the_current_balance() {
+        // Act
+        var fromSnapshot = BalanceSnapshots.fromSnapshot(new BigDecimal("100.00"), new BigDecimal("-30.00"));
+        var rewound = BalanceSnapshots.rewind(new BigDecimal("100.00"), new BigDecimal("-30.00"));
+
+        // Assert
+        assertThat(fromSnapshot).isEqualByComparingTo("70.00");
+        assertThat(rewound).isEqualByComparingTo("130.00");
+    }
+}
@@ -0,0 +1,112 @@
+package org.exalt.bank.domain.model;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Nested
+    class Conversion {
+        @Test
+        void should_convert_to_minor_units_and_back_without_loss() {
+            // Act
+            var actual = Money.of(new BigDecimal("1234.5"));
+
+            // Assert
+            assertThat(actual.getMinorUnits()).isEqualTo(123_450L);
+            assertThat(actual.toBigDecimal()).isEqualTo(new BigDecimal("1234.50"));
+            assertThat(actual).isEqualTo(Money.ofMinor(123_450L));
+        }
+
+        @Test
+        void should_reject_an_amount_finer_than_the_scale_instead_of_rounding_it() {
+            // Act & Assert
+            assertThatThrownBy(() -> Money.of(new BigDecimal("10.005")))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+
+        @Test
+        void should_tell_whether_an_amount_fits_the_default_scale() {
+            // Act & Assert
+            assertThat(Money.fitsDefaultScale(new BigDecimal("10.50"))).isTrue();
+            assertThat(Money.fitsDefaultScale(new BigDecimal("10.5000"))).isTrue();
+            assertThat(Money.fitsDefaultScale(new BigDecimal("1E+3"))).isTrue();
+            assertThat(Money.fitsDefaultScale(new BigDecimal("10.001"))).isFalse();
+        }
+
+        @Test
+        void should_reject_an_amount_that_does_not_fit_in_a_long() {
+            // Act & Assert
+            assertThatThrownBy(() -> Money.of(new BigDecimal("100000000000000000000")))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Nested
+    class Arithmetic {
+        @Test
+        void should_add_and_subtract_exactly() {
+            // Arrange
+            var balance = Money.of(new BigDecimal("0.10"));
+
+            // Act
+            var actual = balance.plus(Money.of(new BigDecimal("0.20"))).minus(Money.of(new BigDecimal("0.30")));
+
+            // Assert
+            assertThat(actual).isEqualTo(Money.ZERO);
+            assertThat(actual.signum()).isZero();
+        }
+
+        @Test
+        void should_throw_on_overflow_instead_of_wrapping() {
+            // Arrange
+            var max = Money.ofMinor(Long.MAX_VALUE);
+
+            // Act & Assert
+            assertThatThrownBy(() -> max.plus(Money.ofMinor(1)))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+
+        @Test
+        void should_refuse_to_combine_amounts_of_different_scales() {
+            // Arrange
+            var cents = Money.ofMinor(100);
+            var mills = Money.ofMinor(1000, 3);
+
+            // Act & Assert
+            assertThatThrownBy(() -> cents.plus(mills))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class Limits {
+        @Test
+        void should_allow_a_withdrawal_down_to_the_overdraft_limit_and_no_further() {
+            // Arrange
+            var balance = Money.of(new BigDecimal("100"));
+            var overdraftLimit = Money.of(new BigDecimal("50"));
+
+            // Act & Assert
+            assertThat(AccountLimits.canWithdraw(balance, Money.of(new BigDecimal("150")), overdraftLimit)).isTrue();
+            assertThat(AccountLimits.canWithdraw(balance, Money.of(new BigDecimal("150.01")), overdraftLimit)).isFalse();
+        }
+
+        @Test
+        void should_allow_a_deposit_up_to_the_deposit_limit_and_no_further() {
+            // Arrange
+            var balance = Money.of(new BigDecimal("900"));
+            var depositLimit = Money.of(new BigDecimal("1000"));
+
+            // Act & Assert
+            assertThat(AccountLimits.exceedsDepositLimit(balance, Money.of(new BigDecimal("100")), depositLimit)).isFalse();
+            assertThat(AccountLimits.exceedsDepositLimit(balance, Money.of(new BigDecimal("100.01")), depositLimit)).isTrue();
+            assertThat(AccountLimits.exceedsDepositLimit(balance, Money.of(new BigDecimal("100.01")), null)).isFalse();
+        }
+    }
+}
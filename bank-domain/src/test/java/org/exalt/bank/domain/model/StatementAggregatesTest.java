@@ -0,0 +1,62 @@
+package org.exalt.bank.domain.model;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementAggregatesTest {
+    private static final LocalDateTime ISSUE_DATE = LocalDateTime.of(2024, 11, 30, 12, 0);
+
+    private static AccountOperation buildAccountOperation(String amount, int daysBeforeIssue) {
+        var value = new BigDecimal(amount);
+        return AccountOperation.builder()
+                .withOperationId(UUID.randomUUID())
+                .withOperationDateTime(ISSUE_DATE.minusDays(daysBeforeIssue))
+                .withAmount(value)
+                .withAccountType("CURRENT")
+                .withOperationType(value.signum() > 0 ? OperationType.DEPOSIT : OperationType.WITHDRAWAL)
+                .build();
+    }
+
+    @Test
+    void should_fold_totals_and_running_balance_extremes_walking_back_from_the_issue_date() {
+        // Arrange
+        // opening 100, +50 -> 150, -200 -> -50, +30 -> -20
+        var newestFirst = List.of(
+                buildAccountOperation("30", 1),
+                buildAccountOperation("-200", 2),
+                buildAccountOperation("50", 3));
+
+        // Act
+        var actual = StatementAggregates.of(new BigDecimal("-20"), newestFirst);
+
+        // Assert
+        var expected = StatementAggregates.builder()
+                .withOpeningBalance(new BigDecimal("100.00"))
+                .withDepositTotal(new BigDecimal("80.00"))
+                .withWithdrawalTotal(new BigDecimal("200.00"))
+                .withOperationCount(3)
+                .withMinBalance(new BigDecimal("-50.00"))
+                .withMaxBalance(new BigDecimal("150.00"))
+                .build();
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void should_report_the_issue_date_balance_when_there_are_no_operations() {
+        // Act
+        var actual = StatementAggregates.of(new BigDecimal("42.5"), List.of());
+
+        // Assert
+        assertThat(actual.getOperationCount()).isZero();
+        assertThat(actual.getOpeningBalance()).isEqualTo(new BigDecimal("42.50"));
+        assertThat(actual.getMinBalance()).isEqualTo(actual.getMaxBalance()).isEqualTo(new BigDecimal("42.50"));
+        assertThat(actual.getDepositTotal()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+}
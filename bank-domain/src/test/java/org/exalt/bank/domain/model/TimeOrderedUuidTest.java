@@ -0,0 +1,70 @@
+package org.exalt.bank.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void should_generate_version_7_uuids_carrying_the_current_time() {
+        // Arrange
+        var before = System.currentTimeMillis();
+
+        // Act
+        var actual = TimeOrderedUuid.next();
+
+        // Assert
+        assertThat(actual.version()).isEqualTo(7);
+        assertThat(actual.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.timestampMillis(actual)).isBetween(before, System.currentTimeMillis() + 1_000);
+    }
+
+    @Test
+    void should_generate_unique_ids_in_increasing_byte_order() {
+        // Arrange
+        var generated = new ArrayList<UUID>();
+
+        // Act
+        for (int index = 0; index < 10_000; index++) {
+            generated.add(TimeOrderedUuid.next());
+        }
+
+        // Assert
+        assertThat(new HashSet<>(generated)).hasSameSizeAs(generated);
+        for (int index = 1; index < generated.size(); index++) {
+            assertThat(Arrays.compareUnsigned(bytes(generated.get(index - 1)), bytes(generated.get(index)))).isNegative();
+        }
+    }
+
+    @Test
+    void should_keep_increasing_when_the_counter_overflows_within_a_millisecond() {
+        // Arrange
+        var last = new AtomicLong();
+        var millis = System.currentTimeMillis();
+        var previous = TimeOrderedUuid.fromSequence(TimeOrderedUuid.nextSequence(last, millis), 0L);
+
+        // Act & Assert
+        for (int index = 0; index < 5_000; index++) {
+            var current = TimeOrderedUuid.fromSequence(TimeOrderedUuid.nextSequence(last, millis), 0L);
+            assertThat(Arrays.compareUnsigned(bytes(previous), bytes(current))).isNegative();
+            previous = current;
+        }
+        assertThat(TimeOrderedUuid.timestampMillis(previous)).isEqualTo(millis + 1);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        var bytes = new byte[16];
+        for (int index = 0; index < 8; index++) {
+            bytes[index] = (byte) (uuid.getMostSignificantBits() >>> (56 - 8 * index));
+            bytes[8 + index] = (byte) (uuid.getLeastSignificantBits() >>> (56 - 8 * index));
+        }
+        return bytes;
+    }
+}
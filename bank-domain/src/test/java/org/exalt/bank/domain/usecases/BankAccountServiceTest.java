@@ -2,9 +2,11 @@ package org.exalt.bank.domain.usecases;
 
 
 import org.exalt.bank.domain.enums.AccountStatus;
+import org.exalt.bank.domain.enums.OperationType;
 import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
 import org.exalt.bank.domain.exceptions.BankOperationsException;
 import org.exalt.bank.domain.model.BankAccount;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
 import org.exalt.bank.domain.model.CurrentAccount;
 import org.exalt.bank.domain.model.SavingAccount;
@@ -21,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -28,6 +31,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.exalt.bank.domain.usecases.BankAccountService.ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE;
 import static org.exalt.bank.domain.usecases.BankAccountService.OPERATION_FAILED_EXCEPTION_MESSAGE;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,7 +76,7 @@ class BankAccountServiceTest {
         @MethodSource("depositScenariosForDifferentAccountTypesProvider")
         void should_add_amount_to_balance_successfully(BankAccount account, BigDecimal depositAmount) {
             // Arrange
-            when(bankAccountOperationPort.deposit(account.getAccountId(), depositAmount)).thenReturn(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+            when(bankAccountOperationPort.deposit(account.getAccountId(), depositAmount, null)).thenReturn(new BankAccountOperationResult.Ok("DEPOSIT successful"));
 
             // Act
             var actual = bankAccountService.deposit(account.getAccountId(), depositAmount);
@@ -84,10 +88,10 @@ class BankAccountServiceTest {
         @Test
         void Should_throw_BankAccountNotFoundException_when_no_account_is_found() {
             // Arrange
-            when(bankAccountOperationPort.deposit(any(), any())).thenThrow(new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
+            when(bankAccountOperationPort.deposit(any(), any(), any())).thenThrow(new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
 
             // Act
-            var actual = bankAccountService.deposit(any(), any());
+            var actual = bankAccountService.deposit(any(), any(), any());
 
             // Assert
             assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
@@ -96,10 +100,10 @@ class BankAccountServiceTest {
         @Test
         void Should_throw_BankOperationsException_when_deposit_amount_exceeds_deposit_limit() {
             // Arrange
-            when(bankAccountOperationPort.deposit(any(), any())).thenThrow(new BankOperationsException(OPERATION_FAILED_EXCEPTION_MESSAGE));
+            when(bankAccountOperationPort.deposit(any(), any(), any())).thenThrow(new BankOperationsException(OPERATION_FAILED_EXCEPTION_MESSAGE));
 
             // Act
-            var actual = bankAccountService.deposit(any(), any());
+            var actual = bankAccountService.deposit(any(), any(), any());
 
             // Assert
             assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE));
@@ -122,7 +126,7 @@ class BankAccountServiceTest {
         @MethodSource("withdrawalScenariosForDifferentAccountTypesProvider")
         void should_subtract_amount_from_balance_successfully(BankAccount account, BigDecimal withdrawalAmount) {
             // Arrange
-            when(bankAccountOperationPort.withdrawal(account.getAccountId(), withdrawalAmount)).thenReturn(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+            when(bankAccountOperationPort.withdrawal(account.getAccountId(), withdrawalAmount, null)).thenReturn(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
 
             // Act
             var actual = bankAccountService.withdrawal(account.getAccountId(), withdrawalAmount);
@@ -134,14 +138,59 @@ class BankAccountServiceTest {
         @Test
         void Should_throw_BankAccountNotFoundException_when_no_account_is_found() {
             // Arrange
-            when(bankAccountOperationPort.withdrawal(any(), any())).thenThrow(new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
+            when(bankAccountOperationPort.withdrawal(any(), any(), any())).thenThrow(new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
 
             // Act
-            var actual = bankAccountService.withdrawal(any(), any());
+            var actual = bankAccountService.withdrawal(any(), any(), any());
 
             // Assert
             assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
 
         }
+
+        @Test
+        void Should_return_failure_when_withdrawal_raises_BankOperationsException() {
+            // Arrange
+            when(bankAccountOperationPort.withdrawal(any(), any(), any())).thenThrow(new BankOperationsException("conflict retries exhausted"));
+
+            // Act
+            var actual = bankAccountService.withdrawal(any(), any(), any());
+
+            // Assert
+            assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE));
+        }
+    }
+
+    @Nested
+    class BatchTest {
+
+        @Test
+        void should_return_port_results_in_submission_order() {
+            // Arrange
+            var accountId = UUID.randomUUID();
+            var commands = List.of(
+                    BankAccountOperationCommand.builder().withAccountId(accountId).withOperationType(OperationType.DEPOSIT).withAmount(BigDecimal.TEN).build(),
+                    BankAccountOperationCommand.builder().withAccountId(accountId).withOperationType(OperationType.WITHDRAWAL).withAmount(BigDecimal.ONE).build());
+            var results = List.<BankAccountOperationResult>of(
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Failure("insufficient funds"));
+            when(bankAccountOperationPort.applyBatch(commands)).thenReturn(results);
+
+            // Act
+            var actual = bankAccountService.applyBatch(commands);
+
+            // Assert
+            assertThat(actual).isEqualTo(results);
+        }
+
+        @Test
+        void should_not_call_port_for_an_empty_batch() {
+            // Act
+            var actual = bankAccountService.applyBatch(List.of());
+
+            // Assert
+            assertThat(actual).isEmpty();
+            verifyNoInteractions(bankAccountOperationPort);
+        }
     }
-}
\ No newline at end of file
+}
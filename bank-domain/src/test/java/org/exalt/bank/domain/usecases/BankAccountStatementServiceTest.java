@@ -5,6 +5,7 @@ import org.exalt.bank.domain.exceptions.AccountOperationsException;
 import org.exalt.bank.domain.model.AccountOperation;
 import org.exalt.bank.domain.model.BankAccount;
 import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
 import org.exalt.bank.domain.port.out.BankAccountStatementPort;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,6 +55,18 @@ class BankAccountStatementServiceTest {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    void should_return_empty_summary_when_the_account_does_not_exist() {
+        // Arrange
+        when(bankAccountStatementPort.retrieveStatementSummary(any(), any())).thenThrow(new AccountOperationsException("no account found"));
+
+        // Act
+        var actual = bankAccountStatementService.retrieveStatementSummary(UUID.randomUUID(), OPERATION_DATE_TIME);
+
+        // Assert
+        assertThat(actual).isEmpty();
+    }
+
     @Test
     void should_return_operations_when_bank_account_has_operations() {
         // Arrange
@@ -64,13 +77,15 @@ class BankAccountStatementServiceTest {
         var buildSecondCurrentOperation = buildAccountOperation("CURRENT", OperationType.WITHDRAWAL, operationDate);
         var accountOperations = List.of(buildFirstSavingOperation, buildSecondSavingOperation, buildFirstCurrentOperation, buildSecondCurrentOperation);
         when(bankAccountStatementPort.retrieveAccountOperations(any(), any())).thenReturn(accountOperations);
+        when(bankAccountStatementPort.retrieveBalanceAt(any(), any())).thenReturn(new BigDecimal("1250"));
 
         // Act
         var actual = bankAccountStatementService.retrieveAccountOperations(any(), any());
 
         // Assert
         var expected = BankAccountStatement.builder().withAccountOperations(accountOperations)
-                .withAmountAtIssueDate(BigDecimal.ZERO)
+                .withAmountAtIssueDate(new BigDecimal("1250"))
+                .withAggregates(StatementAggregates.of(new BigDecimal("1250"), accountOperations))
                 .build();
         assertThat(actual).isEqualTo(Optional.of(expected));
     }
@@ -0,0 +1,36 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+public final class AccountOperationsRecordedEvent {
+    private final Set<UUID> accountIds;
+
+    public AccountOperationsRecordedEvent(Set<UUID> accountIds) {
+        this.accountIds = Set.copyOf(accountIds);
+    }
+
+    public Set<UUID> getAccountIds() {
+        return accountIds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationsRecordedEvent that)) return false;
+        return Objects.equals(accountIds, that.accountIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountIds);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationsRecordedEvent{" +
+                "accountIds=" + accountIds +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.entities.BalanceSnapshotEntity;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class BalanceSnapshotRecorder {
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    public BalanceSnapshotRecorder(BalanceSnapshotRepository balanceSnapshotRepository) {
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+    }
+
+    // called in the transaction that updated the account row, whose lock serializes snapshot writes for that account;
+    // operations come in applied order and balanceAfter includes all of them
+    public void record(UUID accountId, BigDecimal balanceAfter, List<AccountOperationEntity> operations) {
+        var closingBalance = balanceAfter;
+        LocalDate snapshotDate = null;
+        for (int index = operations.size() - 1; index >= 0; index--) {
+            var operation = operations.get(index);
+            var operationDate = operation.getOperationDateTime().toLocalDate();
+            if (!operationDate.equals(snapshotDate)) {
+                upsert(accountId, operationDate, closingBalance);
+                snapshotDate = operationDate;
+            }
+            closingBalance = closingBalance.subtract(operation.getAmount());
+        }
+    }
+
+    private void upsert(UUID accountId, LocalDate snapshotDate, BigDecimal closingBalance) {
+        if (balanceSnapshotRepository.updateClosingBalance(accountId, snapshotDate, closingBalance) == 0) {
+            balanceSnapshotRepository.save(BalanceSnapshotEntity.builder()
+                    .withAccountId(accountId)
+                    .withSnapshotDate(snapshotDate)
+                    .withClosingBalance(closingBalance)
+                    .build());
+        }
+    }
+}
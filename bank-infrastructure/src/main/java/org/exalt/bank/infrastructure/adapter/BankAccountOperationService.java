@@ -2,90 +2,356 @@ package org.exalt.bank.infrastructure.adapter;
 
 import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
 import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.AccountLimits;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.domain.model.TimeOrderedUuid;
 import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+import org.exalt.bank.infrastructure.configuration.DatabaseConcurrencyLimiter;
+import org.exalt.bank.infrastructure.configuration.RetryPolicy;
 import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
 import org.exalt.bank.infrastructure.entities.BankAccountEntity;
 import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
 import org.exalt.bank.infrastructure.entities.SavingAccountEntity;
 import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.idempotency.IdempotencyStore;
+import org.exalt.bank.infrastructure.metrics.OperationMetrics;
 import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
 import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Repository
-@Transactional
+@ConditionalOnProperty(name = "bank.operations.engine", havingValue = "jpa", matchIfMissing = true)
 public class BankAccountOperationService implements BankAccountOperationPort {
-    public static final String INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE = "The withdrawal amount exceeds the available balance and the authorized overdraft limit.";
-    public static final String DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE = "Deposit exceeds the maximum allowed deposit limit for SavingAccount.";
+    public static final String INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE = AccountLimits.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+    public static final String DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE = AccountLimits.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+    static final String ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE = "Bank account not found";
+    static final String BATCH_CHUNK_FAILED_MESSAGE = "Operation not applied, the batch chunk holding it failed";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BankAccountOperationService.class);
 
     private final BankAccountRepository bankAccountRepository;
     private final AccountOperationRepository accountOperationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RetryPolicy retryPolicy;
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+    private final BalanceSnapshotRecorder balanceSnapshotRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OperationMetrics operationMetrics;
+    private final IdempotencyStore idempotencyStore;
+    private final int batchChunkSize;
 
     @Autowired
-    public BankAccountOperationService(BankAccountRepository bankAccountRepository, AccountOperationRepository accountOperationRepository) {
+    public BankAccountOperationService(BankAccountRepository bankAccountRepository, AccountOperationRepository accountOperationRepository,
+                                       TransactionTemplate transactionTemplate, RetryPolicy retryPolicy,
+                                       DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                                       BalanceSnapshotRecorder balanceSnapshotRecorder, ApplicationEventPublisher eventPublisher,
+                                       OperationMetrics operationMetrics, IdempotencyStore idempotencyStore,
+                                       @Value("${bank.operations.batch.chunk-size:1000}") int batchChunkSize) {
         this.bankAccountRepository = bankAccountRepository;
         this.accountOperationRepository = accountOperationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retryPolicy = retryPolicy;
+        this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+        this.balanceSnapshotRecorder = balanceSnapshotRecorder;
+        this.eventPublisher = eventPublisher;
+        this.operationMetrics = operationMetrics;
+        this.idempotencyStore = idempotencyStore;
+        this.batchChunkSize = batchChunkSize;
     }
 
     @Override
-    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal withdrawalAmount) {
+    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal withdrawalAmount, String idempotencyKey) {
+        var replayed = findCachedReplay(idempotencyKey, accountId, OperationType.WITHDRAWAL, withdrawalAmount);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        var recording = operationMetrics.start("withdrawal");
+        try {
+            var result = retryPolicy.execute(() -> databaseConcurrencyLimiter.execute(() -> operationMetrics.timeTransaction("withdrawal",
+                    () -> transactionTemplate.execute(status -> applyIdempotently(idempotencyKey, accountId, OperationType.WITHDRAWAL, withdrawalAmount,
+                            () -> applyWithdrawal(accountId, withdrawalAmount, recording))))));
+            publishRecorded(accountId, result);
+            return recording.stop(result);
+        } catch (DataIntegrityViolationException e) {
+            return recording.stop(replayConcurrentDuplicate(idempotencyKey, accountId, OperationType.WITHDRAWAL, withdrawalAmount, e));
+        } catch (RuntimeException e) {
+            throw recording.stop(e);
+        }
+    }
+
+    @Override
+    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        var replayed = findCachedReplay(idempotencyKey, accountId, OperationType.DEPOSIT, amount);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        var recording = operationMetrics.start("deposit");
+        try {
+            var result = retryPolicy.execute(() -> databaseConcurrencyLimiter.execute(() -> operationMetrics.timeTransaction("deposit",
+                    () -> transactionTemplate.execute(status -> applyIdempotently(idempotencyKey, accountId, OperationType.DEPOSIT, amount,
+                            () -> applyDeposit(accountId, amount, recording))))));
+            publishRecorded(accountId, result);
+            return recording.stop(result);
+        } catch (DataIntegrityViolationException e) {
+            return recording.stop(replayConcurrentDuplicate(idempotencyKey, accountId, OperationType.DEPOSIT, amount, e));
+        } catch (RuntimeException e) {
+            throw recording.stop(e);
+        }
+    }
+
+    // coalesced deposits and withdrawals are flushed through here too, so both are timed under operation=batch
+    @Override
+    public List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands) {
+        var recording = operationMetrics.start(OperationMetrics.BATCH_OPERATION);
+        try {
+            return recording.stop(applyChunks(commands, recording));
+        } catch (RuntimeException e) {
+            throw recording.stop(e);
+        }
+    }
+
+    private List<BankAccountOperationResult> applyChunks(List<BankAccountOperationCommand> commands, OperationMetrics.Recording recording) {
+        var results = new BankAccountOperationResult[commands.size()];
+        var indexesByAccount = new LinkedHashMap<UUID, List<Integer>>();
+        for (int index = 0; index < commands.size(); index++) {
+            indexesByAccount.computeIfAbsent(commands.get(index).getAccountId(), accountId -> new ArrayList<>()).add(index);
+        }
+
+        // an account's operations never straddle two chunks, so they are validated in submission order
+        var chunk = new LinkedHashMap<UUID, List<Integer>>();
+        var chunkOperations = 0;
+        for (var accountOperations : indexesByAccount.entrySet()) {
+            chunk.put(accountOperations.getKey(), accountOperations.getValue());
+            chunkOperations += accountOperations.getValue().size();
+            if (chunkOperations >= batchChunkSize) {
+                applyChunk(commands, chunk, results, recording);
+                chunk = new LinkedHashMap<>();
+                chunkOperations = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(commands, chunk, results, recording);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void applyChunk(List<BankAccountOperationCommand> commands, Map<UUID, List<Integer>> chunk, BankAccountOperationResult[] results,
+                            OperationMetrics.Recording recording) {
+        try {
+            var chunkResults = retryPolicy.execute(() -> databaseConcurrencyLimiter.execute(() -> operationMetrics.timeTransaction(OperationMetrics.BATCH_OPERATION,
+                    () -> transactionTemplate.execute(status -> applyChunkInTransaction(commands, chunk, recording)))));
+            chunkResults.forEach((index, result) -> results[index] = result);
+            var recordedAccounts = chunkResults.entrySet().stream()
+                    .filter(entry -> entry.getValue() instanceof BankAccountOperationResult.Ok)
+                    .map(entry -> commands.get(entry.getKey()).getAccountId())
+                    .collect(Collectors.toSet());
+            if (!recordedAccounts.isEmpty()) {
+                eventPublisher.publishEvent(new AccountOperationsRecordedEvent(recordedAccounts));
+            }
+        } catch (BankOperationsException e) {
+            failChunk(chunk, results, new BankAccountOperationResult.Failure(e.getMessage()));
+        } catch (RuntimeException e) {
+            // earlier chunks are committed: the response must still answer every item, so only this chunk fails
+            LOGGER.error("Batch chunk of {} accounts rolled back", chunk.size(), e);
+            failChunk(chunk, results, new BankAccountOperationResult.Failure(BATCH_CHUNK_FAILED_MESSAGE));
+        }
+    }
+
+    private static void failChunk(Map<UUID, List<Integer>> chunk, BankAccountOperationResult[] results, BankAccountOperationResult.Failure failure) {
+        chunk.values().forEach(indexes -> indexes.forEach(index -> results[index] = failure));
+    }
+
+    private Map<Integer, BankAccountOperationResult> applyChunkInTransaction(List<BankAccountOperationCommand> commands, Map<UUID, List<Integer>> chunk,
+                                                                             OperationMetrics.Recording recording) {
+        var results = new HashMap<Integer, BankAccountOperationResult>();
+        var operations = new ArrayList<AccountOperationEntity>();
+        // rows are locked in id order so concurrent chunks touching the same accounts cannot deadlock
+        var accounts = bankAccountRepository.findAllByIdForUpdate(chunk.keySet()).stream()
+                .collect(Collectors.toMap(BankAccountEntity::getAccountId, Function.identity()));
+
+        chunk.forEach((accountId, indexes) -> {
+            var account = accounts.get(accountId);
+            if (account == null) {
+                indexes.forEach(index -> results.put(index, new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE)));
+                return;
+            }
+            recording.accountType(accountTypeOf(account));
+            var initialBalance = Money.of(account.getBalance());
+            var balance = initialBalance;
+            var accountOperations = new ArrayList<AccountOperationEntity>();
+            for (var index : indexes) {
+                var command = commands.get(index);
+                var amount = Money.of(command.getAmount());
+                var result = validateBatchCommand(account, balance, command, amount);
+                if (result instanceof BankAccountOperationResult.Ok) {
+                    var operationType = OperationType.valueOf(command.getOperationType().name());
+                    balance = operationType == OperationType.DEPOSIT ? balance.plus(amount) : balance.minus(amount);
+                    var delta = operationType == OperationType.DEPOSIT ? command.getAmount() : command.getAmount().negate();
+                    accountOperations.add(createAccountOperation(account, delta, operationType));
+                }
+                results.put(index, result);
+            }
+            var netDelta = balance.minus(initialBalance);
+            if (netDelta.signum() != 0) {
+                bankAccountRepository.creditBalance(accountId, netDelta.toBigDecimal());
+            }
+            // the row is locked for the whole chunk, so the running balance is the stored balance
+            balanceSnapshotRecorder.record(accountId, balance.toBigDecimal(), accountOperations);
+            operations.addAll(accountOperations);
+        });
+        accountOperationRepository.saveAll(operations);
+        return results;
+    }
+
+    private BankAccountOperationResult validateBatchCommand(BankAccountEntity account, Money balance, BankAccountOperationCommand command, Money amount) {
+        return switch (command.getOperationType()) {
+            case WITHDRAWAL -> AccountLimits.canWithdraw(balance, amount, overdraftLimitOf(account))
+                    ? new BankAccountOperationResult.Ok(OperationType.WITHDRAWAL + " successful")
+                    : new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE);
+            case DEPOSIT -> AccountLimits.exceedsDepositLimit(balance, amount, depositLimitOf(account))
+                    ? new BankAccountOperationResult.Failure(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE)
+                    : new BankAccountOperationResult.Ok(OperationType.DEPOSIT + " successful");
+            default -> new BankAccountOperationResult.Failure(UNSUPPORTED_OPERATION_MESSAGE);
+        };
+    }
+
+    private Optional<BankAccountOperationResult> findCachedReplay(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount) {
+        return idempotencyKey == null ? Optional.empty() : idempotencyStore.findCached(idempotencyKey, accountId, operationType, amount);
+    }
+
+    // looked up again inside the transaction: a retried attempt must find what an earlier committed attempt recorded
+    private BankAccountOperationResult applyIdempotently(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount,
+                                                         Supplier<BankAccountOperationResult> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+        var replayed = idempotencyStore.find(idempotencyKey, accountId, operationType, amount);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        var result = operation.get();
+        idempotencyStore.record(idempotencyKey, accountId, operationType, amount, result);
+        return result;
+    }
+
+    // the same key committed by a concurrent request first: its row rolled this transaction back, so its result is the answer
+    private BankAccountOperationResult replayConcurrentDuplicate(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount,
+                                                                 DataIntegrityViolationException e) {
+        if (idempotencyKey == null) {
+            throw e;
+        }
+        return idempotencyStore.find(idempotencyKey, accountId, operationType, amount).orElseThrow(() -> e);
+    }
+
+    // published once the transaction has committed, so listeners reading the account see the new operation
+    private void publishRecorded(UUID accountId, BankAccountOperationResult result) {
+        if (result instanceof BankAccountOperationResult.Ok) {
+            eventPublisher.publishEvent(new AccountOperationsRecordedEvent(Set.of(accountId)));
+        }
+    }
+
+    private BankAccountOperationResult applyWithdrawal(UUID accountId, BigDecimal withdrawalAmount, OperationMetrics.Recording recording) {
         var account = findAccountById(accountId);
-        BigDecimal overDraftLimit = account instanceof CurrentAccountEntity currentAccount ? currentAccount.getOverdraftLimit() : BigDecimal.ZERO;
-        if (!canWithdraw(account.getBalance(), withdrawalAmount, overDraftLimit)) {
+        recording.accountType(accountTypeOf(account));
+        var overdraftLimit = overdraftLimitOf(account);
+        if (!AccountLimits.canWithdraw(Money.of(account.getBalance()), Money.of(withdrawalAmount), overdraftLimit)) {
             return new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE);
         }
-        return performTransaction(account, withdrawalAmount.negate(), OperationType.WITHDRAWAL);
+        // the balance read above may already be stale: the guarded UPDATE is what decides
+        if (bankAccountRepository.debitBalance(accountId, withdrawalAmount, overdraftLimit.negate().toBigDecimal()) == 0) {
+            return new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE);
+        }
+        return recordOperation(account, withdrawalAmount.negate(), OperationType.WITHDRAWAL);
     }
 
-    @Override
-    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount) {
+    // the guarded UPDATE checks the limit without reading the account first; no row updated means a missing account or
+    // a refused deposit, which the path that loads the account tells apart
+    private BankAccountOperationResult applyDeposit(UUID accountId, BigDecimal amount, OperationMetrics.Recording recording) {
+        if (bankAccountRepository.creditBalanceWithinOwnLimit(accountId, amount) == 0) {
+            return applyDepositToLoadedAccount(accountId, amount, recording);
+        }
+        var accountBalance = bankAccountRepository.findAccountBalanceById(accountId);
+        recording.accountType(accountBalance.accountType());
+        var operation = createAccountOperation(bankAccountRepository.getReferenceById(accountId), accountBalance.accountType(), amount, OperationType.DEPOSIT);
+        accountOperationRepository.save(operation);
+        balanceSnapshotRecorder.record(accountId, accountBalance.balance(), List.of(operation));
+        return new BankAccountOperationResult.Ok(OperationType.DEPOSIT + " successful");
+    }
+
+    private BankAccountOperationResult applyDepositToLoadedAccount(UUID accountId, BigDecimal amount, OperationMetrics.Recording recording) {
         var account = findAccountById(accountId);
-        if (account instanceof SavingAccountEntity savingAccount && exceedsDepositLimit(savingAccount, amount)) {
-            throw new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+        recording.accountType(accountTypeOf(account));
+        if (account instanceof SavingAccountEntity savingAccount) {
+            if (AccountLimits.exceedsDepositLimit(Money.of(savingAccount.getBalance()), Money.of(amount), depositLimitOf(savingAccount))
+                    || bankAccountRepository.creditBalanceWithinLimit(accountId, amount, savingAccount.getDepositLimit()) == 0) {
+                throw new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+            }
+        } else {
+            bankAccountRepository.creditBalance(accountId, amount);
         }
-        return performTransaction(account, amount, OperationType.DEPOSIT);
+        return recordOperation(account, amount, OperationType.DEPOSIT);
     }
 
     private BankAccountEntity findAccountById(UUID accountId) {
-        return bankAccountRepository.findById(accountId).orElseThrow(() -> new BankAccountNotFoundException("Bank account not found"));
+        return bankAccountRepository.findById(accountId).orElseThrow(() -> new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
     }
 
-    private boolean canWithdraw(BigDecimal currentBalance, BigDecimal withdrawalAmount, BigDecimal overDraftLimit) {
-        return currentBalance.subtract(withdrawalAmount).compareTo(overDraftLimit.negate()) >= 0;
+    private static Money overdraftLimitOf(BankAccountEntity account) {
+        return account instanceof CurrentAccountEntity currentAccount ? Money.of(currentAccount.getOverdraftLimit()) : Money.ZERO;
     }
 
-    private boolean exceedsDepositLimit(SavingAccountEntity account, BigDecimal amount) {
-        var newBalance = account.getBalance().add(amount);
-        return newBalance.compareTo(account.getDepositLimit()) > 0;
+    private static Money depositLimitOf(BankAccountEntity account) {
+        return account instanceof SavingAccountEntity savingAccount ? Money.of(savingAccount.getDepositLimit()) : null;
     }
 
-    private BankAccountOperationResult performTransaction(BankAccountEntity account, BigDecimal amount, OperationType operationType) {
+    private BankAccountOperationResult recordOperation(BankAccountEntity account, BigDecimal amount, OperationType operationType) {
         AccountOperationEntity operation = createAccountOperation(account, amount, operationType);
         accountOperationRepository.save(operation);
-        updateAccountBalance(account, amount);
+        balanceSnapshotRecorder.record(account.getAccountId(), bankAccountRepository.findBalanceById(account.getAccountId()), List.of(operation));
         return new BankAccountOperationResult.Ok(operationType + " successful");
     }
 
+    private static String accountTypeOf(BankAccountEntity account) {
+        return account instanceof SavingAccountEntity ? "Saving" : "Current";
+    }
+
     private AccountOperationEntity createAccountOperation(BankAccountEntity account, BigDecimal amount, OperationType operationType) {
+        return createAccountOperation(account, accountTypeOf(account), amount, operationType);
+    }
+
+    // the account may be an uninitialized reference, whose class does not tell its type
+    private AccountOperationEntity createAccountOperation(BankAccountEntity account, String accountType, BigDecimal amount, OperationType operationType) {
         return AccountOperationEntity.builder()
-                .withOperationId(UUID.randomUUID())
+                .withOperationId(TimeOrderedUuid.next())
                 .withOperationDateTime(LocalDateTime.now())
                 .withAmount(amount)
                 .withOperationType(operationType)
-                .withAccountType(account instanceof SavingAccountEntity ? "Saving" : "Current")
+                .withAccountType(accountType)
                 .withBankAccount(account)
                 .build();
     }
-
-    private void updateAccountBalance(BankAccountEntity account, BigDecimal amount) {
-        account.setBalance(account.getBalance().add(amount));
-        bankAccountRepository.save(account);
-    }
 }
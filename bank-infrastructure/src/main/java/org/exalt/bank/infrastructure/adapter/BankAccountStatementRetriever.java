@@ -2,26 +2,38 @@ package org.exalt.bank.infrastructure.adapter;
 
 import org.exalt.bank.domain.exceptions.AccountOperationsException;
 import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.BalanceSnapshots;
+import org.exalt.bank.domain.model.StatementSummary;
 import org.exalt.bank.domain.port.out.BankAccountStatementPort;
-import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
 import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.exalt.bank.infrastructure.statement.AccountOperationView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class BankAccountStatementRetriever implements BankAccountStatementPort {
     private final BankAccountRepository bankAccountRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
 
     @Autowired
-    public BankAccountStatementRetriever(BankAccountRepository bankAccountRepository) {
+    public BankAccountStatementRetriever(BankAccountRepository bankAccountRepository, BalanceSnapshotRepository balanceSnapshotRepository) {
         this.bankAccountRepository = bankAccountRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AccountOperation> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
         var startDate = dateOfIssue.minusDays(31);
         var operations = bankAccountRepository.findOperationsByAccountId(accountId, startDate, dateOfIssue);
@@ -31,7 +43,72 @@ public class BankAccountStatementRetriever implements BankAccountStatementPort {
         }
 
         return operations.stream()
-                .map(AccountOperationEntity::toAccountOperation)
+                .map(AccountOperationView::toAccountOperation)
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        var startDate = dateOfIssue.minusDays(31);
+        // one row past the page tells whether there is a next one, without a count query
+        var limit = PageRequest.of(0, pageSize + 1);
+        var operations = cursor == null
+                ? bankAccountRepository.findFirstOperationsPage(accountId, startDate, dateOfIssue, limit)
+                : bankAccountRepository.findOperationsPageAfter(accountId, startDate, cursor.getOperationDateTime(), cursor.getOperationId(), limit);
+
+        var accountOperations = operations.stream()
+                .limit(pageSize)
+                .map(AccountOperationView::toAccountOperation)
+                .toList();
+        return AccountOperationPage.builder()
+                .withAccountOperations(accountOperations)
+                .withNextCursor(operations.size() > pageSize ? AccountOperationCursor.after(accountOperations.get(pageSize - 1)) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        // projected rows are not entities: the persistence context holds none of them, however long the export
+        try (var operations = bankAccountRepository.streamOperationsByAccountId(accountId, startDate, endDate)) {
+            operations.map(AccountOperationView::toAccountOperation).forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal retrieveBalanceAt(UUID accountId, LocalDateTime dateTime) {
+        return balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, BalanceSnapshots.snapshotDateBefore(dateTime))
+                .map(snapshot -> BalanceSnapshots.fromSnapshot(snapshot.getClosingBalance(),
+                        bankAccountRepository.sumOperationAmountsBetween(accountId, BalanceSnapshots.replayStart(snapshot.getSnapshotDate()), dateTime)))
+                .orElseGet(() -> rewindCurrentBalance(accountId, dateTime));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatementSummary retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        var summary = StatementSummary.builder()
+                .withBalanceAtIssueDate(retrieveBalanceAt(accountId, dateOfIssue));
+        var netAmount = BigDecimal.ZERO;
+        for (var total : bankAccountRepository.sumOperationAmountsByType(accountId, dateOfIssue.minusDays(31), dateOfIssue)) {
+            switch (total.operationType()) {
+                case DEPOSIT -> summary.withDepositTotal(total.total()).withDepositCount(total.count());
+                // stored negative, reported as the amount withdrawn
+                case WITHDRAWAL -> summary.withWithdrawalTotal(total.total().negate()).withWithdrawalCount(total.count());
+                default -> {
+                }
+            }
+            netAmount = netAmount.add(total.total());
+        }
+        return summary.withNetAmount(netAmount).build();
+    }
+
+    private BigDecimal rewindCurrentBalance(UUID accountId, LocalDateTime dateTime) {
+        var currentBalance = bankAccountRepository.findBalanceById(accountId);
+        if (currentBalance == null) {
+            throw new AccountOperationsException("No bank account found with ID: " + accountId + ".");
+        }
+        return BalanceSnapshots.rewind(currentBalance, bankAccountRepository.sumOperationAmountsAfter(accountId, dateTime));
+    }
 }
@@ -0,0 +1,66 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+
+// keyed operations bypass the coalescer: applyBatch does not record idempotency keys
+public class CoalescingBankAccountOperationPort implements BankAccountOperationPort {
+    private final BankAccountOperationPort delegate;
+    private final OperationCoalescer operationCoalescer;
+
+    public CoalescingBankAccountOperationPort(BankAccountOperationPort delegate, OperationCoalescer operationCoalescer) {
+        this.delegate = delegate;
+        this.operationCoalescer = operationCoalescer;
+    }
+
+    @Override
+    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return delegate.withdrawal(accountId, amount, idempotencyKey);
+        }
+        return submit(accountId, amount, OperationType.WITHDRAWAL);
+    }
+
+    @Override
+    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return delegate.deposit(accountId, amount, idempotencyKey);
+        }
+        return submit(accountId, amount, OperationType.DEPOSIT);
+    }
+
+    @Override
+    public List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands) {
+        return delegate.applyBatch(commands);
+    }
+
+    // a batch reports as failures what a single operation throws, callers keep seeing the single-operation contract
+    private BankAccountOperationResult submit(UUID accountId, BigDecimal amount, OperationType operationType) {
+        var result = operationCoalescer.submit(BankAccountOperationCommand.builder()
+                .withAccountId(accountId)
+                .withOperationType(operationType)
+                .withAmount(amount)
+                .build());
+        if (result instanceof BankAccountOperationResult.Failure failure) {
+            var message = failure.getOperationMessage();
+            if (ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE.equals(message)) {
+                throw new BankAccountNotFoundException(message);
+            }
+            if (!INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE.equals(message)) {
+                throw new BankOperationsException(message);
+            }
+        }
+        return result;
+    }
+}
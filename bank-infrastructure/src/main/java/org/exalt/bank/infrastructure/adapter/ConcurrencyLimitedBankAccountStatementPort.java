@@ -0,0 +1,51 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.domain.port.out.BankAccountStatementPort;
+import org.exalt.bank.infrastructure.configuration.DatabaseConcurrencyLimiter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// wraps the retriever from the outside so the permit is taken before its transaction grabs a connection
+public class ConcurrencyLimitedBankAccountStatementPort implements BankAccountStatementPort {
+    private final BankAccountStatementPort delegate;
+    private final DatabaseConcurrencyLimiter databaseConcurrencyLimiter;
+
+    public ConcurrencyLimitedBankAccountStatementPort(BankAccountStatementPort delegate, DatabaseConcurrencyLimiter databaseConcurrencyLimiter) {
+        this.delegate = delegate;
+        this.databaseConcurrencyLimiter = databaseConcurrencyLimiter;
+    }
+
+    @Override
+    public List<AccountOperation> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
+        return databaseConcurrencyLimiter.execute(() -> delegate.retrieveAccountOperations(accountId, dateOfIssue));
+    }
+
+    @Override
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        return databaseConcurrencyLimiter.execute(() -> delegate.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, pageSize));
+    }
+
+    @Override
+    public void streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        // an export keeps its connection, and so its permit, until the last row is written
+        databaseConcurrencyLimiter.run(() -> delegate.streamAccountOperations(accountId, startDate, endDate, consumer));
+    }
+
+    @Override
+    public BigDecimal retrieveBalanceAt(UUID accountId, LocalDateTime dateTime) {
+        return databaseConcurrencyLimiter.execute(() -> delegate.retrieveBalanceAt(accountId, dateTime));
+    }
+
+    @Override
+    public StatementSummary retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        return databaseConcurrencyLimiter.execute(() -> delegate.retrieveStatementSummary(accountId, dateOfIssue));
+    }
+}
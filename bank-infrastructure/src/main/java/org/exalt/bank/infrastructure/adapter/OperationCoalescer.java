@@ -0,0 +1,178 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// a hot account's deposits all update the same row; queued for a few milliseconds, they go through applyBatch
+// instead: one locked read, one net balance update and one batched insert for the whole queue
+public final class OperationCoalescer implements AutoCloseable {
+    private final BankAccountOperationPort delegate;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher;
+    private final DistributionSummary batchSizes;
+    private final ConcurrentHashMap<UUID, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    private OperationCoalescer(Builder builder) {
+        if (builder.maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        if (builder.flushThreads < 1) {
+            throw new IllegalArgumentException("flushThreads must be at least 1");
+        }
+        delegate = Objects.requireNonNull(builder.delegate, "delegate");
+        window = builder.window;
+        maxBatchSize = builder.maxBatchSize;
+        var threadIndex = new AtomicInteger();
+        flusher = Executors.newScheduledThreadPool(builder.flushThreads, runnable -> {
+            var thread = new Thread(runnable, "operation-coalescer-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchSizes = DistributionSummary.builder("bank.operations.coalesced.batch_size")
+                .register(builder.meterRegistry);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public BankAccountOperationResult submit(BankAccountOperationCommand command) {
+        var operation = new PendingOperation(command, new CompletableFuture<>());
+        while (!queues.computeIfAbsent(command.getAccountId(), AccountQueue::new).offer(operation)) {
+            // the queue was retired between the lookup and the offer; the next lookup creates a fresh one
+            Thread.onSpinWait();
+        }
+        try {
+            return operation.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private record PendingOperation(BankAccountOperationCommand command, CompletableFuture<BankAccountOperationResult> result) {}
+
+    // at most one flush per account is scheduled or running at a time, so an account's batches are applied in
+    // submission order; an idle queue retires itself so the map only holds accounts with work in flight
+    private final class AccountQueue {
+        private final UUID accountId;
+        private List<PendingOperation> pending = new ArrayList<>();
+        private boolean flushScheduled;
+        private boolean retired;
+
+        private AccountQueue(UUID accountId) {
+            this.accountId = accountId;
+        }
+
+        synchronized boolean offer(PendingOperation operation) {
+            if (retired) {
+                return false;
+            }
+            pending.add(operation);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        private void flush() {
+            var batch = takeBatch();
+            batchSizes.record(batch.size());
+            try {
+                var results = delegate.applyBatch(batch.stream().map(PendingOperation::command).toList());
+                for (int index = 0; index < batch.size(); index++) {
+                    batch.get(index).result().complete(results.get(index));
+                }
+            } catch (RuntimeException e) {
+                batch.forEach(operation -> operation.result().completeExceptionally(e));
+            }
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    flushScheduled = false;
+                    retired = true;
+                    queues.remove(accountId, this);
+                } else {
+                    // whatever arrived meanwhile has already waited for this batch, it goes without a new window
+                    flusher.execute(this::flush);
+                }
+            }
+        }
+
+        private synchronized List<PendingOperation> takeBatch() {
+            if (pending.size() <= maxBatchSize) {
+                var batch = pending;
+                pending = new ArrayList<>();
+                return batch;
+            }
+            var batch = new ArrayList<>(pending.subList(0, maxBatchSize));
+            pending = new ArrayList<>(pending.subList(maxBatchSize, pending.size()));
+            return batch;
+        }
+    }
+
+    public static final class Builder {
+        private BankAccountOperationPort delegate;
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 500;
+        private int flushThreads = 4;
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private Builder() {}
+
+        public Builder withDelegate(BankAccountOperationPort delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        public Builder withWindow(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        public Builder withMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder withFlushThreads(int flushThreads) {
+            this.flushThreads = flushThreads;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public OperationCoalescer build() {
+            return new OperationCoalescer(this);
+        }
+    }
+}
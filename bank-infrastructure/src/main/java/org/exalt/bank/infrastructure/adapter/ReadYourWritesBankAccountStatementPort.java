@@ -0,0 +1,59 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.domain.port.out.BankAccountStatementPort;
+import org.exalt.bank.infrastructure.configuration.ReadReplicaRoutingDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// wraps the retriever from the outside so the primary is chosen before its read-only transaction takes a connection
+public class ReadYourWritesBankAccountStatementPort implements BankAccountStatementPort {
+    private final BankAccountStatementPort delegate;
+    private final RecentAccountWrites recentAccountWrites;
+
+    public ReadYourWritesBankAccountStatementPort(BankAccountStatementPort delegate, RecentAccountWrites recentAccountWrites) {
+        this.delegate = delegate;
+        this.recentAccountWrites = recentAccountWrites;
+    }
+
+    @Override
+    public List<AccountOperation> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
+        return read(accountId, () -> delegate.retrieveAccountOperations(accountId, dateOfIssue));
+    }
+
+    @Override
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        return read(accountId, () -> delegate.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, pageSize));
+    }
+
+    @Override
+    public void streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        if (recentAccountWrites.isRecent(accountId)) {
+            ReadReplicaRoutingDataSource.runOnPrimary(() -> delegate.streamAccountOperations(accountId, startDate, endDate, consumer));
+        } else {
+            delegate.streamAccountOperations(accountId, startDate, endDate, consumer);
+        }
+    }
+
+    @Override
+    public BigDecimal retrieveBalanceAt(UUID accountId, LocalDateTime dateTime) {
+        return read(accountId, () -> delegate.retrieveBalanceAt(accountId, dateTime));
+    }
+
+    @Override
+    public StatementSummary retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        return read(accountId, () -> delegate.retrieveStatementSummary(accountId, dateOfIssue));
+    }
+
+    private <T> T read(UUID accountId, Supplier<T> read) {
+        return recentAccountWrites.isRecent(accountId) ? ReadReplicaRoutingDataSource.onPrimary(read) : read.get();
+    }
+}
@@ -0,0 +1,52 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// the accounts this instance has written within the window, which should cover the replication lag; writes made by
+// other instances are not seen, so their reads of those accounts may still lag
+public class RecentAccountWrites {
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, Long> writtenAt = new ConcurrentHashMap<>();
+
+    public RecentAccountWrites(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    RecentAccountWrites(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @EventListener
+    public void onAccountOperationsRecorded(AccountOperationsRecordedEvent event) {
+        if (windowNanos == 0) {
+            return;
+        }
+        var now = nanoClock.getAsLong();
+        event.getAccountIds().forEach(accountId -> writtenAt.put(accountId, now));
+        if (writtenAt.size() > PURGE_THRESHOLD) {
+            writtenAt.values().removeIf(at -> now - at >= windowNanos);
+        }
+    }
+
+    public boolean isRecent(UUID accountId) {
+        var at = writtenAt.get(accountId);
+        if (at == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - at >= windowNanos) {
+            writtenAt.remove(accountId, at);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package org.exalt.bank.infrastructure.cache;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public class CachingBankAccountStatementUseCase implements BankAccountStatementUseCase {
+    private final BankAccountStatementUseCase delegate;
+    private final StatementCache statementCache;
+
+    public CachingBankAccountStatementUseCase(BankAccountStatementUseCase delegate, StatementCache statementCache) {
+        this.delegate = delegate;
+        this.statementCache = statementCache;
+    }
+
+    @Override
+    public Optional<BankAccountStatement> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
+        var cached = statementCache.get(accountId, dateOfIssue);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        var generation = statementCache.generation(accountId);
+        var statement = delegate.retrieveAccountOperations(accountId, dateOfIssue);
+        statement.ifPresent(loaded -> statementCache.put(accountId, dateOfIssue, loaded, generation));
+        return statement;
+    }
+
+    @Override
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        return delegate.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, pageSize);
+    }
+
+    @Override
+    public void exportAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        delegate.exportAccountOperations(accountId, startDate, endDate, consumer);
+    }
+
+    // a handful of aggregates the database answers from the index range, not worth a cache entry
+    @Override
+    public Optional<StatementSummary> retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        return delegate.retrieveStatementSummary(accountId, dateOfIssue);
+    }
+}
@@ -0,0 +1,188 @@
+package org.exalt.bank.infrastructure.cache;
+
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.infrastructure.adapter.AccountOperationsRecordedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+public class StatementCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    // access ordered, so the eldest entry is the least recently read one
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, Set<Key>> keysByAccount = new HashMap<>();
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public StatementCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    StatementCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized Optional<BankAccountStatement> get(UUID accountId, LocalDateTime dateOfIssue) {
+        var key = new Key(accountId, dateOfIssue);
+        var entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return Optional.empty();
+        }
+        if (nanoClock.getAsLong() - entry.storedAt >= ttlNanos) {
+            remove(key);
+            expirations++;
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        return Optional.of(entry.statement);
+    }
+
+    // read before loading and handed back to put(): a write committed in between makes the loaded statement stale
+    public synchronized long generation(UUID accountId) {
+        return generations[stripe(accountId)];
+    }
+
+    public synchronized void put(UUID accountId, LocalDateTime dateOfIssue, BankAccountStatement statement, long generation) {
+        if (generations[stripe(accountId)] != generation) {
+            return;
+        }
+        var key = new Key(accountId, dateOfIssue);
+        entries.put(key, new Entry(statement, nanoClock.getAsLong()));
+        keysByAccount.computeIfAbsent(accountId, id -> new HashSet<>()).add(key);
+        while (entries.size() > maxEntries) {
+            remove(entries.keySet().iterator().next());
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(Collection<UUID> accountIds) {
+        for (var accountId : accountIds) {
+            generations[stripe(accountId)]++;
+            var keys = keysByAccount.remove(accountId);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+                invalidations += keys.size();
+            }
+        }
+    }
+
+    @EventListener
+    public void onAccountOperationsRecorded(AccountOperationsRecordedEvent event) {
+        invalidate(event.getAccountIds());
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, expirations, invalidations, entries.size());
+    }
+
+    private void remove(Key key) {
+        entries.remove(key);
+        var keys = keysByAccount.get(key.accountId);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByAccount.remove(key.accountId);
+        }
+    }
+
+    private static int stripe(UUID accountId) {
+        return accountId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private record Key(UUID accountId, LocalDateTime dateOfIssue) {
+    }
+
+    private record Entry(BankAccountStatement statement, long storedAt) {
+    }
+
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long invalidations;
+        private final int size;
+
+        private Stats(long hits, long misses, long evictions, long expirations, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Stats that)) return false;
+            return hits == that.hits && misses == that.misses && evictions == that.evictions && expirations == that.expirations
+                    && invalidations == that.invalidations && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hits, misses, evictions, expirations, invalidations, size);
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", expirations=" + expirations +
+                    ", invalidations=" + invalidations +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+}
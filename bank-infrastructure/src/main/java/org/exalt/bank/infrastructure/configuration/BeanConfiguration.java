@@ -1,24 +1,291 @@
 package org.exalt.bank.infrastructure.configuration;
 
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
 import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
 import org.exalt.bank.domain.port.out.BankAccountOperationPort;
 import org.exalt.bank.domain.port.out.BankAccountStatementPort;
 import org.exalt.bank.domain.usecases.BankAccountService;
 import org.exalt.bank.domain.usecases.BankAccountStatementService;
+import org.exalt.bank.infrastructure.adapter.AccountOperationsRecordedEvent;
+import org.exalt.bank.infrastructure.adapter.BalanceSnapshotRecorder;
+import org.exalt.bank.infrastructure.adapter.CoalescingBankAccountOperationPort;
+import org.exalt.bank.infrastructure.adapter.ConcurrencyLimitedBankAccountStatementPort;
+import org.exalt.bank.infrastructure.adapter.OperationCoalescer;
+import org.exalt.bank.infrastructure.adapter.ReadYourWritesBankAccountStatementPort;
+import org.exalt.bank.infrastructure.adapter.RecentAccountWrites;
+import org.exalt.bank.infrastructure.cache.CachingBankAccountStatementUseCase;
+import org.exalt.bank.infrastructure.cache.StatementCache;
+import org.exalt.bank.infrastructure.idempotency.IdempotencyStore;
+import org.exalt.bank.infrastructure.ledger.InMemoryLedgerOperationService;
+import org.exalt.bank.infrastructure.ledger.LedgerEntry;
+import org.exalt.bank.infrastructure.ledger.LedgerJournal;
+import org.exalt.bank.infrastructure.ledger.MappedLedgerJournal;
+import org.exalt.bank.infrastructure.ledger.WriteBehindLedgerJournal;
+import org.exalt.bank.infrastructure.metrics.OperationMetrics;
+import org.exalt.bank.infrastructure.metrics.StatementCacheMetrics;
+import org.exalt.bank.infrastructure.metrics.TimedBankAccountOperationUseCase;
+import org.exalt.bank.infrastructure.metrics.TimedBankAccountStatementUseCase;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.exalt.bank.infrastructure.repositories.IdempotencyRecordRepository;
+import org.exalt.bank.infrastructure.statement.MonthEndStatementJob;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 public class BeanConfiguration {
 
     @Bean
-    public BankAccountOperationUseCase bankAccountOperationUseCase(BankAccountOperationPort bankAccountOperationPort) {
-        return new BankAccountService(bankAccountOperationPort);
+    public BankAccountOperationUseCase bankAccountOperationUseCase(BankAccountOperationPort bankAccountOperationPort,
+                                                                   ObjectProvider<OperationCoalescer> operationCoalescer,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        var coalescer = operationCoalescer.getIfAvailable();
+        if (coalescer != null) {
+            bankAccountOperationPort = new CoalescingBankAccountOperationPort(bankAccountOperationPort, coalescer);
+        }
+        return new TimedBankAccountOperationUseCase(new BankAccountService(bankAccountOperationPort), meterRegistryOrGlobal(meterRegistry));
+    }
+
+    // opt-in: every unkeyed deposit and withdrawal waits for the window, which only pays off on accounts hot enough
+    // to queue several operations in it; the in-memory engine has no row contention to remove
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("${bank.operations.coalescing.enabled:false} and '${bank.operations.engine:jpa}' == 'jpa'")
+    public OperationCoalescer operationCoalescer(BankAccountOperationPort bankAccountOperationPort,
+                                                 @Value("${bank.operations.coalescing.window:2ms}") Duration window,
+                                                 @Value("${bank.operations.coalescing.max-batch-size:500}") int maxBatchSize,
+                                                 @Value("${bank.operations.coalescing.flush-threads:4}") int flushThreads,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return OperationCoalescer.builder()
+                .withDelegate(bankAccountOperationPort)
+                .withWindow(window)
+                .withMaxBatchSize(maxBatchSize)
+                .withFlushThreads(flushThreads)
+                .withMeterRegistry(meterRegistryOrGlobal(meterRegistry))
+                .build();
+    }
+
+    @Bean
+    public BankAccountStatementUseCase bankAccountStatementUseCase(BankAccountStatementPort bankAccountStatementPort,
+                                                                   DatabaseConcurrencyLimiter databaseConcurrencyLimiter,
+                                                                   ObjectProvider<RecentAccountWrites> recentAccountWrites,
+                                                                   ObjectProvider<StatementCache> statementCache,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        var writes = recentAccountWrites.getIfAvailable();
+        if (writes != null) {
+            bankAccountStatementPort = new ReadYourWritesBankAccountStatementPort(bankAccountStatementPort, writes);
+        }
+        BankAccountStatementUseCase bankAccountStatementUseCase = new BankAccountStatementService(
+                new ConcurrencyLimitedBankAccountStatementPort(bankAccountStatementPort, databaseConcurrencyLimiter));
+        var cache = statementCache.getIfAvailable();
+        if (cache != null) {
+            bankAccountStatementUseCase = new CachingBankAccountStatementUseCase(bankAccountStatementUseCase, cache);
+        }
+        return new TimedBankAccountStatementUseCase(bankAccountStatementUseCase, meterRegistryOrGlobal(meterRegistry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.statement.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public StatementCache statementCache(@Value("${bank.statement.cache.max-entries:10000}") int maxEntries,
+                                         @Value("${bank.statement.cache.ttl:30s}") Duration ttl) {
+        return new StatementCache(maxEntries, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.statement.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public StatementCacheMetrics statementCacheMetrics(StatementCache statementCache) {
+        return new StatementCacheMetrics(statementCache);
     }
 
     @Bean
-    public BankAccountStatementUseCase bankAccountStatementUseCase(BankAccountStatementPort bankAccountStatementPort) {
-        return new BankAccountStatementService(bankAccountStatementPort);
+    public IdempotencyStore idempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                                             @Value("${bank.idempotency.cache.max-entries:100000}") int maxEntries) {
+        return new IdempotencyStore(idempotencyRecordRepository, maxEntries);
+    }
+
+    @Bean
+    public RetryPolicy operationRetryPolicy(@Value("${bank.operations.retry.max-attempts:5}") int maxAttempts,
+                                            @Value("${bank.operations.retry.initial-backoff:5ms}") Duration initialBackoff,
+                                            @Value("${bank.operations.retry.multiplier:2.0}") double multiplier,
+                                            @Value("${bank.operations.retry.max-backoff:200ms}") Duration maxBackoff,
+                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return RetryPolicy.builder()
+                .withMaxAttempts(maxAttempts)
+                .withInitialBackoff(initialBackoff)
+                .withMultiplier(multiplier)
+                .withMaxBackoff(maxBackoff)
+                .withMeterRegistry(meterRegistryOrGlobal(meterRegistry))
+                .build();
+    }
+
+    // with virtual threads nothing bounds request concurrency any more, so this keeps requests queued in order
+    // below the pool size instead of timing out inside Hikari; 0 disables it
+    @Bean
+    public DatabaseConcurrencyLimiter databaseConcurrencyLimiter(@Value("${bank.db.concurrency.max-in-flight:0}") int maxInFlight,
+                                                                 @Value("${bank.db.concurrency.acquire-timeout:1s}") Duration acquireTimeout,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return DatabaseConcurrencyLimiter.builder()
+                .withMaxInFlight(maxInFlight)
+                .withAcquireTimeout(acquireTimeout)
+                .withMeterRegistry(meterRegistryOrGlobal(meterRegistry))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bank.operations.engine", havingValue = "in-memory")
+    public WriteBehindLedgerJournal writeBehindLedgerJournal(BankAccountRepository bankAccountRepository,
+                                                             AccountOperationRepository accountOperationRepository,
+                                                             TransactionTemplate transactionTemplate,
+                                                             BalanceSnapshotRecorder balanceSnapshotRecorder,
+                                                             @Value("${bank.ledger.journal.capacity:65536}") int capacity,
+                                                             @Value("${bank.ledger.journal.batch-size:500}") int batchSize,
+                                                             @Value("${bank.ledger.journal.flush-interval:50ms}") Duration flushInterval,
+                                                             @Value("${bank.ledger.journal.max-flush-attempts:3}") int maxFlushAttempts,
+                                                             @Value("${bank.ledger.journal.dead-letter-file:./ledger-dead-letters.csv}") Path deadLetterFile,
+                                                             ApplicationEventPublisher eventPublisher,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        var journal = WriteBehindLedgerJournal.builder()
+                .withBankAccountRepository(bankAccountRepository)
+                .withAccountOperationRepository(accountOperationRepository)
+                .withTransactionTemplate(transactionTemplate)
+                .withBalanceSnapshotRecorder(balanceSnapshotRecorder)
+                .withCapacity(capacity)
+                .withBatchSize(batchSize)
+                .withFlushInterval(flushInterval)
+                .withMaxFlushAttempts(maxFlushAttempts)
+                .withDeadLetterFile(deadLetterFile)
+                .withMeterRegistry(meterRegistryOrGlobal(meterRegistry))
+                .build();
+        // statements read the database, so they only change once a flush has committed
+        journal.addFlushListener(entries -> eventPublisher.publishEvent(new AccountOperationsRecordedEvent(
+                entries.stream().map(LedgerEntry::getAccountId).collect(Collectors.toSet()))));
+        return journal;
+    }
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    @ConditionalOnExpression("'${bank.operations.engine:jpa}' == 'in-memory' and '${bank.ledger.journal.type:write-behind}' == 'mapped'")
+    public MappedLedgerJournal mappedLedgerJournal(WriteBehindLedgerJournal writeBehindLedgerJournal,
+                                                   @Value("${bank.ledger.journal.directory:./ledger-journal}") Path directory,
+                                                   @Value("${bank.ledger.journal.segment-size:67108864}") int segmentSize,
+                                                   @Value("${bank.ledger.journal.group-commit-interval:2ms}") Duration groupCommitInterval,
+                                                   @Value("${bank.ledger.journal.recovery-timeout:5m}") Duration recoveryTimeout) throws InterruptedException {
+        var journal = new MappedLedgerJournal(directory, segmentSize, groupCommitInterval, writeBehindLedgerJournal);
+        writeBehindLedgerJournal.addFlushListener(journal::markPersisted);
+        journal.recover(recoveryTimeout);
+        return journal;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bank.operations.engine", havingValue = "in-memory")
+    public InMemoryLedgerOperationService inMemoryLedgerOperationService(BankAccountRepository bankAccountRepository,
+                                                                         LedgerJournal ledgerJournal,
+                                                                         OperationMetrics operationMetrics,
+                                                                         IdempotencyStore idempotencyStore,
+                                                                         @Value("${bank.ledger.shards:8}") int shardCount) {
+        return new InMemoryLedgerOperationService(bankAccountRepository, ledgerJournal, operationMetrics, idempotencyStore, shardCount);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.statements.month-end.month")
+    public MonthEndStatementJob monthEndStatementJob(BankAccountRepository bankAccountRepository,
+                                                     PlatformTransactionManager transactionManager,
+                                                     @Value("${bank.statements.month-end.directory:./statements}") Path directory,
+                                                     @Value("${bank.statements.month-end.partition-size:1000}") int partitionSize,
+                                                     @Value("${bank.statements.month-end.parallelism:4}") int parallelism,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        var readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        return MonthEndStatementJob.builder()
+                .withBankAccountRepository(bankAccountRepository)
+                .withReadOnlyTransactionTemplate(readOnlyTransactionTemplate)
+                .withOutputDirectory(directory)
+                .withPartitionSize(partitionSize)
+                .withParallelism(parallelism)
+                .withMeterRegistry(meterRegistryOrGlobal(meterRegistry))
+                .build();
+    }
+
+    // runs once the context is up; a failed run leaves its checkpoint behind and the next start resumes from it
+    @Bean
+    @ConditionalOnProperty(name = "bank.statements.month-end.month")
+    public ApplicationRunner monthEndStatementRunner(MonthEndStatementJob monthEndStatementJob,
+                                                     @Value("${bank.statements.month-end.month}") String month) {
+        return args -> monthEndStatementJob.run(YearMonth.parse(month));
+    }
+
+    // the beans below replace the auto-configured data source when replicas are set: the primary is built, and bound to
+    // spring.datasource.hikari.*, as Spring Boot would build it
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "bank.datasource.replica.urls")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bank.datasource.replica.urls")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     DataSourceProperties dataSourceProperties,
+                                                                     @Value("${bank.datasource.replica.urls}") List<String> replicaUrls,
+                                                                     @Value("${bank.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        List<DataSource> replicas = replicaUrls.stream()
+                .<DataSource>map(url -> replicaDataSource(dataSourceProperties, url, maximumPoolSize))
+                .toList();
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    // the data source JPA uses: the connection is only taken, and routed, once the transaction has declared itself read-only
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "bank.datasource.replica.urls")
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.datasource.replica.urls")
+    public RecentAccountWrites recentAccountWrites(@Value("${bank.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        return new RecentAccountWrites(stickyWindow);
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties, String url, int maximumPoolSize) {
+        var replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(url)
+                .username(dataSourceProperties.determineUsername())
+                .password(dataSourceProperties.determinePassword())
+                .build();
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    // the actuator registry when it is on the classpath, otherwise the global registry, which then records nothing
+    private static MeterRegistry meterRegistryOrGlobal(ObjectProvider<MeterRegistry> meterRegistry) {
+        return meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
     }
 }
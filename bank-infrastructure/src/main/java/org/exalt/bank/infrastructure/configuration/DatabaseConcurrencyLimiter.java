@@ -0,0 +1,117 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public final class DatabaseConcurrencyLimiter {
+    public static final String DATABASE_SATURATED_EXCEPTION_MESSAGE = "The database is saturated, the operation was not attempted";
+
+    private final int maxInFlight;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    private DatabaseConcurrencyLimiter(Builder builder) {
+        if (builder.maxInFlight < 0) {
+            throw new IllegalArgumentException("maxInFlight must not be negative");
+        }
+        maxInFlight = builder.maxInFlight;
+        acquireTimeout = builder.acquireTimeout;
+        // fair, so a burst of virtual threads is served in arrival order instead of starving the oldest waiters
+        permits = maxInFlight == 0 ? null : new Semaphore(maxInFlight, true);
+        rejected = builder.meterRegistry.counter("bank.db.limiter.rejected");
+        if (permits != null) {
+            Gauge.builder("bank.db.limiter.in_flight", permits, semaphore -> maxInFlight - semaphore.availablePermits())
+                    .register(builder.meterRegistry);
+            Gauge.builder("bank.db.limiter.waiting", permits, Semaphore::getQueueLength)
+                    .register(builder.meterRegistry);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        if (permits == null) {
+            return action.get();
+        }
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new BankOperationsException(DATABASE_SATURATED_EXCEPTION_MESSAGE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankOperationsException(DATABASE_SATURATED_EXCEPTION_MESSAGE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseConcurrencyLimiter{" +
+                "maxInFlight=" + maxInFlight +
+                ", acquireTimeout=" + acquireTimeout +
+                '}';
+    }
+
+    public static final class Builder {
+        private int maxInFlight;
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private Builder() {}
+
+        // 0 leaves concurrency to the connection pool alone
+        public Builder withMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder withAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public DatabaseConcurrencyLimiter build() {
+            return new DatabaseConcurrencyLimiter(this);
+        }
+    }
+}
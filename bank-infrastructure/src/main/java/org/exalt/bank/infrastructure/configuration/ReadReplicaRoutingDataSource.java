@@ -0,0 +1,85 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends the connections of read-only transactions to the replicas, in turn, and every other connection to the primary.
+ * The read-only flag is only set once the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which takes the connection on the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    private final List<DataSource> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        for (int index = 0; index < replicas.size(); index++) {
+            targets.put(index, replicas.get(index));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // for reads that must see what this instance has just written, whatever their transaction declares
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (PINNED_TO_PRIMARY.get()) {
+            return read.get();
+        }
+        PINNED_TO_PRIMARY.set(true);
+        try {
+            return read.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    public static void runOnPrimary(Runnable read) {
+        onPrimary(() -> {
+            read.run();
+            return null;
+        });
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    // the replicas are not beans, so nothing else closes their pools
+    @Override
+    public void close() {
+        for (var replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close a replica data source", e);
+                }
+            }
+        }
+    }
+}
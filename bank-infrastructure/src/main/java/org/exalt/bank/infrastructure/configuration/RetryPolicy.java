@@ -0,0 +1,139 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.TransientDataAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public final class RetryPolicy {
+    public static final String RETRIES_EXHAUSTED_EXCEPTION_MESSAGE = "Operation aborted after repeated concurrent update conflicts";
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final double multiplier;
+    private final Duration maxBackoff;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    private RetryPolicy(Builder builder) {
+        if (builder.maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        maxAttempts = builder.maxAttempts;
+        initialBackoff = builder.initialBackoff;
+        multiplier = builder.multiplier;
+        maxBackoff = builder.maxBackoff;
+        retries = builder.meterRegistry.counter("bank.operations.retries");
+        exhausted = builder.meterRegistry.counter("bank.operations.retries.exhausted");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        var backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    LOGGER.warn("Giving up after {} attempts: {}", attempt, e.getMessage());
+                    throw new BankOperationsException(RETRIES_EXHAUSTED_EXCEPTION_MESSAGE);
+                }
+                retries.increment();
+                LOGGER.debug("Attempt {} hit a transient conflict, retrying in ~{} ms", attempt, backoffMillis);
+                pause(backoffMillis);
+                backoffMillis = Math.min((long) (backoffMillis * multiplier), maxBackoff.toMillis());
+            }
+        }
+    }
+
+    private static void pause(long backoffMillis) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        // full jitter keeps retrying writers of the same hot row from waking up in lockstep
+        var jittered = ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(jittered);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankOperationsException(RETRIES_EXHAUSTED_EXCEPTION_MESSAGE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "maxAttempts=" + maxAttempts +
+                ", initialBackoff=" + initialBackoff +
+                ", multiplier=" + multiplier +
+                ", maxBackoff=" + maxBackoff +
+                '}';
+    }
+
+    public static final class Builder {
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofMillis(5);
+        private double multiplier = 2.0;
+        private Duration maxBackoff = Duration.ofMillis(200);
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private Builder() {}
+
+        public Builder withMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder withInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder withMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        public Builder withMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -2,29 +2,42 @@ package org.exalt.bank.infrastructure.entities;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.exalt.bank.domain.model.AccountOperation;
 import org.exalt.bank.infrastructure.enums.OperationType;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_account_operation_statement", columnList = "bank_account_account_id, operation_date_time DESC, operation_id"))
 @NoArgsConstructor
 @AllArgsConstructor
-public class AccountOperationEntity {
+@Getter
+@Setter
+public class AccountOperationEntity implements Persistable<UUID> {
+    // column names are spelled out so the index definition above refers to the exact physical names;
+    // ids come from TimeOrderedUuid, so inserts append to the BINARY(16) primary key instead of splitting its pages
     @Id
+    @Column(name = "operation_id")
     private UUID operationId;
+    @Column(name = "operation_date_time")
     private LocalDateTime operationDateTime;
     private BigDecimal amount;
     @Enumerated(EnumType.STRING)
     private OperationType operationType;
     private String accountType;
     @ManyToOne
+    @JoinColumn(name = "bank_account_account_id")
     private BankAccountEntity bankAccount;
+    // ids are assigned up front, so without this flag every save() would be a merge preceded by a SELECT
+    @Transient
+    private transient boolean persisted;
 
     private AccountOperationEntity(Builder builder) {
         setOperationId(builder.operationId);
@@ -39,6 +52,22 @@ public class AccountOperationEntity {
         return new Builder();
     }
 
+    @Override
+    public UUID getId() {
+        return operationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     public AccountOperation toAccountOperation() {
         return AccountOperation.builder()
                 .withOperationId(this.operationId)
@@ -49,6 +78,31 @@ public class AccountOperationEntity {
                 .build();
     }
 
+    // identity only, and the account is referred to by its id: comparing or logging an operation must not load it
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountOperationEntity that)) return false;
+        return getOperationId() != null && getOperationId().equals(that.getOperationId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getOperationId());
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOperationEntity{" +
+                "operationId=" + operationId +
+                ", operationDateTime=" + operationDateTime +
+                ", amount=" + amount +
+                ", operationType=" + operationType +
+                ", accountType='" + accountType + '\'' +
+                ", bankAccountId=" + (bankAccount == null ? null : bankAccount.getAccountId()) +
+                '}';
+    }
+
     public static final class Builder {
         private UUID operationId;
         private LocalDateTime operationDateTime;
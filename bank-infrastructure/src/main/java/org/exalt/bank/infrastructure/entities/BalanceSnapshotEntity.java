@@ -0,0 +1,109 @@
+package org.exalt.bank.infrastructure.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@IdClass(BalanceSnapshotEntity.Key.class)
+@NoArgsConstructor
+@Getter
+@Setter
+public class BalanceSnapshotEntity {
+    @Id
+    private UUID accountId;
+    @Id
+    private LocalDate snapshotDate;
+    private BigDecimal closingBalance;
+
+    private BalanceSnapshotEntity(Builder builder) {
+        setAccountId(builder.accountId);
+        setSnapshotDate(builder.snapshotDate);
+        setClosingBalance(builder.closingBalance);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BalanceSnapshotEntity that)) return false;
+        return Objects.equals(accountId, that.accountId) && Objects.equals(snapshotDate, that.snapshotDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, snapshotDate);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceSnapshotEntity{" +
+                "accountId=" + accountId +
+                ", snapshotDate=" + snapshotDate +
+                ", closingBalance=" + closingBalance +
+                '}';
+    }
+
+    public static class Key implements Serializable {
+        private UUID accountId;
+        private LocalDate snapshotDate;
+
+        public Key() {}
+
+        public Key(UUID accountId, LocalDate snapshotDate) {
+            this.accountId = accountId;
+            this.snapshotDate = snapshotDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(accountId, key.accountId) && Objects.equals(snapshotDate, key.snapshotDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, snapshotDate);
+        }
+    }
+
+    public static final class Builder {
+        private UUID accountId;
+        private LocalDate snapshotDate;
+        private BigDecimal closingBalance;
+
+        private Builder() {}
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withSnapshotDate(LocalDate snapshotDate) {
+            this.snapshotDate = snapshotDate;
+            return this;
+        }
+
+        public Builder withClosingBalance(BigDecimal closingBalance) {
+            this.closingBalance = closingBalance;
+            return this;
+        }
+
+        public BalanceSnapshotEntity build() {
+            return new BalanceSnapshotEntity(this);
+        }
+    }
+}
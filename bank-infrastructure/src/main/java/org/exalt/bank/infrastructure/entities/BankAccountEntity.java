@@ -13,8 +13,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+// one row per account whatever its type: loading an account for a deposit or a withdrawal is a single primary key
+// lookup, the limits of the other type are left null
 @Entity
-@Inheritance(strategy = InheritanceType.JOINED)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "account_type", length = 16)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -26,19 +29,28 @@ public abstract class BankAccountEntity {
     @Enumerated(EnumType.STRING)
     private AccountStatus status;
     private LocalDate createdAt;
+    // NOT NULL: the guarded native updates bump it without Hibernate, db/migration/account-version.sql adds it
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    // the discriminator, so queries can return the account type without loading the account; Hibernate writes it
+    @Column(name = "account_type", insertable = false, updatable = false)
+    private String accountType;
     @OneToMany(mappedBy = "bankAccount", fetch = FetchType.LAZY)
     private List<AccountOperationEntity> accountOperations;
 
+    // identity only: the lazy operations must never be loaded to compare, hash or log an account, and ids are assigned
+    // before the first save, so the hash does not change when the account is persisted; the getters see through proxies
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof BankAccountEntity that)) return false;
-        return Objects.equals(accountId, that.accountId) && Objects.equals(balance, that.balance) && status == that.status && Objects.equals(createdAt, that.createdAt) && Objects.equals(accountOperations, that.accountOperations);
+        return getAccountId() != null && getAccountId().equals(that.getAccountId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(accountId, balance, status, createdAt, accountOperations);
+        return Objects.hashCode(getAccountId());
     }
 
     @Override
@@ -48,7 +60,7 @@ public abstract class BankAccountEntity {
                 ", balance=" + balance +
                 ", status=" + status +
                 ", createdAt=" + createdAt +
-                ", accountOperations=" + accountOperations +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,150 @@
+package org.exalt.bank.infrastructure.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "idempotency_record")
+@NoArgsConstructor
+@Getter
+@Setter
+public class IdempotencyRecordEntity implements Persistable<String> {
+    public static final int MAX_KEY_LENGTH = 128;
+
+    // the primary key is the unique constraint: a second insert of the same key fails the transaction that tries it
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+    private UUID accountId;
+    @Enumerated(EnumType.STRING)
+    private OperationType operationType;
+    private BigDecimal amount;
+    private boolean succeeded;
+    private String resultMessage;
+    private LocalDateTime createdAt;
+    @Transient
+    private transient boolean persisted;
+
+    private IdempotencyRecordEntity(Builder builder) {
+        setIdempotencyKey(builder.idempotencyKey);
+        setAccountId(builder.accountId);
+        setOperationType(builder.operationType);
+        setAmount(builder.amount);
+        setSucceeded(builder.succeeded);
+        setResultMessage(builder.resultMessage);
+        setCreatedAt(builder.createdAt);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdempotencyRecordEntity that)) return false;
+        return Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(idempotencyKey);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecordEntity{" +
+                "idempotencyKey='" + idempotencyKey + '\'' +
+                ", accountId=" + accountId +
+                ", operationType=" + operationType +
+                ", amount=" + amount +
+                ", succeeded=" + succeeded +
+                ", resultMessage='" + resultMessage + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+
+    public static final class Builder {
+        private String idempotencyKey;
+        private UUID accountId;
+        private OperationType operationType;
+        private BigDecimal amount;
+        private boolean succeeded;
+        private String resultMessage;
+        private LocalDateTime createdAt;
+
+        private Builder() {}
+
+        public Builder withIdempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withOperationType(OperationType operationType) {
+            this.operationType = operationType;
+            return this;
+        }
+
+        public Builder withAmount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder withSucceeded(boolean succeeded) {
+            this.succeeded = succeeded;
+            return this;
+        }
+
+        public Builder withResultMessage(String resultMessage) {
+            this.resultMessage = resultMessage;
+            return this;
+        }
+
+        public Builder withCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public IdempotencyRecordEntity build() {
+            return new IdempotencyRecordEntity(this);
+        }
+    }
+}
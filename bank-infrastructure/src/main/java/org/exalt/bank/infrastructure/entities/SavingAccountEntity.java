@@ -1,5 +1,6 @@
 package org.exalt.bank.infrastructure.entities;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,9 +8,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.Objects;
 
 @Entity
+@DiscriminatorValue("Saving")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -17,19 +18,6 @@ import java.util.Objects;
 public class SavingAccountEntity extends BankAccountEntity {
     private BigDecimal depositLimit;
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof SavingAccountEntity that)) return false;
-        if (!super.equals(o)) return false;
-        return Objects.equals(depositLimit, that.depositLimit);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), depositLimit);
-    }
-
     @Override
     public String toString() {
         return "SavingAccountEntity{" +
@@ -0,0 +1,171 @@
+package org.exalt.bank.infrastructure.idempotency;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.infrastructure.entities.IdempotencyRecordEntity;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.repositories.IdempotencyRecordRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.exalt.bank.domain.port.out.BankAccountOperationPort.IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE;
+import static org.exalt.bank.domain.port.out.BankAccountOperationPort.IDEMPOTENCY_KEY_REUSED_MESSAGE;
+
+// a bounded in-memory view of idempotency_record: replays of recent keys never reach the database,
+// older ones are found in the table, which stays the source of truth
+public class IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final int maxEntries;
+    // access ordered, so the eldest entry is the least recently replayed one
+    private final LinkedHashMap<String, StoredResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    // keys reserved by this instance whose operation has not settled yet
+    private final Set<String> reserved = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<BankAccountOperationResult> findCached(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount) {
+        if (reserved.contains(idempotencyKey)) {
+            return Optional.of(new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE));
+        }
+        return Optional.ofNullable(cached(idempotencyKey)).map(result -> result.replay(accountId, operationType, amount));
+    }
+
+    public Optional<BankAccountOperationResult> find(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount) {
+        if (reserved.contains(idempotencyKey)) {
+            return Optional.of(new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE));
+        }
+        var result = cached(idempotencyKey);
+        if (result == null) {
+            result = idempotencyRecordRepository.findById(idempotencyKey).map(StoredResult::from).orElse(null);
+            if (result == null) {
+                return Optional.empty();
+            }
+            remember(idempotencyKey, result);
+        }
+        return Optional.of(result.replay(accountId, operationType, amount));
+    }
+
+    // joins the caller's transaction, so the record commits or rolls back with the balance change it describes
+    public void record(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount, BankAccountOperationResult result) {
+        var record = buildRecord(idempotencyKey, accountId, operationType, amount, result);
+        idempotencyRecordRepository.save(record);
+        var storedResult = StoredResult.from(record);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(idempotencyKey, storedResult);
+                }
+            });
+        } else {
+            remember(idempotencyKey, storedResult);
+        }
+    }
+
+    // for an operation applied outside any transaction: the key is inserted, in its own transaction, with the result the
+    // operation has unless something refuses it, before anything changes; until settle or forget, replays of the key on
+    // this instance are answered as in progress. Returns the answer for a key that is already taken, empty once reserved
+    public Optional<BankAccountOperationResult> reserve(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount,
+                                                        BankAccountOperationResult expectedResult) {
+        if (!reserved.add(idempotencyKey)) {
+            return Optional.of(new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE));
+        }
+        try {
+            idempotencyRecordRepository.save(buildRecord(idempotencyKey, accountId, operationType, amount, expectedResult));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            reserved.remove(idempotencyKey);
+            // reserved first by an earlier request that has settled since
+            return Optional.of(find(idempotencyKey, accountId, operationType, amount).orElseThrow(() -> e));
+        } catch (RuntimeException e) {
+            reserved.remove(idempotencyKey);
+            throw e;
+        }
+    }
+
+    // ends a reservation with the operation's actual result; a refusal rewrites the reserved row, and if that fails the
+    // row is taken back, so a retry runs the operation again rather than replaying a success that never happened
+    public void settle(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount, BankAccountOperationResult result) {
+        var succeeded = result instanceof BankAccountOperationResult.Ok;
+        if (!succeeded) {
+            try {
+                idempotencyRecordRepository.updateResult(idempotencyKey, false, result.getOperationMessage());
+            } catch (RuntimeException e) {
+                forget(idempotencyKey);
+                throw e;
+            }
+        }
+        remember(idempotencyKey, new StoredResult(accountId, operationType, amount, succeeded, result.getOperationMessage()));
+        reserved.remove(idempotencyKey);
+    }
+
+    // takes back a record whose operation could not be applied after all, so a retry with the key runs it again
+    public void forget(String idempotencyKey) {
+        try {
+            idempotencyRecordRepository.deleteById(idempotencyKey);
+        } finally {
+            evict(idempotencyKey);
+            reserved.remove(idempotencyKey);
+        }
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    private static IdempotencyRecordEntity buildRecord(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount,
+                                                       BankAccountOperationResult result) {
+        return IdempotencyRecordEntity.builder()
+                .withIdempotencyKey(idempotencyKey)
+                .withAccountId(accountId)
+                .withOperationType(operationType)
+                .withAmount(amount)
+                .withSucceeded(result instanceof BankAccountOperationResult.Ok)
+                .withResultMessage(result.getOperationMessage())
+                .withCreatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private synchronized StoredResult cached(String idempotencyKey) {
+        return results.get(idempotencyKey);
+    }
+
+    private synchronized void evict(String idempotencyKey) {
+        results.remove(idempotencyKey);
+    }
+
+    private synchronized void remember(String idempotencyKey, StoredResult result) {
+        results.put(idempotencyKey, result);
+        while (results.size() > maxEntries) {
+            results.remove(results.keySet().iterator().next());
+        }
+    }
+
+    private record StoredResult(UUID accountId, OperationType operationType, BigDecimal amount, boolean succeeded, String resultMessage) {
+        static StoredResult from(IdempotencyRecordEntity record) {
+            return new StoredResult(record.getAccountId(), record.getOperationType(), record.getAmount(), record.isSucceeded(), record.getResultMessage());
+        }
+
+        BankAccountOperationResult replay(UUID accountId, OperationType operationType, BigDecimal amount) {
+            // the same key sent with another request is a client bug, not a retry
+            if (!this.accountId.equals(accountId) || this.operationType != operationType || this.amount.compareTo(amount) != 0) {
+                return new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_REUSED_MESSAGE);
+            }
+            return succeeded ? new BankAccountOperationResult.Ok(resultMessage) : new BankAccountOperationResult.Failure(resultMessage);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.idempotency.IdempotencyStore;
+import org.exalt.bank.infrastructure.metrics.OperationMetrics;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+
+public class InMemoryLedgerOperationService implements BankAccountOperationPort, AutoCloseable {
+    private final BankAccountRepository bankAccountRepository;
+    private final LedgerJournal ledgerJournal;
+    private final OperationMetrics operationMetrics;
+    private final IdempotencyStore idempotencyStore;
+    private final LedgerShard[] shards;
+
+    public InMemoryLedgerOperationService(BankAccountRepository bankAccountRepository, LedgerJournal ledgerJournal,
+                                          OperationMetrics operationMetrics, IdempotencyStore idempotencyStore, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        this.bankAccountRepository = bankAccountRepository;
+        this.ledgerJournal = ledgerJournal;
+        this.operationMetrics = operationMetrics;
+        this.idempotencyStore = idempotencyStore;
+        this.shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i);
+        }
+    }
+
+    @Override
+    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal withdrawalAmount, String idempotencyKey) {
+        var recording = operationMetrics.start("withdrawal");
+        try {
+            return recording.stop(applyIdempotently(idempotencyKey, accountId, OperationType.WITHDRAWAL, withdrawalAmount, account -> {
+                recording.accountType(account.getAccountType());
+                return account.canWithdraw(Money.of(withdrawalAmount))
+                        ? Optional.empty()
+                        : Optional.of(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+            }));
+        } catch (RuntimeException e) {
+            throw recording.stop(e);
+        }
+    }
+
+    @Override
+    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        var recording = operationMetrics.start("deposit");
+        try {
+            return recording.stop(applyIdempotently(idempotencyKey, accountId, OperationType.DEPOSIT, amount, account -> {
+                recording.accountType(account.getAccountType());
+                if (account.exceedsDepositLimit(Money.of(amount))) {
+                    throw new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+                }
+                return Optional.empty();
+            }));
+        } catch (RuntimeException e) {
+            throw recording.stop(e);
+        }
+    }
+
+    BigDecimal balanceOf(UUID accountId) {
+        return shardFor(accountId).execute(accountId, this::loadAccount, LedgerAccount::getBalance);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (var shard : shards) {
+            shard.close();
+        }
+    }
+
+    // every idempotency read and write happens on the caller's thread, so the shard writer never waits on the database:
+    // the key is reserved before the shard applies anything, and settled with the actual result once it is durable
+    private BankAccountOperationResult applyIdempotently(String idempotencyKey, UUID accountId, OperationType operationType, BigDecimal amount,
+                                                         Function<LedgerAccount, Optional<BankAccountOperationResult>> refusal) {
+        if (idempotencyKey == null) {
+            return acknowledgeWhenDurable(applyOnShard(accountId, operationType, amount, refusal));
+        }
+        var replayed = idempotencyStore.find(idempotencyKey, accountId, operationType, amount);
+        if (replayed.isEmpty()) {
+            replayed = idempotencyStore.reserve(idempotencyKey, accountId, operationType, amount, successOf(operationType));
+        }
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        BankAccountOperationResult result;
+        try {
+            result = acknowledgeWhenDurable(applyOnShard(accountId, operationType, amount, refusal));
+        } catch (RuntimeException e) {
+            // not applied, or not kept: a retry with the key must run the operation again
+            idempotencyStore.forget(idempotencyKey);
+            throw e;
+        }
+        idempotencyStore.settle(idempotencyKey, accountId, operationType, amount, result);
+        return result;
+    }
+
+    private Applied applyOnShard(UUID accountId, OperationType operationType, BigDecimal amount,
+                                 Function<LedgerAccount, Optional<BankAccountOperationResult>> refusal) {
+        return shardFor(accountId).execute(accountId, this::loadAccount,
+                account -> refusal.apply(account).map(Applied::unchanged).orElseGet(() -> performTransaction(account, amount, operationType)));
+    }
+
+    // the shard only applies and appends; the wait for the journal's group commit happens on the caller's thread, so
+    // the shard goes on applying while its earlier operations wait for the same fsync
+    private static BankAccountOperationResult acknowledgeWhenDurable(Applied applied) {
+        try {
+            applied.durable().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return applied.result();
+    }
+
+    private LedgerShard shardFor(UUID accountId) {
+        var hash = accountId.getMostSignificantBits() ^ accountId.getLeastSignificantBits();
+        return shards[(int) Math.floorMod(hash ^ (hash >>> 32), (long) shards.length)];
+    }
+
+    private LedgerAccount loadAccount(UUID accountId) {
+        return bankAccountRepository.findById(accountId)
+                .map(LedgerAccount::from)
+                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found"));
+    }
+
+    private Applied performTransaction(LedgerAccount account, BigDecimal amount, OperationType operationType) {
+        var signedAmount = operationType == OperationType.WITHDRAWAL ? amount.negate() : amount;
+        // journal first: if the append is refused the in-memory balance must stay untouched
+        var durable = ledgerJournal.append(LedgerEntry.builder()
+                .withOperationId(TimeOrderedUuid.next())
+                .withAccountId(account.getAccountId())
+                .withOperationDateTime(LocalDateTime.now())
+                .withAmount(signedAmount)
+                .withOperationType(operationType)
+                .withAccountType(account.getAccountType())
+                .build());
+        account.apply(Money.of(signedAmount));
+        return new Applied(successOf(operationType), durable);
+    }
+
+    private static BankAccountOperationResult successOf(OperationType operationType) {
+        return new BankAccountOperationResult.Ok(operationType + " successful");
+    }
+
+    // an operation's result with the journal's promise to keep it; results that changed nothing have nothing to wait for
+    private record Applied(BankAccountOperationResult result, CompletableFuture<Void> durable) {
+        static Applied unchanged(BankAccountOperationResult result) {
+            return new Applied(result, CompletableFuture.completedFuture(null));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import org.exalt.bank.domain.model.AccountLimits;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.infrastructure.entities.BankAccountEntity;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.entities.SavingAccountEntity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+final class LedgerAccount {
+    private final UUID accountId;
+    private final String accountType;
+    private final Money overdraftLimit;
+    private final Money depositLimit;
+    private Money balance;
+
+    LedgerAccount(UUID accountId, String accountType, Money balance, Money overdraftLimit, Money depositLimit) {
+        this.accountId = accountId;
+        this.accountType = accountType;
+        this.balance = balance;
+        this.overdraftLimit = overdraftLimit;
+        this.depositLimit = depositLimit;
+    }
+
+    static LedgerAccount from(BankAccountEntity account) {
+        var overdraftLimit = account instanceof CurrentAccountEntity currentAccount ? Money.of(currentAccount.getOverdraftLimit()) : Money.ZERO;
+        var depositLimit = account instanceof SavingAccountEntity savingAccount ? Money.of(savingAccount.getDepositLimit()) : null;
+        var accountType = account instanceof SavingAccountEntity ? "Saving" : "Current";
+        return new LedgerAccount(account.getAccountId(), accountType, Money.of(account.getBalance()), overdraftLimit, depositLimit);
+    }
+
+    UUID getAccountId() {
+        return accountId;
+    }
+
+    String getAccountType() {
+        return accountType;
+    }
+
+    BigDecimal getBalance() {
+        return balance.toBigDecimal();
+    }
+
+    boolean canWithdraw(Money amount) {
+        return AccountLimits.canWithdraw(balance, amount, overdraftLimit);
+    }
+
+    boolean exceedsDepositLimit(Money amount) {
+        return AccountLimits.exceedsDepositLimit(balance, amount, depositLimit);
+    }
+
+    void apply(Money delta) {
+        balance = balance.plus(delta);
+    }
+}
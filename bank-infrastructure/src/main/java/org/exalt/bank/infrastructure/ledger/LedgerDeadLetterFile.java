@@ -0,0 +1,50 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of the ledger entries the database kept refusing, one
+ * {@code operationId,accountId,operationDateTime,amount,operationType,accountType,error} line each. The in-memory
+ * balances already include them: the database only matches again once an operator has repaired and inserted each line.
+ */
+final class LedgerDeadLetterFile implements Closeable {
+    private final Path file;
+    private final FileChannel channel;
+
+    private LedgerDeadLetterFile(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    static LedgerDeadLetterFile open(Path file) throws IOException {
+        var directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        return new LedgerDeadLetterFile(file, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    synchronized void park(LedgerEntry entry, RuntimeException cause) throws IOException {
+        var line = entry.getOperationId() + "," + entry.getAccountId() + "," + entry.getOperationDateTime() + "," + entry.getAmount().toPlainString() +
+                "," + entry.getOperationType() + "," + entry.getAccountType() + "," + String.valueOf(cause.getMessage()).replaceAll("[\\r\\n]+", " ");
+        channel.write(ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+        // the entry leaves the flusher once parked, so it must not be lost to a crash right after
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
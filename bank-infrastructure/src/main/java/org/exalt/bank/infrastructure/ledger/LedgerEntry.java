@@ -0,0 +1,141 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.entities.BankAccountEntity;
+import org.exalt.bank.infrastructure.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+public final class LedgerEntry {
+    private final UUID operationId;
+    private final UUID accountId;
+    private final LocalDateTime operationDateTime;
+    private final BigDecimal amount;
+    private final OperationType operationType;
+    private final String accountType;
+
+    private LedgerEntry(Builder builder) {
+        operationId = builder.operationId;
+        accountId = builder.accountId;
+        operationDateTime = builder.operationDateTime;
+        amount = builder.amount;
+        operationType = builder.operationType;
+        accountType = builder.accountType;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public UUID getOperationId() {
+        return operationId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDateTime getOperationDateTime() {
+        return operationDateTime;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public AccountOperationEntity toAccountOperationEntity(BankAccountEntity bankAccount) {
+        return AccountOperationEntity.builder()
+                .withOperationId(operationId)
+                .withOperationDateTime(operationDateTime)
+                .withAmount(amount)
+                .withOperationType(operationType)
+                .withAccountType(accountType)
+                .withBankAccount(bankAccount)
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LedgerEntry that)) return false;
+        return Objects.equals(operationId, that.operationId) &&
+                Objects.equals(accountId, that.accountId) &&
+                Objects.equals(operationDateTime, that.operationDateTime) &&
+                Objects.equals(amount, that.amount) &&
+                operationType == that.operationType &&
+                Objects.equals(accountType, that.accountType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operationId, accountId, operationDateTime, amount, operationType, accountType);
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEntry{" +
+                "operationId=" + operationId +
+                ", accountId=" + accountId +
+                ", operationDateTime=" + operationDateTime +
+                ", amount=" + amount +
+                ", operationType=" + operationType +
+                ", accountType='" + accountType + '\'' +
+                '}';
+    }
+
+    public static final class Builder {
+        private UUID operationId;
+        private UUID accountId;
+        private LocalDateTime operationDateTime;
+        private BigDecimal amount;
+        private OperationType operationType;
+        private String accountType;
+
+        private Builder() {}
+
+        public Builder withOperationId(UUID operationId) {
+            this.operationId = operationId;
+            return this;
+        }
+
+        public Builder withAccountId(UUID accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder withOperationDateTime(LocalDateTime operationDateTime) {
+            this.operationDateTime = operationDateTime;
+            return this;
+        }
+
+        public Builder withAmount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder withOperationType(OperationType operationType) {
+            this.operationType = operationType;
+            return this;
+        }
+
+        public Builder withAccountType(String accountType) {
+            this.accountType = accountType;
+            return this;
+        }
+
+        public LedgerEntry build() {
+            return new LedgerEntry(this);
+        }
+    }
+}
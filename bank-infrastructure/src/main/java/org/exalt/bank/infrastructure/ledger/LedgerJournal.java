@@ -0,0 +1,8 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LedgerJournal {
+    // returns once the entry is accepted; the future completes once it is durable, and only then may it be acknowledged
+    CompletableFuture<Void> append(LedgerEntry entry);
+}
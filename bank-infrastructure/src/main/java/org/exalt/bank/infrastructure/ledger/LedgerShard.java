@@ -0,0 +1,45 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// every read or change of a shard's accounts runs on its single writer thread, so the account state needs no locking
+final class LedgerShard implements AutoCloseable {
+    // only the loading happens on the callers' threads: the map publishes each account to the writer once loaded
+    private final ConcurrentMap<UUID, LedgerAccount> accounts = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+
+    LedgerShard(int index) {
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "ledger-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // the first access loads the account on the caller's thread, so a slow database read never holds up the shard
+    <T> T execute(UUID accountId, Function<UUID, LedgerAccount> loader, Function<LedgerAccount, T> command) {
+        var account = accounts.computeIfAbsent(accountId, loader);
+        try {
+            return CompletableFuture.supplyAsync(() -> command.apply(account), writer).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
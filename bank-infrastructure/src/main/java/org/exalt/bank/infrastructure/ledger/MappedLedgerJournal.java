@@ -0,0 +1,373 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of fixed-size binary records written through memory-mapped segment files.
+ * An append returns as soon as the record is written; its future completes once a group-commit fsync covers it, at
+ * which point the record is handed to the downstream journal.
+ * {@link #recover(Duration)} must run before the first append.
+ */
+public class MappedLedgerJournal implements LedgerJournal, AutoCloseable {
+    static final int RECORD_SIZE = 72;
+    private static final int MAGIC = 0x4C454447;
+    private static final int CRC_OFFSET = RECORD_SIZE - Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedLedgerJournal.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration groupCommitInterval;
+    private final LedgerJournal downstream;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    private final Map<UUID, Long> sequenceByOperationId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final ConcurrentNavigableMap<Long, PendingAppend> awaitingSync = new ConcurrentSkipListMap<>();
+    private final FileChannel checkpointChannel;
+    private final Thread syncer;
+
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeBuffer;
+    private long lastSequence;
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    private long checkpoint;
+    private volatile boolean running = true;
+
+    public MappedLedgerJournal(Path directory, int segmentSize, Duration groupCommitInterval, LedgerJournal downstream) {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("segmentSize must hold at least one " + RECORD_SIZE + " byte record");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.groupCommitInterval = groupCommitInterval;
+        this.downstream = downstream;
+        try {
+            Files.createDirectories(directory);
+            checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            checkpoint = readCheckpoint();
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .forEach(file -> segments.put(firstSequenceOf(file), file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open ledger journal in " + directory, e);
+        }
+        syncer = new Thread(this::syncLoop, "ledger-journal-sync");
+        syncer.setDaemon(true);
+    }
+
+    /**
+     * Scans every segment, stops at the first torn or empty record, and re-submits the records past the
+     * checkpoint to the downstream journal. Blocks until the downstream confirms them, so balances are
+     * whole before the ledger starts serving.
+     */
+    public List<LedgerEntry> recover(Duration timeout) throws InterruptedException {
+        var replayed = new ArrayList<LedgerEntry>();
+        appendLock.lock();
+        try {
+            lastSequence = checkpoint;
+            for (var iterator = segments.entrySet().iterator(); iterator.hasNext(); ) {
+                var segment = iterator.next();
+                var buffer = map(segment.getValue());
+                var position = 0;
+                while (position + RECORD_SIZE <= segmentSize && isValidRecord(buffer, position)) {
+                    var sequence = buffer.getLong(position + Integer.BYTES);
+                    if (sequence > checkpoint) {
+                        var entry = decode(buffer, position);
+                        sequenceByOperationId.put(entry.getOperationId(), sequence);
+                        inFlight.add(sequence);
+                        replayed.add(entry);
+                    }
+                    lastSequence = Math.max(lastSequence, sequence);
+                    position += RECORD_SIZE;
+                }
+                if (!iterator.hasNext()) {
+                    activate(segment.getValue(), buffer, position);
+                }
+            }
+            if (activeBuffer == null) {
+                openSegment(lastSequence + 1);
+            }
+            writtenSequence = lastSequence;
+            durableSequence = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        syncer.start();
+
+        LOGGER.info("Replaying {} ledger journal records past checkpoint {}", replayed.size(), checkpoint);
+        replayed.forEach(downstream::append);
+        var deadline = System.nanoTime() + timeout.toNanos();
+        while (!inFlight.isEmpty()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(inFlight.size() + " replayed ledger records were not persisted within " + timeout);
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return replayed;
+    }
+
+    // never waits for the fsync: the shard writer appends and moves on, and its callers wait on the future, so every
+    // operation written during one group-commit interval shares the same force whatever shard it came from
+    @Override
+    public CompletableFuture<Void> append(LedgerEntry entry) {
+        if (!running) {
+            throw new BankOperationsException(WriteBehindLedgerJournal.JOURNAL_UNAVAILABLE_EXCEPTION_MESSAGE);
+        }
+        var durable = new CompletableFuture<Void>();
+        appendLock.lock();
+        try {
+            if (!activeBuffer.hasRemaining()) {
+                rollSegment();
+            }
+            var sequence = ++lastSequence;
+            encode(activeBuffer, activeBuffer.position(), sequence, entry);
+            activeBuffer.position(activeBuffer.position() + RECORD_SIZE);
+            sequenceByOperationId.put(entry.getOperationId(), sequence);
+            inFlight.add(sequence);
+            awaitingSync.put(sequence, new PendingAppend(entry, durable));
+            writtenSequence = sequence;
+        } finally {
+            appendLock.unlock();
+        }
+        return durable;
+    }
+
+    public void markPersisted(List<LedgerEntry> entries) {
+        for (var entry : entries) {
+            var sequence = sequenceByOperationId.remove(entry.getOperationId());
+            if (sequence != null) {
+                inFlight.remove(sequence);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        syncer.interrupt();
+        syncer.join(TimeUnit.SECONDS.toMillis(10));
+        appendLock.lock();
+        try {
+            activeBuffer.force();
+            durableSequence = writtenSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        completeDurable(durableSequence);
+        advanceCheckpoint();
+        appendLock.lock();
+        try {
+            activeChannel.close();
+            checkpointChannel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void syncLoop() {
+        while (running) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(groupCommitInterval.toNanos());
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (writtenSequence > durableSequence) {
+                long target;
+                MappedByteBuffer buffer;
+                appendLock.lock();
+                try {
+                    // anything older than the active segment was forced when it rolled
+                    target = writtenSequence;
+                    buffer = activeBuffer;
+                } finally {
+                    appendLock.unlock();
+                }
+                // one force covers every append made since the previous one: that is the group commit
+                buffer.force();
+                durableSequence = target;
+                completeDurable(target);
+            }
+            advanceCheckpoint();
+        }
+    }
+
+    // hands the records to the downstream journal in sequence order, then releases their callers; a record the
+    // downstream refuses is durable all the same and stays in flight, so the next recovery replays it; a full downstream
+    // queue holds up the syncer, and with it every waiting caller, which keeps intake throttled to the flusher
+    private void completeDurable(long target) {
+        for (var iterator = awaitingSync.headMap(target, true).values().iterator(); iterator.hasNext(); ) {
+            var pending = iterator.next();
+            iterator.remove();
+            try {
+                downstream.append(pending.entry());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Ledger journal record {} is left for recovery: {}", pending.entry(), e.getMessage());
+            }
+            pending.durable().complete(null);
+        }
+    }
+
+    private void advanceCheckpoint() {
+        var lowestInFlight = inFlight.isEmpty() ? null : inFlight.first();
+        var candidate = lowestInFlight == null ? durableSequence : lowestInFlight - 1;
+        if (candidate <= checkpoint) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            checkpoint = candidate;
+            writeCheckpoint();
+            deleteCheckpointedSegments();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to advance ledger journal checkpoint: {}", e.getMessage());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void deleteCheckpointedSegments() throws IOException {
+        while (segments.size() > 1) {
+            var oldest = segments.firstEntry();
+            var next = segments.higherKey(oldest.getKey());
+            if (next - 1 > checkpoint) {
+                return;
+            }
+            Files.deleteIfExists(oldest.getValue());
+            segments.pollFirstEntry();
+        }
+    }
+
+    private void rollSegment() {
+        activeBuffer.force();
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        openSegment(lastSequence + 1);
+    }
+
+    private void openSegment(long firstSequence) {
+        var file = directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+        segments.put(firstSequence, file);
+        activate(file, map(file), 0);
+    }
+
+    private void activate(Path file, MappedByteBuffer buffer, int position) {
+        try {
+            if (activeChannel != null) {
+                activeChannel.close();
+            }
+            activeChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        activeBuffer = buffer;
+        activeBuffer.position(position);
+    }
+
+    private MappedByteBuffer map(Path file) {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map ledger journal segment " + file, e);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        var buffer = ByteBuffer.allocate(Long.BYTES);
+        return checkpointChannel.read(buffer, 0) == Long.BYTES ? buffer.flip().getLong() : 0L;
+    }
+
+    private void writeCheckpoint() throws IOException {
+        checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, checkpoint), 0);
+        checkpointChannel.force(false);
+    }
+
+    private static long firstSequenceOf(Path file) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static void encode(ByteBuffer buffer, int offset, long sequence, LedgerEntry entry) {
+        BigInteger unscaled = entry.getAmount().unscaledValue();
+        if (unscaled.bitLength() > 63 || entry.getAmount().scale() > Byte.MAX_VALUE || entry.getAmount().scale() < Byte.MIN_VALUE) {
+            throw new BankOperationsException("Amount " + entry.getAmount() + " does not fit the journal record format");
+        }
+        var dateTime = entry.getOperationDateTime();
+        buffer.putInt(offset, MAGIC)
+                .putLong(offset + 4, sequence)
+                .putLong(offset + 12, entry.getOperationId().getMostSignificantBits())
+                .putLong(offset + 20, entry.getOperationId().getLeastSignificantBits())
+                .putLong(offset + 28, entry.getAccountId().getMostSignificantBits())
+                .putLong(offset + 36, entry.getAccountId().getLeastSignificantBits())
+                .putLong(offset + 44, dateTime.toEpochSecond(ZoneOffset.UTC))
+                .putInt(offset + 52, dateTime.getNano())
+                .putLong(offset + 56, unscaled.longValue())
+                .put(offset + 64, (byte) entry.getAmount().scale())
+                .put(offset + 65, (byte) entry.getOperationType().ordinal())
+                .put(offset + 66, (byte) ("Saving".equals(entry.getAccountType()) ? 1 : 0))
+                .put(offset + 67, (byte) 0);
+        buffer.putInt(offset + CRC_OFFSET, checksum(buffer, offset));
+    }
+
+    static LedgerEntry decode(ByteBuffer buffer, int offset) {
+        return LedgerEntry.builder()
+                .withOperationId(new UUID(buffer.getLong(offset + 12), buffer.getLong(offset + 20)))
+                .withAccountId(new UUID(buffer.getLong(offset + 28), buffer.getLong(offset + 36)))
+                .withOperationDateTime(LocalDateTime.ofEpochSecond(buffer.getLong(offset + 44), buffer.getInt(offset + 52), ZoneOffset.UTC))
+                .withAmount(BigDecimal.valueOf(buffer.getLong(offset + 56), buffer.get(offset + 64)))
+                .withOperationType(OperationType.values()[buffer.get(offset + 65)])
+                .withAccountType(buffer.get(offset + 66) == 1 ? "Saving" : "Current")
+                .build();
+    }
+
+    static boolean isValidRecord(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) == MAGIC && buffer.getInt(offset + CRC_OFFSET) == checksum(buffer, offset);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        var crc = new CRC32();
+        crc.update(buffer.slice(offset, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private record PendingAppend(LedgerEntry entry, CompletableFuture<Void> durable) {}
+}
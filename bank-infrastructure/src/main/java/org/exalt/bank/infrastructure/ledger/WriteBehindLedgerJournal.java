@@ -0,0 +1,294 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.infrastructure.adapter.BalanceSnapshotRecorder;
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class WriteBehindLedgerJournal implements LedgerJournal, AutoCloseable {
+    static final String JOURNAL_UNAVAILABLE_EXCEPTION_MESSAGE = "Ledger journal is not accepting operations";
+    static final String DEAD_LETTER_COUNTER = "bank.ledger.journal.dead_letters";
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindLedgerJournal.class);
+
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountOperationRepository accountOperationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceSnapshotRecorder balanceSnapshotRecorder;
+    private final BlockingQueue<LedgerEntry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int maxFlushAttempts;
+    private final LedgerDeadLetterFile deadLetters;
+    private final Counter deadLettered;
+    private final List<LedgerEntry> pending;
+    private final Thread flusher;
+    private final List<Consumer<List<LedgerEntry>>> flushListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    private WriteBehindLedgerJournal(Builder builder) {
+        if (builder.maxFlushAttempts < 1) {
+            throw new IllegalArgumentException("maxFlushAttempts must be at least 1");
+        }
+        bankAccountRepository = builder.bankAccountRepository;
+        accountOperationRepository = builder.accountOperationRepository;
+        transactionTemplate = builder.transactionTemplate;
+        balanceSnapshotRecorder = builder.balanceSnapshotRecorder;
+        queue = new ArrayBlockingQueue<>(builder.capacity);
+        batchSize = builder.batchSize;
+        flushInterval = builder.flushInterval;
+        maxFlushAttempts = builder.maxFlushAttempts;
+        try {
+            deadLetters = LedgerDeadLetterFile.open(builder.deadLetterFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open ledger dead letter file " + builder.deadLetterFile, e);
+        }
+        deadLettered = builder.meterRegistry.counter(DEAD_LETTER_COUNTER);
+        pending = new ArrayList<>(batchSize);
+        flusher = new Thread(this::drainLoop, "ledger-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(LedgerEntry entry) {
+        if (!running) {
+            throw new BankOperationsException(JOURNAL_UNAVAILABLE_EXCEPTION_MESSAGE);
+        }
+        try {
+            // a full queue blocks the appending thread: the DB falling behind throttles intake instead of growing the heap
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankOperationsException(JOURNAL_UNAVAILABLE_EXCEPTION_MESSAGE);
+        }
+        // on its own this journal promises no more than the queue: the entry is as durable as it will be until flushed
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public void addFlushListener(Consumer<List<LedgerEntry>> flushListener) {
+        flushListeners.add(flushListener);
+    }
+
+    int backlog() {
+        return queue.size() + pending.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        deadLetters.close();
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty() || !pending.isEmpty()) {
+            try {
+                if (pending.isEmpty()) {
+                    var first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    pending.add(first);
+                }
+                queue.drainTo(pending, batchSize - pending.size());
+                flushOrPark(pending);
+                // parked entries are handed on too: they are kept in the dead letter file and must not be replayed
+                var flushed = List.copyOf(pending);
+                pending.clear();
+                flushListeners.forEach(listener -> listener.accept(flushed));
+            } catch (InterruptedException e) {
+                // close() interrupts to cut the poll short; the loop condition drains what is left
+            } catch (RuntimeException e) {
+                if (!running) {
+                    LOGGER.error("Dropping {} unflushed ledger entries on shutdown: {}", backlog(), e.getMessage());
+                    return;
+                }
+                // halves already committed are skipped by the next attempt, so the whole batch can be retried
+                LOGGER.warn("Write-behind flush of {} ledger entries failed, retrying: {}", pending.size(), e.getMessage());
+                pauseBeforeRetry();
+            }
+        }
+    }
+
+    // an unavailable database is waited for, however long it takes, so intake stays throttled; any other failure is
+    // retried a few times, then the batch is split until the entries that still fail are isolated and parked, so one
+    // bad entry cannot hold up the flusher and, behind its full queue, every shard
+    private void flushOrPark(List<LedgerEntry> batch) {
+        var attempts = 0;
+        while (true) {
+            try {
+                flush(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    throw e;
+                }
+                if (!isDatabaseUnavailable(e) && ++attempts >= maxFlushAttempts) {
+                    if (batch.size() == 1) {
+                        park(batch.get(0), attempts, e);
+                    } else {
+                        var half = batch.size() / 2;
+                        flushOrPark(batch.subList(0, half));
+                        flushOrPark(batch.subList(half, batch.size()));
+                    }
+                    return;
+                }
+                LOGGER.warn("Write-behind flush of {} ledger entries failed, retrying: {}", batch.size(), e.getMessage());
+                pauseBeforeRetry();
+            }
+        }
+    }
+
+    private void flush(List<LedgerEntry> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // entries replayed after a crash may already be stored: skipping them keeps the replay idempotent
+            var alreadyPersisted = accountOperationRepository.findAllById(batch.stream().map(LedgerEntry::getOperationId).toList())
+                    .stream()
+                    .map(AccountOperationEntity::getOperationId)
+                    .collect(Collectors.toSet());
+            var netByAccount = new LinkedHashMap<UUID, BigDecimal>();
+            var operationsByAccount = new LinkedHashMap<UUID, List<AccountOperationEntity>>();
+            var operations = new ArrayList<AccountOperationEntity>(batch.size());
+            for (var entry : batch) {
+                if (alreadyPersisted.contains(entry.getOperationId())) {
+                    continue;
+                }
+                netByAccount.merge(entry.getAccountId(), entry.getAmount(), BigDecimal::add);
+                var operation = entry.toAccountOperationEntity(bankAccountRepository.getReferenceById(entry.getAccountId()));
+                operationsByAccount.computeIfAbsent(entry.getAccountId(), accountId -> new ArrayList<>()).add(operation);
+                operations.add(operation);
+            }
+            accountOperationRepository.saveAll(operations);
+            netByAccount.forEach(bankAccountRepository::creditBalance);
+            operationsByAccount.forEach((accountId, accountOperations) ->
+                    balanceSnapshotRecorder.record(accountId, bankAccountRepository.findBalanceById(accountId), accountOperations));
+        });
+    }
+
+    private void park(LedgerEntry entry, int attempts, RuntimeException cause) {
+        try {
+            deadLetters.park(entry, cause);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to park " + entry + " in " + deadLetters.getFile(), e);
+        }
+        deadLettered.increment();
+        LOGGER.error("Parked {} in {} after {} failed flushes; the database is missing it until it is inserted by hand",
+                entry, deadLetters.getFile(), attempts, cause);
+    }
+
+    private static boolean isDatabaseUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+    }
+
+    private void pauseBeforeRetry() {
+        try {
+            Thread.sleep(flushInterval.toMillis());
+        } catch (InterruptedException e) {
+            // shutting down: the next loop iteration makes one last attempt
+        }
+    }
+
+    public static final class Builder {
+        private BankAccountRepository bankAccountRepository;
+        private AccountOperationRepository accountOperationRepository;
+        private TransactionTemplate transactionTemplate;
+        private BalanceSnapshotRecorder balanceSnapshotRecorder;
+        private int capacity = 65536;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(50);
+        private int maxFlushAttempts = 3;
+        private Path deadLetterFile = Path.of("ledger-dead-letters.csv");
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private Builder() {}
+
+        public Builder withBankAccountRepository(BankAccountRepository bankAccountRepository) {
+            this.bankAccountRepository = bankAccountRepository;
+            return this;
+        }
+
+        public Builder withAccountOperationRepository(AccountOperationRepository accountOperationRepository) {
+            this.accountOperationRepository = accountOperationRepository;
+            return this;
+        }
+
+        public Builder withTransactionTemplate(TransactionTemplate transactionTemplate) {
+            this.transactionTemplate = transactionTemplate;
+            return this;
+        }
+
+        public Builder withBalanceSnapshotRecorder(BalanceSnapshotRecorder balanceSnapshotRecorder) {
+            this.balanceSnapshotRecorder = balanceSnapshotRecorder;
+            return this;
+        }
+
+        public Builder withCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder withFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        // attempts at one batch before it is split, and at one entry before it is parked
+        public Builder withMaxFlushAttempts(int maxFlushAttempts) {
+            this.maxFlushAttempts = maxFlushAttempts;
+            return this;
+        }
+
+        public Builder withDeadLetterFile(Path deadLetterFile) {
+            this.deadLetterFile = deadLetterFile;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public WriteBehindLedgerJournal build() {
+            return new WriteBehindLedgerJournal(this);
+        }
+    }
+}
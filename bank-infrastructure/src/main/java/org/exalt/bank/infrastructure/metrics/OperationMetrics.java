@@ -0,0 +1,133 @@
+package org.exalt.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.configuration.DatabaseConcurrencyLimiter.DATABASE_SATURATED_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.configuration.RetryPolicy.RETRIES_EXHAUSTED_EXCEPTION_MESSAGE;
+
+@Component
+public class OperationMetrics {
+    static final String OPERATION_TIMER = "bank.operations";
+    static final String TRANSACTION_TIMER = "bank.operations.transaction";
+    static final String EXCEPTION_COUNTER = "bank.operations.exceptions";
+    static final String UNKNOWN_ACCOUNT_TYPE = "unknown";
+    static final String MIXED_ACCOUNT_TYPES = "mixed";
+    public static final String BATCH_OPERATION = "batch";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public OperationMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        // without actuator there is no registry bean; the global one is then a no-op
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public OperationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Recording start(String operation) {
+        return new Recording(operation, Timer.start(meterRegistry));
+    }
+
+    // the time spent inside one transaction attempt: the database side of an operation
+    public <T> T timeTransaction(String operation, Supplier<T> transaction) {
+        return Timer.builder(TRANSACTION_TIMER)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(transaction);
+    }
+
+    static String outcomeOf(BankAccountOperationResult result) {
+        if (result instanceof BankAccountOperationResult.Ok) {
+            return "ok";
+        }
+        return INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE.equals(result.getOperationMessage()) ? "insufficient_funds" : "failure";
+    }
+
+    // a batch, or a coalesced flush, is one sample: ok when every item succeeded, failure when none did
+    static String outcomeOf(List<BankAccountOperationResult> results) {
+        var succeeded = results.stream().filter(BankAccountOperationResult.Ok.class::isInstance).count();
+        if (succeeded == results.size()) {
+            return "ok";
+        }
+        return succeeded == 0 ? "failure" : "partial";
+    }
+
+    static String outcomeOf(RuntimeException exception) {
+        if (exception instanceof BankAccountNotFoundException) {
+            return "not_found";
+        }
+        if (exception instanceof BankOperationsException) {
+            if (DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE.equals(exception.getMessage())) {
+                return "limit_exceeded";
+            }
+            if (RETRIES_EXHAUSTED_EXCEPTION_MESSAGE.equals(exception.getMessage())) {
+                return "retries_exhausted";
+            }
+            if (DATABASE_SATURATED_EXCEPTION_MESSAGE.equals(exception.getMessage())) {
+                return "db_saturated";
+            }
+        }
+        return "error";
+    }
+
+    public final class Recording {
+        private final String operation;
+        private final Timer.Sample sample;
+        private volatile String accountType = UNKNOWN_ACCOUNT_TYPE;
+
+        private Recording(String operation, Timer.Sample sample) {
+            this.operation = operation;
+            this.sample = sample;
+        }
+
+        // a batch reports every account it touched: one type tags it, both tag it as mixed
+        public void accountType(String accountType) {
+            var current = this.accountType;
+            this.accountType = UNKNOWN_ACCOUNT_TYPE.equals(current) || current.equals(accountType) ? accountType : MIXED_ACCOUNT_TYPES;
+        }
+
+        public BankAccountOperationResult stop(BankAccountOperationResult result) {
+            stop(outcomeOf(result));
+            return result;
+        }
+
+        public List<BankAccountOperationResult> stop(List<BankAccountOperationResult> results) {
+            stop(outcomeOf(results));
+            return results;
+        }
+
+        public RuntimeException stop(RuntimeException exception) {
+            stop(outcomeOf(exception));
+            Counter.builder(EXCEPTION_COUNTER)
+                    .tag("operation", operation)
+                    .tag("exception", exception.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            return exception;
+        }
+
+        private void stop(String outcome) {
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                    .tag("operation", operation)
+                    .tag("account_type", accountType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
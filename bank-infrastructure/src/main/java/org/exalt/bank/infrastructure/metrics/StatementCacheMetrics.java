@@ -0,0 +1,32 @@
+package org.exalt.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.exalt.bank.infrastructure.cache.StatementCache;
+
+import java.util.function.ToDoubleFunction;
+
+public class StatementCacheMetrics implements MeterBinder {
+    private final StatementCache statementCache;
+
+    public StatementCacheMetrics(StatementCache statementCache) {
+        this.statementCache = statementCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "bank.statement.cache.hits", cache -> cache.stats().getHits());
+        counter(registry, "bank.statement.cache.misses", cache -> cache.stats().getMisses());
+        counter(registry, "bank.statement.cache.evictions", cache -> cache.stats().getEvictions());
+        counter(registry, "bank.statement.cache.expirations", cache -> cache.stats().getExpirations());
+        counter(registry, "bank.statement.cache.invalidations", cache -> cache.stats().getInvalidations());
+        Gauge.builder("bank.statement.cache.size", statementCache, cache -> cache.stats().getSize())
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, ToDoubleFunction<StatementCache> count) {
+        FunctionCounter.builder(name, statementCache, count).register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+package org.exalt.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class TimedBankAccountOperationUseCase implements BankAccountOperationUseCase {
+    static final String USE_CASE_TIMER = "bank.usecase";
+    // the delegate threw: nothing else would record the call, and the slowest calls are often the failing ones
+    static final String EXCEPTION_OUTCOME = "exception";
+
+    private final BankAccountOperationUseCase delegate;
+    private final MeterRegistry meterRegistry;
+
+    public TimedBankAccountOperationUseCase(BankAccountOperationUseCase delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public BankAccountOperationResult withdrawal(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var result = delegate.withdrawal(accountId, amount, idempotencyKey);
+            outcome = OperationMetrics.outcomeOf(result);
+            return result;
+        } finally {
+            sample.stop(timer("withdrawal", outcome));
+        }
+    }
+
+    @Override
+    public BankAccountOperationResult deposit(UUID accountId, BigDecimal amount, String idempotencyKey) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var result = delegate.deposit(accountId, amount, idempotencyKey);
+            outcome = OperationMetrics.outcomeOf(result);
+            return result;
+        } finally {
+            sample.stop(timer("deposit", outcome));
+        }
+    }
+
+    @Override
+    public List<BankAccountOperationResult> applyBatch(List<BankAccountOperationCommand> commands) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var results = delegate.applyBatch(commands);
+            outcome = OperationMetrics.outcomeOf(results);
+            return results;
+        } finally {
+            sample.stop(timer("applyBatch", outcome));
+        }
+    }
+
+    private Timer timer(String method, String outcome) {
+        return Timer.builder(USE_CASE_TIMER)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
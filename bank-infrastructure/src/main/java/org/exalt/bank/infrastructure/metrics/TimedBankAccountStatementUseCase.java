@@ -0,0 +1,86 @@
+package org.exalt.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.AccountOperationPage;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.exalt.bank.infrastructure.metrics.TimedBankAccountOperationUseCase.EXCEPTION_OUTCOME;
+import static org.exalt.bank.infrastructure.metrics.TimedBankAccountOperationUseCase.USE_CASE_TIMER;
+
+public class TimedBankAccountStatementUseCase implements BankAccountStatementUseCase {
+    private final BankAccountStatementUseCase delegate;
+    private final MeterRegistry meterRegistry;
+
+    public TimedBankAccountStatementUseCase(BankAccountStatementUseCase delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Optional<BankAccountStatement> retrieveAccountOperations(UUID accountId, LocalDateTime dateOfIssue) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var statement = delegate.retrieveAccountOperations(accountId, dateOfIssue);
+            outcome = statement.isPresent() ? "ok" : "empty";
+            return statement;
+        } finally {
+            sample.stop(timer("retrieveAccountOperations", outcome));
+        }
+    }
+
+    @Override
+    public AccountOperationPage retrieveAccountOperationsPage(UUID accountId, LocalDateTime dateOfIssue, AccountOperationCursor cursor, int pageSize) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var page = delegate.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, pageSize);
+            outcome = "ok";
+            return page;
+        } finally {
+            sample.stop(timer("retrieveAccountOperationsPage", outcome));
+        }
+    }
+
+    @Override
+    public void exportAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Consumer<AccountOperation> consumer) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            delegate.exportAccountOperations(accountId, startDate, endDate, consumer);
+            outcome = "ok";
+        } finally {
+            sample.stop(timer("exportAccountOperations", outcome));
+        }
+    }
+
+    @Override
+    public Optional<StatementSummary> retrieveStatementSummary(UUID accountId, LocalDateTime dateOfIssue) {
+        var sample = Timer.start(meterRegistry);
+        var outcome = EXCEPTION_OUTCOME;
+        try {
+            var summary = delegate.retrieveStatementSummary(accountId, dateOfIssue);
+            outcome = summary.isPresent() ? "ok" : "empty";
+            return summary;
+        } finally {
+            sample.stop(timer("retrieveStatementSummary", outcome));
+        }
+    }
+
+    private Timer timer(String method, String outcome) {
+        return Timer.builder(USE_CASE_TIMER)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
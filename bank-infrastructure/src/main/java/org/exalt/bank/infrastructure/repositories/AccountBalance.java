@@ -0,0 +1,7 @@
+package org.exalt.bank.infrastructure.repositories;
+
+import java.math.BigDecimal;
+
+// the balance and discriminator of an account, read without loading the entity
+public record AccountBalance(BigDecimal balance, String accountType) {
+}
@@ -0,0 +1,19 @@
+package org.exalt.bank.infrastructure.repositories;
+
+import org.exalt.bank.infrastructure.entities.BalanceSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshotEntity, BalanceSnapshotEntity.Key> {
+    Optional<BalanceSnapshotEntity> findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(UUID accountId, LocalDate snapshotDate);
+
+    @Modifying
+    @Query("UPDATE BalanceSnapshotEntity s SET s.closingBalance = :closingBalance WHERE s.accountId = :accountId AND s.snapshotDate = :snapshotDate")
+    int updateClosingBalance(UUID accountId, LocalDate snapshotDate, BigDecimal closingBalance);
+}
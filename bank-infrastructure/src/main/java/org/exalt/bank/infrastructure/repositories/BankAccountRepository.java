@@ -1,15 +1,115 @@
 package org.exalt.bank.infrastructure.repositories;
 
-import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.exalt.bank.infrastructure.entities.BankAccountEntity;
+import org.exalt.bank.infrastructure.statement.AccountAmount;
+import org.exalt.bank.infrastructure.statement.AccountOperationView;
+import org.exalt.bank.infrastructure.statement.OperationTypeTotal;
+import org.exalt.bank.infrastructure.statement.StatementOperationRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface BankAccountRepository extends JpaRepository<BankAccountEntity, UUID> {
-    @Query("SELECT op FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime BETWEEN :startDate AND :endDate ORDER BY op.operationDateTime DESC")
-    List<AccountOperationEntity> findOperationsByAccountId(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+    // the account id is the foreign key column itself, so the filter needs no join to bank_account_entity
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountOperationView(op.operationId, op.operationDateTime, op.amount, op.operationType, op.accountType) " +
+            "FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime BETWEEN :startDate AND :endDate ORDER BY op.operationDateTime DESC")
+    List<AccountOperationView> findOperationsByAccountId(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountOperationView(op.operationId, op.operationDateTime, op.amount, op.operationType, op.accountType) " +
+            "FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime BETWEEN :startDate AND :endDate " +
+            "ORDER BY op.operationDateTime DESC, op.operationId")
+    List<AccountOperationView> findFirstOperationsPage(UUID accountId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountOperationView(op.operationId, op.operationDateTime, op.amount, op.operationType, op.accountType) " +
+            "FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime >= :startDate " +
+            "AND (op.operationDateTime < :cursorDateTime OR (op.operationDateTime = :cursorDateTime AND op.operationId > :cursorOperationId)) " +
+            "ORDER BY op.operationDateTime DESC, op.operationId")
+    List<AccountOperationView> findOperationsPageAfter(UUID accountId, LocalDateTime startDate, LocalDateTime cursorDateTime, UUID cursorOperationId, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountOperationView(op.operationId, op.operationDateTime, op.amount, op.operationType, op.accountType) " +
+            "FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime BETWEEN :startDate AND :endDate " +
+            "ORDER BY op.operationDateTime DESC, op.operationId")
+    Stream<AccountOperationView> streamOperationsByAccountId(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    // the statement index bounds the scan to the window; only the per-type totals leave the database
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.OperationTypeTotal(op.operationType, SUM(op.amount), COUNT(op)) FROM AccountOperationEntity op " +
+            "WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime BETWEEN :startDate AND :endDate GROUP BY op.operationType")
+    List<OperationTypeTotal> sumOperationAmountsByType(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT new org.exalt.bank.infrastructure.repositories.AccountBalance(a.balance, a.accountType) FROM BankAccountEntity a WHERE a.accountId = :accountId")
+    AccountBalance findAccountBalanceById(UUID accountId);
+
+    @Query("SELECT a.balance FROM BankAccountEntity a WHERE a.accountId = :accountId")
+    BigDecimal findBalanceById(UUID accountId);
+
+    @Query("SELECT COALESCE(SUM(op.amount), 0) FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime >= :startDate AND op.operationDateTime <= :endDate")
+    BigDecimal sumOperationAmountsBetween(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT COALESCE(SUM(op.amount), 0) FROM AccountOperationEntity op WHERE op.bankAccount.accountId = :accountId AND op.operationDateTime > :dateTime")
+    BigDecimal sumOperationAmountsAfter(UUID accountId, LocalDateTime dateTime);
+
+    @Query("SELECT a.accountId FROM BankAccountEntity a ORDER BY a.accountId")
+    List<UUID> findFirstAccountIds(Pageable pageable);
+
+    @Query("SELECT a.accountId FROM BankAccountEntity a WHERE a.accountId > :afterAccountId ORDER BY a.accountId")
+    List<UUID> findAccountIdsAfter(UUID afterAccountId, Pageable pageable);
+
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountAmount(a.accountId, a.balance) FROM BankAccountEntity a WHERE a.accountId IN :accountIds")
+    List<AccountAmount> findBalancesByAccountIds(Collection<UUID> accountIds);
+
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.AccountAmount(op.bankAccount.accountId, SUM(op.amount)) FROM AccountOperationEntity op " +
+            "WHERE op.bankAccount.accountId IN :accountIds AND op.operationDateTime > :dateTime GROUP BY op.bankAccount.accountId")
+    List<AccountAmount> sumOperationAmountsAfterByAccountIds(Collection<UUID> accountIds, LocalDateTime dateTime);
+
+    // one range scan for a whole partition of accounts, each account's operations newest first as the statement fold expects
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new org.exalt.bank.infrastructure.statement.StatementOperationRow(op.bankAccount.accountId, op.operationId, op.operationDateTime, op.amount, op.operationType, op.accountType) " +
+            "FROM AccountOperationEntity op WHERE op.bankAccount.accountId IN :accountIds AND op.operationDateTime BETWEEN :startDate AND :endDate " +
+            "ORDER BY op.bankAccount.accountId, op.operationDateTime DESC, op.operationId")
+    Stream<StatementOperationRow> streamStatementOperations(Collection<UUID> accountIds, LocalDateTime startDate, LocalDateTime endDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM BankAccountEntity a WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<BankAccountEntity> findAllByIdForUpdate(Collection<UUID> accountIds);
+
+    // COALESCE so a row written before the version column was NOT NULL gets a version instead of keeping NULL
+    @Modifying
+    @Query(value = "UPDATE bank_account_entity SET balance = balance - :amount, version = COALESCE(version, 0) + 1 " +
+            "WHERE account_id = :accountId AND balance - :amount >= :floor", nativeQuery = true)
+    int debitBalance(UUID accountId, BigDecimal amount, BigDecimal floor);
+
+    @Modifying
+    @Query(value = "UPDATE bank_account_entity SET balance = balance + :amount, version = COALESCE(version, 0) + 1 " +
+            "WHERE account_id = :accountId", nativeQuery = true)
+    int creditBalance(UUID accountId, BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE bank_account_entity SET balance = balance + :amount, version = COALESCE(version, 0) + 1 " +
+            "WHERE account_id = :accountId AND balance + :amount <= :ceiling", nativeQuery = true)
+    int creditBalanceWithinLimit(UUID accountId, BigDecimal amount, BigDecimal ceiling);
+
+    // a current account has no deposit limit, so one guarded UPDATE serves both account types without reading either
+    @Modifying
+    @Query(value = "UPDATE bank_account_entity SET balance = balance + :amount, version = COALESCE(version, 0) + 1 " +
+            "WHERE account_id = :accountId AND (deposit_limit IS NULL OR balance + :amount <= deposit_limit)", nativeQuery = true)
+    int creditBalanceWithinOwnLimit(UUID accountId, BigDecimal amount);
 }
@@ -0,0 +1,14 @@
+package org.exalt.bank.infrastructure.repositories;
+
+import org.exalt.bank.infrastructure.entities.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecordEntity r SET r.succeeded = :succeeded, r.resultMessage = :resultMessage WHERE r.idempotencyKey = :idempotencyKey")
+    int updateResult(String idempotencyKey, boolean succeeded, String resultMessage);
+}
@@ -0,0 +1,6 @@
+package org.exalt.bank.infrastructure.statement;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AccountAmount(UUID accountId, BigDecimal amount) {}
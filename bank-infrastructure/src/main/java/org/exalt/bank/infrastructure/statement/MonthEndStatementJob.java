@@ -0,0 +1,325 @@
+package org.exalt.bank.infrastructure.statement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.StatementAggregates;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the statement of every account for a month. Accounts are paged by id into partitions; each partition is
+ * read with one range scan over its accounts' operations, folded account by account and written to its own file,
+ * which is moved into place and checkpointed once complete. A rerun after a failure skips checkpointed partitions.
+ * <p>
+ * Memory stays bounded by the partitions in flight, twice the parallelism, and by one account's month of operations
+ * per worker: nothing else is kept once written.
+ */
+public final class MonthEndStatementJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MonthEndStatementJob.class);
+    static final String CHECKPOINT_FILE = "checkpoint.csv";
+    static final String OPERATION_HEADER = "#OPERATION,accountId,operationId,operationDateTime,amount,operationType,accountType";
+    static final String SUMMARY_HEADER = "#SUMMARY,accountId,openingBalance,closingBalance,depositTotal,withdrawalTotal,operationCount,minBalance,maxBalance";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Path outputDirectory;
+    private final int partitionSize;
+    private final int parallelism;
+    private final Counter accountsWritten;
+    private final Counter operationsWritten;
+
+    private MonthEndStatementJob(Builder builder) {
+        if (builder.partitionSize < 1) {
+            throw new IllegalArgumentException("partitionSize must be at least 1");
+        }
+        if (builder.parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        bankAccountRepository = Objects.requireNonNull(builder.bankAccountRepository, "bankAccountRepository");
+        readOnlyTransactionTemplate = Objects.requireNonNull(builder.readOnlyTransactionTemplate, "readOnlyTransactionTemplate");
+        outputDirectory = Objects.requireNonNull(builder.outputDirectory, "outputDirectory");
+        partitionSize = builder.partitionSize;
+        parallelism = builder.parallelism;
+        accountsWritten = Counter.builder("bank.statements.month_end.accounts").register(builder.meterRegistry);
+        operationsWritten = Counter.builder("bank.statements.month_end.operations").register(builder.meterRegistry);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public MonthEndStatementReport run(YearMonth month) throws IOException, InterruptedException {
+        var directory = Files.createDirectories(outputDirectory.resolve(month.toString()));
+        var startDate = month.atDay(1).atStartOfDay();
+        var endDate = month.plusMonths(1).atDay(1).atStartOfDay().minusNanos(1);
+        var totalAccounts = bankAccountRepository.count();
+        var progress = new Progress(month, totalAccounts);
+        var failures = new ConcurrentLinkedQueue<Exception>();
+        var inFlight = new Semaphore(parallelism * 2);
+        var partitions = 0;
+        var resumedPartitions = 0;
+
+        LOGGER.info("Month-end statements for {}: {} accounts in partitions of {}, {} in parallel, into {}",
+                month, totalAccounts, partitionSize, parallelism, directory);
+        try (var checkpoint = StatementCheckpoint.open(directory.resolve(CHECKPOINT_FILE))) {
+            var executor = newExecutor();
+            try {
+                var accountIds = bankAccountRepository.findFirstAccountIds(PageRequest.of(0, partitionSize));
+                while (!accountIds.isEmpty() && failures.isEmpty()) {
+                    var index = partitions++;
+                    var partition = accountIds;
+                    if (checkpoint.isCompleted(index, partition)) {
+                        resumedPartitions++;
+                        progress.resumed(partition.size());
+                    } else {
+                        // bounds what is queued: each pending partition holds its account ids
+                        inFlight.acquire();
+                        executor.execute(() -> {
+                            try {
+                                var operations = writePartition(directory, index, partition, startDate, endDate);
+                                checkpoint.markCompleted(index, partition);
+                                progress.completed(index, partition.size(), operations);
+                            } catch (IOException | RuntimeException e) {
+                                LOGGER.error("Month-end statements for {}: partition {} failed: {}", month, index, e.getMessage());
+                                failures.add(e);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    }
+                    accountIds = bankAccountRepository.findAccountIdsAfter(partition.get(partition.size() - 1), PageRequest.of(0, partitionSize));
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (!failures.isEmpty()) {
+            var failure = new IllegalStateException(failures.size() + " month-end statement partitions failed for " + month
+                    + ", run the job again to resume from the checkpoint");
+            failures.forEach(failure::addSuppressed);
+            throw failure;
+        }
+        var report = progress.report(partitions, resumedPartitions);
+        LOGGER.info("Month-end statements for {} done: {} partitions ({} resumed), {} accounts, {} operations in {} ({} accounts/s)",
+                month, partitions, resumedPartitions, report.accounts(), report.operations(), report.elapsed(), Math.round(report.accountsPerSecond()));
+        return report;
+    }
+
+    private ExecutorService newExecutor() {
+        var threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "month-end-statements-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // written next to its final name and moved once complete, so a partition file is either whole or absent
+    private long writePartition(Path directory, int index, List<UUID> accountIds, LocalDateTime startDate, LocalDateTime endDate) throws IOException {
+        var fileName = String.format("statements-%05d.csv", index);
+        var temporary = directory.resolve(fileName + ".tmp");
+        long operations;
+        try (var writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write(OPERATION_HEADER);
+            writer.write('\n');
+            writer.write(SUMMARY_HEADER);
+            writer.write('\n');
+            operations = readOnlyTransactionTemplate.execute(status -> writeStatements(writer, accountIds, startDate, endDate));
+        }
+        Files.move(temporary, directory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return operations;
+    }
+
+    private long writeStatements(Writer writer, List<UUID> accountIds, LocalDateTime startDate, LocalDateTime endDate) {
+        var closingBalances = closingBalances(accountIds, endDate);
+        var written = new HashSet<UUID>(accountIds.size() * 2);
+        var accountOperations = new ArrayList<AccountOperation>();
+        UUID accountId = null;
+        long operations = 0;
+        try (var rows = bankAccountRepository.streamStatementOperations(accountIds, startDate, endDate)) {
+            for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+                var row = iterator.next();
+                if (!row.accountId().equals(accountId)) {
+                    writeSummary(writer, accountId, closingBalances, accountOperations, written);
+                    accountId = row.accountId();
+                }
+                var operation = row.toAccountOperation();
+                accountOperations.add(operation);
+                writeOperation(writer, accountId, operation);
+                operations++;
+            }
+        }
+        writeSummary(writer, accountId, closingBalances, accountOperations, written);
+        // accounts without any operation in the month still get a statement
+        for (var withoutOperations : accountIds) {
+            if (!written.contains(withoutOperations)) {
+                writeSummary(writer, withoutOperations, closingBalances, accountOperations, written);
+            }
+        }
+        return operations;
+    }
+
+    // the balance at the end of the month is the current balance minus whatever was booked after it
+    private Map<UUID, BigDecimal> closingBalances(List<UUID> accountIds, LocalDateTime endDate) {
+        var balances = new HashMap<UUID, BigDecimal>(accountIds.size() * 2);
+        bankAccountRepository.findBalancesByAccountIds(accountIds).forEach(balance -> balances.put(balance.accountId(), balance.amount()));
+        bankAccountRepository.sumOperationAmountsAfterByAccountIds(accountIds, endDate)
+                .forEach(sum -> balances.computeIfPresent(sum.accountId(), (id, balance) -> balance.subtract(sum.amount())));
+        return balances;
+    }
+
+    private void writeSummary(Writer writer, UUID accountId, Map<UUID, BigDecimal> closingBalances, List<AccountOperation> accountOperations, Set<UUID> written) {
+        if (accountId == null) {
+            return;
+        }
+        written.add(accountId);
+        var closingBalance = closingBalances.get(accountId);
+        // closed while the job ran: no balance to state
+        if (closingBalance != null) {
+            var aggregates = StatementAggregates.of(closingBalance, accountOperations);
+            writeLine(writer, "SUMMARY," + accountId + "," +
+                    aggregates.getOpeningBalance().toPlainString() + "," +
+                    closingBalance.toPlainString() + "," +
+                    aggregates.getDepositTotal().toPlainString() + "," +
+                    aggregates.getWithdrawalTotal().toPlainString() + "," +
+                    aggregates.getOperationCount() + "," +
+                    aggregates.getMinBalance().toPlainString() + "," +
+                    aggregates.getMaxBalance().toPlainString());
+        }
+        accountOperations.clear();
+    }
+
+    private static void writeOperation(Writer writer, UUID accountId, AccountOperation operation) {
+        writeLine(writer, "OPERATION," + accountId + "," +
+                operation.getOperationId() + "," +
+                operation.getOperationDateTime().format(FORMATTER) + "," +
+                operation.getAmount().toPlainString() + "," +
+                operation.getOperationType() + "," +
+                (operation.getAccountType() == null ? "" : operation.getAccountType()));
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Progress {
+        private final YearMonth month;
+        private final long totalAccounts;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong doneAccounts = new AtomicLong();
+        private final AtomicLong writtenAccounts = new AtomicLong();
+        private final AtomicLong writtenOperations = new AtomicLong();
+
+        private Progress(YearMonth month, long totalAccounts) {
+            this.month = month;
+            this.totalAccounts = totalAccounts;
+        }
+
+        void resumed(int accounts) {
+            doneAccounts.addAndGet(accounts);
+        }
+
+        void completed(int index, int accounts, long operations) {
+            accountsWritten.increment(accounts);
+            operationsWritten.increment(operations);
+            var done = doneAccounts.addAndGet(accounts);
+            var written = writtenAccounts.addAndGet(accounts);
+            writtenOperations.addAndGet(operations);
+            var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            LOGGER.info("Month-end statements for {}: partition {} written, {}/{} accounts, {} accounts/s",
+                    month, index, done, totalAccounts, written * 1_000 / elapsedMillis);
+        }
+
+        MonthEndStatementReport report(int partitions, int resumedPartitions) {
+            return new MonthEndStatementReport(month, partitions, resumedPartitions, writtenAccounts.get(), writtenOperations.get(),
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+
+    public static final class Builder {
+        private BankAccountRepository bankAccountRepository;
+        private TransactionTemplate readOnlyTransactionTemplate;
+        private Path outputDirectory;
+        private int partitionSize = 1_000;
+        private int parallelism = 4;
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private Builder() {}
+
+        public Builder withBankAccountRepository(BankAccountRepository bankAccountRepository) {
+            this.bankAccountRepository = bankAccountRepository;
+            return this;
+        }
+
+        public Builder withReadOnlyTransactionTemplate(TransactionTemplate readOnlyTransactionTemplate) {
+            this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+            return this;
+        }
+
+        public Builder withOutputDirectory(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+            return this;
+        }
+
+        // accounts per partition, which is also the size of the IN lists the partition queries bind
+        public Builder withPartitionSize(int partitionSize) {
+            this.partitionSize = partitionSize;
+            return this;
+        }
+
+        // each worker holds a connection for the length of its partition's scan
+        public Builder withParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public MonthEndStatementJob build() {
+            return new MonthEndStatementJob(this);
+        }
+    }
+}
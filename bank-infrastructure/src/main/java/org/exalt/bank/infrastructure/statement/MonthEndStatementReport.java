@@ -0,0 +1,12 @@
+package org.exalt.bank.infrastructure.statement;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+public record MonthEndStatementReport(YearMonth month, int partitions, int resumedPartitions, long accounts, long operations, Duration elapsed) {
+
+    // accounts written by this run only, resumed partitions took no time
+    public double accountsPerSecond() {
+        return accounts * 1_000.0 / Math.max(1, elapsed.toMillis());
+    }
+}
@@ -0,0 +1,7 @@
+package org.exalt.bank.infrastructure.statement;
+
+import org.exalt.bank.infrastructure.enums.OperationType;
+
+import java.math.BigDecimal;
+
+public record OperationTypeTotal(OperationType operationType, BigDecimal total, Long count) {}
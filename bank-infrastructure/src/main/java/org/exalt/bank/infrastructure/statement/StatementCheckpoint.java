@@ -0,0 +1,64 @@
+package org.exalt.bank.infrastructure.statement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only log of the partitions whose statement file has been moved into place, one
+ * {@code index,firstAccountId,lastAccountId} line each. A partition only counts as done when its bounds still match:
+ * accounts opened since the previous attempt shift the partitions after them, which are then written again.
+ */
+final class StatementCheckpoint implements Closeable {
+    private final FileChannel channel;
+    private final Map<Integer, String> completed = new ConcurrentHashMap<>();
+
+    private StatementCheckpoint(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    static StatementCheckpoint open(Path file) throws IOException {
+        var checkpoint = new StatementCheckpoint(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+        for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            // a line cut short by a crash has no comma after its index and is ignored
+            var separator = line.indexOf(',');
+            if (separator > 0 && line.indexOf(',', separator + 1) > 0) {
+                checkpoint.completed.put(Integer.parseInt(line.substring(0, separator)), line);
+            }
+        }
+        return checkpoint;
+    }
+
+    boolean isCompleted(int index, List<UUID> accountIds) {
+        return line(index, accountIds).equals(completed.get(index));
+    }
+
+    synchronized void markCompleted(int index, List<UUID> accountIds) throws IOException {
+        var line = line(index, accountIds);
+        channel.write(ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+        channel.force(false);
+        completed.put(index, line);
+    }
+
+    int completedCount() {
+        return completed.size();
+    }
+
+    private static String line(int index, List<UUID> accountIds) {
+        return index + "," + accountIds.get(0) + "," + accountIds.get(accountIds.size() - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,23 @@
+package org.exalt.bank.infrastructure.statement;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.infrastructure.enums.OperationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// a projection rather than the entity: rows read by the month-end scan never enter the persistence context
+public record StatementOperationRow(UUID accountId, UUID operationId, LocalDateTime operationDateTime, BigDecimal amount,
+                                    OperationType operationType, String accountType) {
+
+    public AccountOperation toAccountOperation() {
+        return AccountOperation.builder()
+                .withOperationId(operationId)
+                .withOperationDateTime(operationDateTime)
+                .withAmount(amount)
+                .withOperationType(operationType.toDomainOperationType())
+                .withAccountType(accountType)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+-- Run order, each script once and only if its schema change is still missing:
+--   1. uuid-binary16.sql          (CHAR(36) keys to BINARY(16), still on the JOINED account tables)
+--   2. single-table-accounts.sql  (JOINED account tables folded into bank_account_entity)
+--   3. account-version.sql        (optimistic lock version on bank_account_entity)
+--
+-- Adds the optimistic lock version the entities and the guarded balance updates bump. Existing accounts start at 0:
+-- a NULL version never increments ("NULL + 1" is NULL), so Hibernate would treat every such row as never versioned.
+--
+-- Run once on MySQL, with the application stopped and spring.jpa.hibernate.ddl-auto set to none or validate.
+
+ALTER TABLE bank_account_entity ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- on a schema where ddl-auto=update already added the column as nullable, run these two instead of the ALTER above
+-- UPDATE bank_account_entity SET version = 0 WHERE version IS NULL;
+-- ALTER TABLE bank_account_entity MODIFY version BIGINT NOT NULL DEFAULT 0;
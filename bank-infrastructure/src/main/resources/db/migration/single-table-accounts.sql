@@ -0,0 +1,25 @@
+-- Run order, each script once and only if its schema change is still missing:
+--   1. uuid-binary16.sql          (CHAR(36) keys to BINARY(16), still on the JOINED account tables)
+--   2. single-table-accounts.sql  (JOINED account tables folded into bank_account_entity)
+--   3. account-version.sql        (optimistic lock version on bank_account_entity)
+--
+-- Folds the JOINED account hierarchy (bank_account_entity plus current_account_entity and saving_account_entity)
+-- into the single bank_account_entity table the entities now map to, with account_type as discriminator.
+-- Run once on MySQL, with the application stopped and spring.jpa.hibernate.ddl-auto set to none or validate.
+
+ALTER TABLE bank_account_entity
+    ADD COLUMN account_type VARCHAR(16) NULL,
+    ADD COLUMN overdraft_limit DECIMAL(38, 2) NULL,
+    ADD COLUMN deposit_limit DECIMAL(38, 2) NULL;
+
+UPDATE bank_account_entity a JOIN current_account_entity c ON c.account_id = a.account_id
+SET a.account_type = 'Current', a.overdraft_limit = c.overdraft_limit;
+
+UPDATE bank_account_entity a JOIN saving_account_entity s ON s.account_id = a.account_id
+SET a.account_type = 'Saving', a.deposit_limit = s.deposit_limit;
+
+-- fails with "Invalid use of NULL value" on an account found in neither subclass table, before anything is dropped
+ALTER TABLE bank_account_entity MODIFY account_type VARCHAR(16) NOT NULL;
+
+DROP TABLE current_account_entity;
+DROP TABLE saving_account_entity;
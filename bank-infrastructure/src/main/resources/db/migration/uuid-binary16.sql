@@ -0,0 +1,44 @@
+-- Run order, each script once and only if its schema change is still missing:
+--   1. uuid-binary16.sql          (CHAR(36) keys to BINARY(16), still on the JOINED account tables)
+--   2. single-table-accounts.sql  (JOINED account tables folded into bank_account_entity)
+--   3. account-version.sql        (optimistic lock version on bank_account_entity)
+--
+-- Converts a MySQL schema whose UUID keys were created as CHAR(36) (Hibernate 5 or an older dialect) to the
+-- BINARY(16) layout the entities map to. Existing ids keep their values: UUID_TO_BIN without the swap flag writes
+-- the RFC byte order, the one Hibernate and the reactive adapters bind. Only ids generated from now on are
+-- time-ordered, so new operations append to the right end of the primary key while old rows stay where they are.
+--
+-- Run once, with the application stopped and spring.jpa.hibernate.ddl-auto set to none or validate.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- each column goes through VARBINARY(36) first: a character column cannot hold the raw bytes UUID_TO_BIN returns
+ALTER TABLE bank_account_entity MODIFY account_id VARBINARY(36) NOT NULL;
+UPDATE bank_account_entity SET account_id = UUID_TO_BIN(account_id) WHERE LENGTH(account_id) = 36;
+ALTER TABLE bank_account_entity MODIFY account_id BINARY(16) NOT NULL;
+
+ALTER TABLE current_account_entity MODIFY account_id VARBINARY(36) NOT NULL;
+UPDATE current_account_entity SET account_id = UUID_TO_BIN(account_id) WHERE LENGTH(account_id) = 36;
+ALTER TABLE current_account_entity MODIFY account_id BINARY(16) NOT NULL;
+
+ALTER TABLE saving_account_entity MODIFY account_id VARBINARY(36) NOT NULL;
+UPDATE saving_account_entity SET account_id = UUID_TO_BIN(account_id) WHERE LENGTH(account_id) = 36;
+ALTER TABLE saving_account_entity MODIFY account_id BINARY(16) NOT NULL;
+
+ALTER TABLE account_operation_entity MODIFY operation_id VARBINARY(36) NOT NULL, MODIFY bank_account_account_id VARBINARY(36);
+UPDATE account_operation_entity SET operation_id = UUID_TO_BIN(operation_id) WHERE LENGTH(operation_id) = 36;
+UPDATE account_operation_entity SET bank_account_account_id = UUID_TO_BIN(bank_account_account_id) WHERE LENGTH(bank_account_account_id) = 36;
+ALTER TABLE account_operation_entity MODIFY operation_id BINARY(16) NOT NULL, MODIFY bank_account_account_id BINARY(16);
+
+ALTER TABLE balance_snapshot_entity MODIFY account_id VARBINARY(36) NOT NULL;
+UPDATE balance_snapshot_entity SET account_id = UUID_TO_BIN(account_id) WHERE LENGTH(account_id) = 36;
+ALTER TABLE balance_snapshot_entity MODIFY account_id BINARY(16) NOT NULL;
+
+ALTER TABLE idempotency_record MODIFY account_id VARBINARY(36);
+UPDATE idempotency_record SET account_id = UUID_TO_BIN(account_id) WHERE LENGTH(account_id) = 36;
+ALTER TABLE idempotency_record MODIFY account_id BINARY(16);
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- rebuilds the clustered index and the statement index in key order once the columns are converted
+OPTIMIZE TABLE account_operation_entity;
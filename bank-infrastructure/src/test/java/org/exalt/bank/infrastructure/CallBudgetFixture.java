@@ -0,0 +1,67 @@
+package org.exalt.bank.infrastructure;
+
+import org.exalt.bank.infrastructure.adapter.BankAccountOperationService;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// the account and the statement counts the SqlStatementBudget and QueryRecorder tests measure the same calls against;
+// Hibernate's prepared statements and the data source's executed statements agree, the recorder also counts a commit
+// per transaction as a round trip
+public class CallBudgetFixture {
+    // guarded balance update, balance read, operation insert, snapshot update
+    public static final long DEPOSIT_STATEMENTS = 4;
+    // account load, balance update, operation insert, balance read, snapshot update
+    public static final long WITHDRAWAL_STATEMENTS = 5;
+    // operations window, then with no snapshot before today: snapshot lookup, current balance and the sum of the
+    // operations after the issue date, in two read-only transactions
+    public static final long STATEMENT_STATEMENTS = 4;
+    public static final long STATEMENT_TRANSACTIONS = 2;
+    public static final int STATEMENT_OPERATIONS = 50;
+
+    private final BankAccountOperationService bankAccountOperationService;
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountOperationRepository accountOperationRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    public CallBudgetFixture(BankAccountOperationService bankAccountOperationService, BankAccountRepository bankAccountRepository,
+                             AccountOperationRepository accountOperationRepository, BalanceSnapshotRepository balanceSnapshotRepository) {
+        this.bankAccountOperationService = bankAccountOperationService;
+        this.bankAccountRepository = bankAccountRepository;
+        this.accountOperationRepository = accountOperationRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+    }
+
+    public UUID createAccount() {
+        var accountId = UUID.randomUUID();
+        var account = new CurrentAccountEntity();
+        account.setAccountId(accountId);
+        account.setBalance(new BigDecimal("1000.00"));
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCreatedAt(LocalDate.now());
+        account.setOverdraftLimit(new BigDecimal("500.00"));
+        bankAccountRepository.save(account);
+        // the first operation of the day inserts the day's snapshot, the budgets are for the ones that follow
+        bankAccountOperationService.deposit(accountId, new BigDecimal("10.00"));
+        return accountId;
+    }
+
+    // leaves the account with STATEMENT_OPERATIONS operations after the one createAccount made
+    public void fillStatement(UUID accountId) {
+        for (int index = 0; index < STATEMENT_OPERATIONS; index++) {
+            bankAccountOperationService.deposit(accountId, new BigDecimal("1.00"));
+        }
+    }
+
+    public void deleteAll() {
+        balanceSnapshotRepository.deleteAll();
+        accountOperationRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+}
@@ -0,0 +1,7 @@
+package org.exalt.bank.infrastructure;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class InfrastructureTestApplication {
+}
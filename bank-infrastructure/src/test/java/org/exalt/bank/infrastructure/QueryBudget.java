@@ -0,0 +1,7 @@
+package org.exalt.bank.infrastructure;
+
+import java.time.Duration;
+
+// the most a call may cost the database: statements executed, calls that reach the driver, and time spent in them
+public record QueryBudget(long statements, long roundTrips, Duration dbTime) {
+}
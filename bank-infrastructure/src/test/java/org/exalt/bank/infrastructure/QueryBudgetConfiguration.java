@@ -0,0 +1,27 @@
+package org.exalt.bank.infrastructure;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// import it in a @SpringBootTest to have the data source report to the QueryRecorder bean
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfiguration {
+
+    @Bean
+    public static QueryRecorder queryRecorder() {
+        return new QueryRecorder();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryRecordingDataSourcePostProcessor(QueryRecorder queryRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? QueryRecordingDataSource.wrap(dataSource, queryRecorder) : bean;
+            }
+        };
+    }
+}
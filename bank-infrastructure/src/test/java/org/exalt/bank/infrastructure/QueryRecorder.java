@@ -0,0 +1,49 @@
+package org.exalt.bank.infrastructure;
+
+import org.assertj.core.api.SoftAssertions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// what the calls through a QueryRecordingDataSource cost the database; the counters are global, so no concurrent calls
+public class QueryRecorder {
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong dbTimeNanos = new AtomicLong();
+
+    void record(long statementCount, long elapsedNanos) {
+        statements.addAndGet(statementCount);
+        roundTrips.incrementAndGet();
+        dbTimeNanos.addAndGet(elapsedNanos);
+    }
+
+    public void reset() {
+        statements.set(0);
+        roundTrips.set(0);
+        dbTimeNanos.set(0);
+    }
+
+    public long statements() {
+        return statements.get();
+    }
+
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    public Duration dbTime() {
+        return Duration.ofNanos(dbTimeNanos.get());
+    }
+
+    public <T> T assertWithin(String call, QueryBudget budget, Supplier<T> action) {
+        reset();
+        var result = action.get();
+        var softly = new SoftAssertions();
+        softly.assertThat(statements()).as("%s statements", call).isLessThanOrEqualTo(budget.statements());
+        softly.assertThat(roundTrips()).as("%s round trips", call).isLessThanOrEqualTo(budget.roundTrips());
+        softly.assertThat(dbTime()).as("%s time in the database", call).isLessThanOrEqualTo(budget.dbTime());
+        softly.assertAll();
+        return result;
+    }
+}
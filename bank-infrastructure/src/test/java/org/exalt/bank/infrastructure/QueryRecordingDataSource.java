@@ -0,0 +1,94 @@
+package org.exalt.bank.infrastructure;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Wraps a data source so every connection and statement it hands out reports to a {@link QueryRecorder}: each call
+ * that reaches the driver (an execute, a batch, a commit or a rollback) is one round trip and is timed, and counts
+ * the statements it carries, so a batch of inserts is many statements in one round trip. Time spent reading result
+ * sets is not counted.
+ */
+public final class QueryRecordingDataSource implements InvocationHandler {
+    private static final List<Class<?>> WRAPPED_TYPES = List.of(Connection.class, CallableStatement.class, PreparedStatement.class, Statement.class);
+
+    private final Object target;
+    private final QueryRecorder recorder;
+    // a statement proxy is used by one thread at a time, as the statement itself is
+    private long pendingBatch;
+
+    private QueryRecordingDataSource(Object target, QueryRecorder recorder) {
+        this.target = target;
+        this.recorder = recorder;
+    }
+
+    public static DataSource wrap(DataSource dataSource, QueryRecorder recorder) {
+        return proxy(DataSource.class, dataSource, recorder);
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, QueryRecorder recorder) {
+        return type.cast(Proxy.newProxyInstance(QueryRecordingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                new QueryRecordingDataSource(target, recorder)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        var name = method.getName();
+        switch (name) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "addBatch" -> pendingBatch++;
+            case "clearBatch" -> pendingBatch = 0;
+            default -> {
+            }
+        }
+        var roundTrip = name.startsWith("execute") || name.equals("commit") || name.equals("rollback");
+        var startedAt = roundTrip ? System.nanoTime() : 0L;
+        try {
+            var result = method.invoke(target, args);
+            return wrapped(method.getReturnType(), result);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            if (roundTrip) {
+                recorder.record(statementsOf(name), System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private long statementsOf(String name) {
+        if (name.equals("commit") || name.equals("rollback")) {
+            return 0;
+        }
+        if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+            var statements = pendingBatch;
+            pendingBatch = 0;
+            return statements;
+        }
+        return 1;
+    }
+
+    private Object wrapped(Class<?> returnType, Object result) {
+        if (result == null) {
+            return null;
+        }
+        for (var type : WRAPPED_TYPES) {
+            if (type == returnType) {
+                return proxy(type, result, recorder);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package org.exalt.bank.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryRecordingDataSourceTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Test
+    void should_count_a_batch_as_many_statements_in_one_round_trip() throws Exception {
+        // Arrange
+        var recorder = new QueryRecorder();
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("INSERT")).thenReturn(preparedStatement);
+        var recorded = QueryRecordingDataSource.wrap(dataSource, recorder);
+
+        // Act
+        try (var recordedConnection = recorded.getConnection()) {
+            var statement = recordedConnection.prepareStatement("INSERT");
+            statement.addBatch();
+            statement.addBatch();
+            statement.addBatch();
+            statement.executeBatch();
+            recordedConnection.commit();
+        }
+
+        // Assert
+        assertThat(recorder.statements()).isEqualTo(3);
+        assertThat(recorder.roundTrips()).isEqualTo(2);
+        verify(preparedStatement).executeBatch();
+        verify(connection).close();
+    }
+
+    @Test
+    void should_count_each_execute_as_one_statement_and_one_round_trip() throws Exception {
+        // Arrange
+        var recorder = new QueryRecorder();
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT")).thenReturn(preparedStatement);
+        var recorded = QueryRecordingDataSource.wrap(dataSource, recorder);
+
+        // Act
+        var statement = recorded.getConnection().prepareStatement("SELECT");
+        statement.executeQuery();
+        statement.executeQuery();
+
+        // Assert
+        assertThat(recorder.statements()).isEqualTo(2);
+        assertThat(recorder.roundTrips()).isEqualTo(2);
+    }
+}
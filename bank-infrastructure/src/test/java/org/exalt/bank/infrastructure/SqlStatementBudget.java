@@ -0,0 +1,34 @@
+package org.exalt.bank.infrastructure;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// counts the statements Hibernate prepares while a call runs and fails when there are more than the call's budget;
+// needs spring.jpa.properties.hibernate.generate_statistics=true, and the statistics are global, so no concurrent calls
+public class SqlStatementBudget {
+    private final Statistics statistics;
+
+    public SqlStatementBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled: set spring.jpa.properties.hibernate.generate_statistics=true");
+        }
+    }
+
+    public <T> T assertWithin(String call, long maxStatements, Supplier<T> action) {
+        statistics.clear();
+        var result = action.get();
+        var statements = statistics.getPrepareStatementCount();
+        assertThat(statements)
+                .as("%s prepared %d SQL statements for a budget of %d (entity loads: %d, collection loads: %d, inserts: %d, queries: %d)",
+                        call, statements, maxStatements, statistics.getEntityLoadCount(), statistics.getCollectionLoadCount(),
+                        statistics.getEntityInsertCount(), statistics.getQueryExecutionCount())
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+}
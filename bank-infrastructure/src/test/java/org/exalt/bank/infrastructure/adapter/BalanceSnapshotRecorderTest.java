@@ -0,0 +1,70 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.entities.BalanceSnapshotEntity;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceSnapshotRecorderTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @InjectMocks
+    private BalanceSnapshotRecorder balanceSnapshotRecorder;
+
+    private static AccountOperationEntity buildOperation(LocalDateTime operationDateTime, String amount) {
+        return AccountOperationEntity.builder()
+                .withOperationId(UUID.randomUUID())
+                .withOperationDateTime(operationDateTime)
+                .withAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    void should_update_the_existing_snapshot_of_the_day() {
+        // Arrange
+        when(balanceSnapshotRepository.updateClosingBalance(ACCOUNT_ID, TODAY, new BigDecimal("900"))).thenReturn(1);
+
+        // Act
+        balanceSnapshotRecorder.record(ACCOUNT_ID, new BigDecimal("900"), List.of(buildOperation(TODAY.atTime(10, 0), "-100")));
+
+        // Assert
+        verify(balanceSnapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void should_close_each_day_spanned_by_the_operations() {
+        // Arrange
+        var yesterday = TODAY.minusDays(1);
+        var operations = List.of(
+                buildOperation(yesterday.atTime(23, 59), "50"),
+                buildOperation(TODAY.atTime(0, 1), "-20"),
+                buildOperation(TODAY.atTime(0, 2), "10"));
+
+        // Act
+        balanceSnapshotRecorder.record(ACCOUNT_ID, new BigDecimal("1040"), operations);
+
+        // Assert
+        verify(balanceSnapshotRepository).save(BalanceSnapshotEntity.builder()
+                .withAccountId(ACCOUNT_ID).withSnapshotDate(TODAY).withClosingBalance(new BigDecimal("1040")).build());
+        verify(balanceSnapshotRepository).updateClosingBalance(ACCOUNT_ID, yesterday, new BigDecimal("1050"));
+    }
+}
@@ -0,0 +1,111 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.entities.BalanceSnapshotEntity;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BankAccountOperationServiceContentionTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BankAccountOperationServiceContentionTest.class);
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 100;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+    private static final BigDecimal OVERDRAFT_LIMIT = new BigDecimal("500.00");
+
+    @Autowired
+    private BankAccountOperationService bankAccountOperationService;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @AfterEach
+    void tearDown() {
+        balanceSnapshotRepository.deleteAll();
+        accountOperationRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @Test
+    void should_keep_balance_equal_to_sum_of_successful_operations_under_contention() throws Exception {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var account = new CurrentAccountEntity();
+        account.setAccountId(accountId);
+        account.setBalance(INITIAL_BALANCE);
+        account.setStatus(AccountStatus.ACTIVATED);
+        account.setCreatedAt(LocalDate.now());
+        account.setOverdraftLimit(OVERDRAFT_LIMIT);
+        bankAccountRepository.save(account);
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var aborted = new AtomicInteger();
+        var futures = new ArrayList<Future<BigDecimal>>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                var appliedDelta = BigDecimal.ZERO;
+                start.await();
+                for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                    var amount = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 50)).setScale(2);
+                    var deposit = ThreadLocalRandom.current().nextBoolean();
+                    try {
+                        var result = deposit
+                                ? bankAccountOperationService.deposit(accountId, amount)
+                                : bankAccountOperationService.withdrawal(accountId, amount);
+                        if (result instanceof BankAccountOperationResult.Ok) {
+                            appliedDelta = appliedDelta.add(deposit ? amount : amount.negate());
+                        }
+                    } catch (BankOperationsException e) {
+                        aborted.incrementAndGet();
+                    }
+                }
+                return appliedDelta;
+            }));
+        }
+
+        // Act
+        var startedAt = System.nanoTime();
+        start.countDown();
+        var expectedBalance = INITIAL_BALANCE;
+        for (var future : futures) {
+            expectedBalance = expectedBalance.add(future.get());
+        }
+        var elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        executor.shutdown();
+        LOGGER.info("{} operations on one account from {} threads in {} ms ({} aborted after retries)",
+                THREADS * OPERATIONS_PER_THREAD, THREADS, elapsedMillis, aborted.get());
+
+        // Assert
+        var actualBalance = bankAccountRepository.findById(accountId).orElseThrow().getBalance();
+        assertThat(actualBalance).isEqualByComparingTo(expectedBalance);
+        assertThat(actualBalance).isGreaterThanOrEqualTo(OVERDRAFT_LIMIT.negate());
+        var snapshot = balanceSnapshotRepository.findById(new BalanceSnapshotEntity.Key(accountId, LocalDate.now()));
+        assertThat(snapshot).hasValueSatisfying(closing -> assertThat(closing.getClosingBalance()).isEqualByComparingTo(actualBalance));
+    }
+}
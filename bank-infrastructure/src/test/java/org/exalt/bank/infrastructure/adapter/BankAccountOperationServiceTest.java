@@ -1,29 +1,48 @@
 package org.exalt.bank.infrastructure.adapter;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
 import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
 import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.infrastructure.configuration.DatabaseConcurrencyLimiter;
+import org.exalt.bank.infrastructure.configuration.RetryPolicy;
 import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
 import org.exalt.bank.infrastructure.entities.BankAccountEntity;
 import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
 import org.exalt.bank.infrastructure.entities.SavingAccountEntity;
 import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.idempotency.IdempotencyStore;
+import org.exalt.bank.infrastructure.metrics.OperationMetrics;
+import org.exalt.bank.infrastructure.repositories.AccountBalance;
 import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
 import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -32,6 +51,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
 import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.enums.OperationType.DEPOSIT;
+import static org.exalt.bank.infrastructure.enums.OperationType.WITHDRAWAL;
+import static org.mockito.AdditionalMatchers.cmpEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,9 +62,27 @@ class BankAccountOperationServiceTest {
     private BankAccountRepository bankAccountRepository;
     @Mock
     private AccountOperationRepository accountOperationRepository;
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private BalanceSnapshotRecorder balanceSnapshotRecorder;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private IdempotencyStore idempotencyStore;
     private BankAccountOperationService bankAccountOperationService;
 
+    @BeforeEach
+    void setUp() {
+        var retryPolicy = RetryPolicy.builder()
+                .withMaxAttempts(3)
+                .withInitialBackoff(Duration.ZERO)
+                .build();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        bankAccountOperationService = new BankAccountOperationService(bankAccountRepository, accountOperationRepository, transactionTemplate, retryPolicy,
+                DatabaseConcurrencyLimiter.builder().build(), balanceSnapshotRecorder, eventPublisher, new OperationMetrics(new SimpleMeterRegistry()), idempotencyStore, 2);
+    }
+
     private static BankAccountEntity buildCurrentAccountEntity(UUID accountId, BigDecimal balance, BigDecimal overdraftLimit) {
         var currentAccount = new CurrentAccountEntity();
         currentAccount.setAccountId(accountId);
@@ -90,6 +130,7 @@ class BankAccountOperationServiceTest {
         void should_succeed_withdrawal_when_conditions_are_valid(BankAccountEntity account, BigDecimal withdrawalAmount) {
             // Arrange
             when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.debitBalance(eq(account.getAccountId()), eq(withdrawalAmount), any())).thenReturn(1);
 
             // Act
             var actual = bankAccountOperationService.withdrawal(account.getAccountId(), withdrawalAmount);
@@ -97,7 +138,60 @@ class BankAccountOperationServiceTest {
             // Assert
             assertThat(actual).isEqualTo(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
             verify(accountOperationRepository, times(1)).save(any(AccountOperationEntity.class));
-            verify(bankAccountRepository, times(1)).save(any(BankAccountEntity.class));
+            verify(balanceSnapshotRecorder).record(eq(account.getAccountId()), any(), anyList());
+            verify(eventPublisher).publishEvent(new AccountOperationsRecordedEvent(Set.of(account.getAccountId())));
+            verify(bankAccountRepository, never()).save(any(BankAccountEntity.class));
+        }
+
+        @Test
+        void should_return_failed_withdrawal_operation_when_guarded_update_is_rejected() {
+            // Arrange
+            var account = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000"), new BigDecimal("200"));
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.debitBalance(eq(account.getAccountId()), eq(new BigDecimal("1100")), cmpEq(new BigDecimal("-200")))).thenReturn(0);
+
+            // Act
+            var actual = bankAccountOperationService.withdrawal(account.getAccountId(), new BigDecimal("1100"));
+
+            // Assert
+            assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+            verify(accountOperationRepository, never()).save(any(AccountOperationEntity.class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        void should_retry_withdrawal_when_update_hits_a_transient_conflict() {
+            // Arrange
+            var account = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000"), new BigDecimal("200"));
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.debitBalance(eq(account.getAccountId()), eq(new BigDecimal("100")), any()))
+                    .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                    .thenReturn(1);
+
+            // Act
+            var actual = bankAccountOperationService.withdrawal(account.getAccountId(), new BigDecimal("100"));
+
+            // Assert
+            assertThat(actual).isEqualTo(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+            verify(bankAccountRepository, times(2)).debitBalance(eq(account.getAccountId()), eq(new BigDecimal("100")), any());
+            verify(accountOperationRepository, times(1)).save(any(AccountOperationEntity.class));
+        }
+
+        @Test
+        void should_throw_BankOperationsException_when_conflicts_persist() {
+            // Arrange
+            var account = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000"), new BigDecimal("200"));
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.debitBalance(eq(account.getAccountId()), eq(new BigDecimal("100")), any()))
+                    .thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+            // Act
+            ThrowingCallable actual = () -> bankAccountOperationService.withdrawal(account.getAccountId(), new BigDecimal("100"));
+
+            // Assert
+            assertThatThrownBy(actual).isInstanceOf(BankOperationsException.class);
+            verify(bankAccountRepository, times(3)).debitBalance(eq(account.getAccountId()), eq(new BigDecimal("100")), any());
+            verify(accountOperationRepository, never()).save(any(AccountOperationEntity.class));
         }
 
         @ParameterizedTest
@@ -151,6 +245,7 @@ class BankAccountOperationServiceTest {
         void should_succeed_in_deposit_when_conditions_are_valid(BankAccountEntity account, BigDecimal amountToDeposit) {
             // Arrange
             when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            lenient().when(bankAccountRepository.creditBalanceWithinLimit(any(), any(), any())).thenReturn(1);
 
             // Act
             var result = bankAccountOperationService.deposit(account.getAccountId(), amountToDeposit);
@@ -158,7 +253,45 @@ class BankAccountOperationServiceTest {
             // Assert
             assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
             verify(accountOperationRepository).save(any(AccountOperationEntity.class));
-            verify(bankAccountRepository).save(any(BankAccountEntity.class));
+            verify(bankAccountRepository, never()).save(any(BankAccountEntity.class));
+        }
+
+        @Test
+        void should_deposit_without_loading_the_account_when_the_guarded_update_succeeds() {
+            // Arrange
+            var account = buildSavingAccountEntity(UUID.randomUUID(), new BigDecimal("5000"), new BigDecimal("10000"));
+            var accountId = account.getAccountId();
+            when(bankAccountRepository.creditBalanceWithinOwnLimit(accountId, new BigDecimal("100"))).thenReturn(1);
+            when(bankAccountRepository.findAccountBalanceById(accountId)).thenReturn(new AccountBalance(new BigDecimal("5100"), "Saving"));
+            when(bankAccountRepository.getReferenceById(accountId)).thenReturn(account);
+            var savedOperation = ArgumentCaptor.forClass(AccountOperationEntity.class);
+
+            // Act
+            var result = bankAccountOperationService.deposit(accountId, new BigDecimal("100"));
+
+            // Assert
+            assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+            verify(bankAccountRepository, never()).findById(any());
+            verify(accountOperationRepository).save(savedOperation.capture());
+            assertThat(savedOperation.getValue().getAccountType()).isEqualTo("Saving");
+            assertThat(savedOperation.getValue().getAmount()).isEqualTo(new BigDecimal("100"));
+            verify(balanceSnapshotRecorder).record(accountId, new BigDecimal("5100"), List.of(savedOperation.getValue()));
+        }
+
+        @Test
+        void should_throw_BankOperationException_when_guarded_deposit_update_is_rejected() {
+            // Arrange
+            var account = buildSavingAccountEntity(UUID.randomUUID(), new BigDecimal("5000"), new BigDecimal("10000"));
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.creditBalanceWithinLimit(account.getAccountId(), new BigDecimal("4500"), new BigDecimal("10000"))).thenReturn(0);
+
+            // Act
+            ThrowingCallable actual = () -> bankAccountOperationService.deposit(account.getAccountId(), new BigDecimal("4500"));
+
+            // Assert
+            assertThatThrownBy(actual).isInstanceOf(BankOperationsException.class)
+                    .hasMessage(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+            verify(accountOperationRepository, never()).save(any(AccountOperationEntity.class));
         }
 
         @ParameterizedTest
@@ -191,4 +324,159 @@ class BankAccountOperationServiceTest {
             verify(accountOperationRepository, never()).save(any(AccountOperationEntity.class));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class Batch {
+        @Captor
+        private ArgumentCaptor<List<AccountOperationEntity>> savedOperations;
+
+        private static BankAccountOperationCommand buildCommand(UUID accountId, OperationType operationType, String amount) {
+            return BankAccountOperationCommand.builder()
+                    .withAccountId(accountId)
+                    .withOperationType(operationType)
+                    .withAmount(new BigDecimal(amount))
+                    .build();
+        }
+
+        @Test
+        void should_validate_each_account_in_order_and_apply_one_net_update_per_account() {
+            // Arrange
+            var current = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("100"), new BigDecimal("50"));
+            var saving = buildSavingAccountEntity(UUID.randomUUID(), new BigDecimal("900"), new BigDecimal("1000"));
+            var commands = List.of(
+                    buildCommand(current.getAccountId(), OperationType.WITHDRAWAL, "120"),
+                    buildCommand(saving.getAccountId(), OperationType.DEPOSIT, "100"),
+                    buildCommand(current.getAccountId(), OperationType.WITHDRAWAL, "40"),
+                    buildCommand(saving.getAccountId(), OperationType.DEPOSIT, "1"));
+            when(bankAccountRepository.findAllByIdForUpdate(any())).thenReturn(List.of(current, saving));
+
+            // Act
+            var actual = bankAccountOperationService.applyBatch(commands);
+
+            // Assert
+            assertThat(actual).containsExactly(
+                    new BankAccountOperationResult.Ok("WITHDRAWAL successful"),
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE),
+                    new BankAccountOperationResult.Failure(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE));
+            verify(bankAccountRepository).creditBalance(eq(current.getAccountId()), cmpEq(new BigDecimal("-120")));
+            verify(bankAccountRepository).creditBalance(eq(saving.getAccountId()), cmpEq(new BigDecimal("100")));
+            verify(accountOperationRepository).saveAll(savedOperations.capture());
+            assertThat(savedOperations.getValue()).hasSize(2);
+            verify(balanceSnapshotRecorder).record(eq(current.getAccountId()), cmpEq(new BigDecimal("-20")), anyList());
+            verify(balanceSnapshotRecorder).record(eq(saving.getAccountId()), cmpEq(new BigDecimal("1000")), anyList());
+            verify(eventPublisher).publishEvent(new AccountOperationsRecordedEvent(Set.of(current.getAccountId(), saving.getAccountId())));
+            verify(bankAccountRepository, never()).findById(any());
+        }
+
+        @Test
+        void should_split_accounts_across_chunks_and_report_missing_accounts() {
+            // Arrange
+            var first = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("100"), BigDecimal.ZERO);
+            var missingAccountId = UUID.randomUUID();
+            var commands = List.of(
+                    buildCommand(first.getAccountId(), OperationType.DEPOSIT, "10"),
+                    buildCommand(first.getAccountId(), OperationType.DEPOSIT, "10"),
+                    buildCommand(missingAccountId, OperationType.DEPOSIT, "10"));
+            when(bankAccountRepository.findAllByIdForUpdate(any()))
+                    .thenReturn(List.of(first))
+                    .thenReturn(List.of());
+
+            // Act
+            var actual = bankAccountOperationService.applyBatch(commands);
+
+            // Assert
+            assertThat(actual).containsExactly(
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Failure("Bank account not found"));
+            verify(transactionTemplate, times(2)).execute(any());
+            verify(bankAccountRepository).creditBalance(eq(first.getAccountId()), cmpEq(new BigDecimal("20")));
+        }
+
+        @Test
+        void should_fail_only_the_items_of_a_chunk_that_throws_a_data_access_exception() {
+            // Arrange
+            var first = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("100"), BigDecimal.ZERO);
+            var second = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("100"), BigDecimal.ZERO);
+            var commands = List.of(
+                    buildCommand(first.getAccountId(), OperationType.DEPOSIT, "10"),
+                    buildCommand(first.getAccountId(), OperationType.DEPOSIT, "10"),
+                    buildCommand(second.getAccountId(), OperationType.DEPOSIT, "10"),
+                    buildCommand(second.getAccountId(), OperationType.WITHDRAWAL, "5"));
+            when(bankAccountRepository.findAllByIdForUpdate(any()))
+                    .thenReturn(List.of(first))
+                    .thenThrow(new InvalidDataAccessResourceUsageException("Table 'account_operation_entity' doesn't exist"));
+
+            // Act
+            var actual = bankAccountOperationService.applyBatch(commands);
+
+            // Assert
+            var chunkFailed = new BankAccountOperationResult.Failure(BankAccountOperationService.BATCH_CHUNK_FAILED_MESSAGE);
+            assertThat(actual).containsExactly(
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                    chunkFailed,
+                    chunkFailed);
+            verify(eventPublisher).publishEvent(new AccountOperationsRecordedEvent(Set.of(first.getAccountId())));
+            verify(bankAccountRepository, never()).creditBalance(eq(second.getAccountId()), any());
+        }
+    }
+
+    @Nested
+    class Idempotency {
+        @Test
+        void should_replay_recorded_result_without_touching_the_balance() {
+            // Arrange
+            var accountId = UUID.randomUUID();
+            var amount = new BigDecimal("100");
+            when(idempotencyStore.find("key-1", accountId, WITHDRAWAL, amount))
+                    .thenReturn(Optional.of(new BankAccountOperationResult.Ok("WITHDRAWAL successful")));
+
+            // Act
+            var result = bankAccountOperationService.withdrawal(accountId, amount, "key-1");
+
+            // Assert
+            assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+            verifyNoInteractions(bankAccountRepository, accountOperationRepository);
+            verify(idempotencyStore, never()).record(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        void should_record_result_under_the_key_in_the_same_transaction() {
+            // Arrange
+            var account = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000"), new BigDecimal("500"));
+            var amount = new BigDecimal("200");
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.creditBalance(account.getAccountId(), amount)).thenReturn(1);
+
+            // Act
+            var result = bankAccountOperationService.deposit(account.getAccountId(), amount, "key-2");
+
+            // Assert
+            assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+            verify(idempotencyStore).record("key-2", account.getAccountId(), DEPOSIT, amount, result);
+        }
+
+        @Test
+        void should_replay_committed_result_when_a_concurrent_duplicate_wins_the_insert() {
+            // Arrange
+            var account = buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000"), new BigDecimal("500"));
+            var amount = new BigDecimal("200");
+            when(bankAccountRepository.findById(account.getAccountId())).thenReturn(Optional.of(account));
+            when(bankAccountRepository.creditBalance(account.getAccountId(), amount)).thenReturn(1);
+            when(idempotencyStore.find("key-3", account.getAccountId(), DEPOSIT, amount))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(new BankAccountOperationResult.Ok("DEPOSIT successful")));
+            doThrow(new DataIntegrityViolationException("duplicate key"))
+                    .when(idempotencyStore).record(eq("key-3"), any(), any(), any(), any());
+
+            // Act
+            var result = bankAccountOperationService.deposit(account.getAccountId(), amount, "key-3");
+
+            // Assert
+            assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+}
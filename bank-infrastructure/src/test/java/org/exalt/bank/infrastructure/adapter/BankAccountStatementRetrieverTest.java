@@ -2,29 +2,46 @@ package org.exalt.bank.infrastructure.adapter;
 
 import org.assertj.core.api.Assertions;
 import org.exalt.bank.domain.exceptions.AccountOperationsException;
-import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.AccountOperationCursor;
+import org.exalt.bank.domain.model.StatementSummary;
+import org.exalt.bank.infrastructure.entities.BalanceSnapshotEntity;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
 import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.exalt.bank.infrastructure.statement.AccountOperationView;
+import org.exalt.bank.infrastructure.statement.OperationTypeTotal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.ThrowableAssert.ThrowingCallable;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BankAccountStatementRetrieverTest {
     @Mock
     private BankAccountRepository bankAccountRepository;
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
 
     @InjectMocks
     private BankAccountStatementRetriever bankAccountStatementRetriever;
@@ -41,14 +58,16 @@ class BankAccountStatementRetrieverTest {
     @Test
     void should_return_list_of_operation_when_found() {
         // Arrange
-        var mockOperations = List.of(mock(AccountOperationEntity.class));
-        when(bankAccountRepository.findOperationsByAccountId(accountId, startDate, dateOfIssue)).thenReturn(mockOperations);
+        var operationId = UUID.randomUUID();
+        var operations = List.of(new AccountOperationView(operationId, dateOfIssue.minusDays(1), BigDecimal.TEN, OperationType.DEPOSIT, "Current"));
+        when(bankAccountRepository.findOperationsByAccountId(accountId, startDate, dateOfIssue)).thenReturn(operations);
 
         // Act
         var actual = bankAccountStatementRetriever.retrieveAccountOperations(accountId, dateOfIssue);
 
         // Assert
-        assertThat(actual).isNotEmpty();
+        assertThat(actual).extracting(AccountOperation::getOperationId, AccountOperation::getAmount, AccountOperation::getOperationType)
+                .containsExactly(Assertions.tuple(operationId, BigDecimal.TEN, org.exalt.bank.domain.enums.OperationType.DEPOSIT));
     }
 
     @Test
@@ -63,4 +82,142 @@ class BankAccountStatementRetrieverTest {
         Assertions.assertThatThrownBy(actual).isInstanceOf(AccountOperationsException.class)
                 .hasMessage("No operations found for the bank account with ID: " + accountId + " within the date range: " + startDate + " to " + dateOfIssue + ".");
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_add_operations_since_the_nearest_snapshot_to_its_closing_balance() {
+        // Arrange
+        var snapshotDate = dateOfIssue.toLocalDate().minusDays(3);
+        var snapshot = BalanceSnapshotEntity.builder()
+                .withAccountId(accountId)
+                .withSnapshotDate(snapshotDate)
+                .withClosingBalance(new BigDecimal("1000"))
+                .build();
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, dateOfIssue.toLocalDate()))
+                .thenReturn(Optional.of(snapshot));
+        when(bankAccountRepository.sumOperationAmountsBetween(accountId, snapshotDate.plusDays(1).atStartOfDay(), dateOfIssue))
+                .thenReturn(new BigDecimal("-150"));
+
+        // Act
+        var actual = bankAccountStatementRetriever.retrieveBalanceAt(accountId, dateOfIssue);
+
+        // Assert
+        assertThat(actual).isEqualByComparingTo("850");
+        verify(bankAccountRepository, never()).sumOperationAmountsAfter(any(), any());
+    }
+
+    @Test
+    void should_rewind_current_balance_when_no_snapshot_precedes_the_date() {
+        // Arrange
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, dateOfIssue.toLocalDate()))
+                .thenReturn(Optional.empty());
+        when(bankAccountRepository.findBalanceById(accountId)).thenReturn(new BigDecimal("700"));
+        when(bankAccountRepository.sumOperationAmountsAfter(accountId, dateOfIssue)).thenReturn(new BigDecimal("200"));
+
+        // Act
+        var actual = bankAccountStatementRetriever.retrieveBalanceAt(accountId, dateOfIssue);
+
+        // Assert
+        assertThat(actual).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void should_build_the_summary_from_the_per_type_totals_without_loading_operations() {
+        // Arrange
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, dateOfIssue.toLocalDate()))
+                .thenReturn(Optional.empty());
+        when(bankAccountRepository.findBalanceById(accountId)).thenReturn(new BigDecimal("700"));
+        when(bankAccountRepository.sumOperationAmountsAfter(accountId, dateOfIssue)).thenReturn(BigDecimal.ZERO);
+        when(bankAccountRepository.sumOperationAmountsByType(accountId, startDate, dateOfIssue)).thenReturn(List.of(
+                new OperationTypeTotal(OperationType.DEPOSIT, new BigDecimal("500"), 2L),
+                new OperationTypeTotal(OperationType.WITHDRAWAL, new BigDecimal("-120"), 1L)));
+
+        // Act
+        var actual = bankAccountStatementRetriever.retrieveStatementSummary(accountId, dateOfIssue);
+
+        // Assert
+        var expected = StatementSummary.builder()
+                .withDepositTotal(new BigDecimal("500"))
+                .withDepositCount(2)
+                .withWithdrawalTotal(new BigDecimal("120"))
+                .withWithdrawalCount(1)
+                .withNetAmount(new BigDecimal("380"))
+                .withBalanceAtIssueDate(new BigDecimal("700"))
+                .build();
+        assertThat(actual).isEqualTo(expected);
+        verify(bankAccountRepository, never()).findOperationsByAccountId(any(), any(), any());
+    }
+
+    @Test
+    void should_throw_AccountOperationsException_when_account_does_not_exist() {
+        // Arrange
+        when(balanceSnapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, dateOfIssue.toLocalDate()))
+                .thenReturn(Optional.empty());
+
+        // Act
+        ThrowingCallable actual = () -> bankAccountStatementRetriever.retrieveBalanceAt(accountId, dateOfIssue);
+
+        // Assert
+        Assertions.assertThatThrownBy(actual).isInstanceOf(AccountOperationsException.class);
+    }
+
+    private static AccountOperationView buildOperationView(LocalDateTime operationDateTime) {
+        return new AccountOperationView(UUID.randomUUID(), operationDateTime, BigDecimal.TEN, OperationType.DEPOSIT, "Current");
+    }
+
+    @Test
+    void should_fetch_one_extra_row_to_build_the_next_cursor() {
+        // Arrange
+        var first = buildOperationView(dateOfIssue.minusHours(1));
+        var second = buildOperationView(dateOfIssue.minusHours(2));
+        var third = buildOperationView(dateOfIssue.minusHours(3));
+        when(bankAccountRepository.findFirstOperationsPage(accountId, startDate, dateOfIssue, PageRequest.of(0, 3)))
+                .thenReturn(List.of(first, second, third));
+
+        // Act
+        var actual = bankAccountStatementRetriever.retrieveAccountOperationsPage(accountId, dateOfIssue, null, 2);
+
+        // Assert
+        assertThat(actual.getAccountOperations()).containsExactly(first.toAccountOperation(), second.toAccountOperation());
+        assertThat(actual.getNextCursor()).contains(AccountOperationCursor.builder()
+                .withOperationDateTime(second.operationDateTime())
+                .withOperationId(second.operationId())
+                .build());
+    }
+
+    @Test
+    void should_continue_after_the_cursor_and_stop_on_the_last_page() {
+        // Arrange
+        var cursor = AccountOperationCursor.builder()
+                .withOperationDateTime(dateOfIssue.minusHours(2))
+                .withOperationId(UUID.randomUUID())
+                .build();
+        var last = buildOperationView(dateOfIssue.minusHours(3));
+        when(bankAccountRepository.findOperationsPageAfter(accountId, startDate, cursor.getOperationDateTime(), cursor.getOperationId(), PageRequest.of(0, 3)))
+                .thenReturn(List.of(last));
+
+        // Act
+        var actual = bankAccountStatementRetriever.retrieveAccountOperationsPage(accountId, dateOfIssue, cursor, 2);
+
+        // Assert
+        assertThat(actual.getAccountOperations()).hasSize(1);
+        assertThat(actual.getNextCursor()).isEmpty();
+    }
+
+    @Test
+    void should_map_each_streamed_row_and_close_the_stream() {
+        // Arrange
+        var first = buildOperationView(dateOfIssue.minusHours(1));
+        var second = buildOperationView(dateOfIssue.minusHours(2));
+        var closed = new AtomicBoolean();
+        when(bankAccountRepository.streamOperationsByAccountId(accountId, startDate, dateOfIssue))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        var received = new ArrayList<AccountOperation>();
+
+        // Act
+        bankAccountStatementRetriever.streamAccountOperations(accountId, startDate, dateOfIssue, received::add);
+
+        // Assert
+        assertThat(received).containsExactly(first.toAccountOperation(), second.toAccountOperation());
+        assertThat(closed).isTrue();
+    }
+}
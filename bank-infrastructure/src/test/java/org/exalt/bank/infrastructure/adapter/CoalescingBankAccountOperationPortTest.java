@@ -0,0 +1,108 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingBankAccountOperationPortTest {
+    @Mock
+    private BankAccountOperationPort bankAccountOperationPort;
+    private OperationCoalescer operationCoalescer;
+    private CoalescingBankAccountOperationPort coalescingPort;
+
+    @BeforeEach
+    void setUp() {
+        operationCoalescer = OperationCoalescer.builder()
+                .withDelegate(bankAccountOperationPort)
+                .withWindow(Duration.ZERO)
+                .build();
+        coalescingPort = new CoalescingBankAccountOperationPort(bankAccountOperationPort, operationCoalescer);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        operationCoalescer.close();
+    }
+
+    @Test
+    void should_send_unkeyed_operations_through_the_coalescer() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var command = BankAccountOperationCommand.builder()
+                .withAccountId(accountId)
+                .withOperationType(OperationType.WITHDRAWAL)
+                .withAmount(BigDecimal.TEN)
+                .build();
+        when(bankAccountOperationPort.applyBatch(List.of(command))).thenReturn(List.of(new BankAccountOperationResult.Ok("WITHDRAWAL successful")));
+
+        // Act
+        var result = coalescingPort.withdrawal(accountId, BigDecimal.TEN);
+
+        // Assert
+        assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+        verify(bankAccountOperationPort, never()).withdrawal(any(), any(), any());
+    }
+
+    @Test
+    void should_bypass_the_coalescer_for_keyed_operations() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountOperationPort.deposit(accountId, BigDecimal.TEN, "key-1")).thenReturn(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+
+        // Act
+        var result = coalescingPort.deposit(accountId, BigDecimal.TEN, "key-1");
+
+        // Assert
+        assertThat(result).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        verify(bankAccountOperationPort, never()).applyBatch(anyList());
+    }
+
+    @Test
+    void should_return_insufficient_funds_as_a_failure_like_a_single_withdrawal() {
+        // Arrange
+        when(bankAccountOperationPort.applyBatch(anyList())).thenReturn(List.of(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE)));
+
+        // Act
+        var result = coalescingPort.withdrawal(UUID.randomUUID(), BigDecimal.TEN);
+
+        // Assert
+        assertThat(result).isEqualTo(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+    }
+
+    @Test
+    void should_throw_what_a_single_operation_throws_for_batch_failures() {
+        // Arrange
+        when(bankAccountOperationPort.applyBatch(anyList()))
+                .thenReturn(List.of(new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE)))
+                .thenReturn(List.of(new BankAccountOperationResult.Failure(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> coalescingPort.deposit(UUID.randomUUID(), BigDecimal.TEN))
+                .isInstanceOf(BankAccountNotFoundException.class);
+        assertThatThrownBy(() -> coalescingPort.deposit(UUID.randomUUID(), BigDecimal.TEN))
+                .isInstanceOf(BankOperationsException.class)
+                .hasMessage(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+    }
+}
@@ -0,0 +1,140 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationCommand;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.out.BankAccountOperationPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationCoalescerTest {
+    private static final int CALLERS = 50;
+
+    @Mock
+    private BankAccountOperationPort bankAccountOperationPort;
+    private OperationCoalescer operationCoalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        operationCoalescer.close();
+    }
+
+    private static BankAccountOperationCommand deposit(UUID accountId, String amount) {
+        return BankAccountOperationCommand.builder()
+                .withAccountId(accountId)
+                .withOperationType(OperationType.DEPOSIT)
+                .withAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    void should_apply_concurrent_operations_of_one_account_in_fewer_batches_and_answer_each_caller() throws Exception {
+        // Arrange
+        operationCoalescer = OperationCoalescer.builder()
+                .withDelegate(bankAccountOperationPort)
+                .withWindow(Duration.ofMillis(50))
+                .build();
+        var batches = new CopyOnWriteArrayList<List<BankAccountOperationCommand>>();
+        when(bankAccountOperationPort.applyBatch(anyList())).thenAnswer(invocation -> {
+            List<BankAccountOperationCommand> commands = invocation.getArgument(0);
+            batches.add(commands);
+            // echoes the amount, so every caller can check it got its own result back
+            return commands.stream()
+                    .<BankAccountOperationResult>map(command -> new BankAccountOperationResult.Ok(command.getAmount().toPlainString()))
+                    .toList();
+        });
+        var accountId = UUID.randomUUID();
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<BankAccountOperationResult>>();
+
+        // Act
+        for (int caller = 0; caller < CALLERS; caller++) {
+            var command = deposit(accountId, String.valueOf(caller + 1));
+            futures.add(executor.submit(() -> {
+                start.await();
+                return operationCoalescer.submit(command);
+            }));
+        }
+        start.countDown();
+        var results = new ArrayList<BankAccountOperationResult>();
+        for (var future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        for (int caller = 0; caller < CALLERS; caller++) {
+            assertThat(results.get(caller)).isEqualTo(new BankAccountOperationResult.Ok(String.valueOf(caller + 1)));
+        }
+        assertThat(batches).hasSizeLessThan(CALLERS);
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(CALLERS);
+    }
+
+    @Test
+    void should_split_a_queue_longer_than_the_max_batch_size() throws Exception {
+        // Arrange
+        operationCoalescer = OperationCoalescer.builder()
+                .withDelegate(bankAccountOperationPort)
+                .withWindow(Duration.ofMillis(100))
+                .withMaxBatchSize(2)
+                .build();
+        var batchSizes = new CopyOnWriteArrayList<Integer>();
+        when(bankAccountOperationPort.applyBatch(anyList())).thenAnswer(invocation -> {
+            List<BankAccountOperationCommand> commands = invocation.getArgument(0);
+            batchSizes.add(commands.size());
+            return commands.stream().<BankAccountOperationResult>map(command -> new BankAccountOperationResult.Ok("DEPOSIT successful")).toList();
+        });
+        var accountId = UUID.randomUUID();
+        var executor = Executors.newFixedThreadPool(5);
+
+        // Act
+        var futures = new ArrayList<Future<BankAccountOperationResult>>();
+        for (int caller = 0; caller < 5; caller++) {
+            futures.add(executor.submit(() -> operationCoalescer.submit(deposit(accountId, "10"))));
+        }
+        for (var future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(batchSizes).allMatch(size -> size <= 2);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(5);
+    }
+
+    @Test
+    void should_rethrow_the_batch_failure_to_every_caller_of_the_batch() {
+        // Arrange
+        operationCoalescer = OperationCoalescer.builder()
+                .withDelegate(bankAccountOperationPort)
+                .withWindow(Duration.ZERO)
+                .build();
+        when(bankAccountOperationPort.applyBatch(anyList())).thenThrow(new BankOperationsException("database unavailable"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> operationCoalescer.submit(deposit(UUID.randomUUID(), "10")))
+                .isInstanceOf(BankOperationsException.class)
+                .hasMessage("database unavailable");
+    }
+}
@@ -0,0 +1,100 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+import org.exalt.bank.infrastructure.CallBudgetFixture;
+import org.exalt.bank.infrastructure.QueryBudget;
+import org.exalt.bank.infrastructure.QueryBudgetConfiguration;
+import org.exalt.bank.infrastructure.QueryRecorder;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.DEPOSIT_STATEMENTS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.STATEMENT_OPERATIONS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.STATEMENT_STATEMENTS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.STATEMENT_TRANSACTIONS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.WITHDRAWAL_STATEMENTS;
+
+// the time budgets are loose on purpose: on an embedded database they catch a scan or a loop of queries, not jitter;
+// the statement cache is off so the statement call reaches the database every time
+@SpringBootTest(properties = "bank.statement.cache.enabled=false")
+@Import(QueryBudgetConfiguration.class)
+class QueryBudgetTest {
+    // the same statements as SqlStatementBudgetTest, each followed by its commit
+    private static final QueryBudget DEPOSIT_BUDGET = new QueryBudget(DEPOSIT_STATEMENTS, DEPOSIT_STATEMENTS + 1, Duration.ofMillis(500));
+    private static final QueryBudget WITHDRAWAL_BUDGET = new QueryBudget(WITHDRAWAL_STATEMENTS, WITHDRAWAL_STATEMENTS + 1, Duration.ofMillis(500));
+    private static final QueryBudget STATEMENT_BUDGET = new QueryBudget(STATEMENT_STATEMENTS, STATEMENT_STATEMENTS + STATEMENT_TRANSACTIONS, Duration.ofMillis(500));
+
+    @Autowired
+    private BankAccountOperationService bankAccountOperationService;
+    @Autowired
+    private BankAccountStatementUseCase bankAccountStatementUseCase;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private QueryRecorder queryRecorder;
+
+    private CallBudgetFixture callBudgetFixture;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        callBudgetFixture = new CallBudgetFixture(bankAccountOperationService, bankAccountRepository, accountOperationRepository, balanceSnapshotRepository);
+        accountId = callBudgetFixture.createAccount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callBudgetFixture.deleteAll();
+    }
+
+    @Test
+    void should_deposit_within_the_query_budget() {
+        // Act
+        var actual = queryRecorder.assertWithin("deposit", DEPOSIT_BUDGET,
+                () -> bankAccountOperationService.deposit(accountId, new BigDecimal("100.00")));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountOperationResult.Ok.class);
+    }
+
+    @Test
+    void should_withdraw_within_the_query_budget() {
+        // Act
+        var actual = queryRecorder.assertWithin("withdrawal", WITHDRAWAL_BUDGET,
+                () -> bankAccountOperationService.withdrawal(accountId, new BigDecimal("100.00")));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountOperationResult.Ok.class);
+    }
+
+    @Test
+    void should_retrieve_a_statement_within_the_query_budget() {
+        // Arrange
+        callBudgetFixture.fillStatement(accountId);
+
+        // Act
+        var actual = queryRecorder.assertWithin("statement", STATEMENT_BUDGET,
+                () -> bankAccountStatementUseCase.retrieveAccountOperations(accountId, LocalDateTime.now()));
+
+        // Assert
+        assertThat(actual).hasValueSatisfying(statement -> assertThat(statement.getAccountOperations()).hasSize(STATEMENT_OPERATIONS + 1));
+    }
+}
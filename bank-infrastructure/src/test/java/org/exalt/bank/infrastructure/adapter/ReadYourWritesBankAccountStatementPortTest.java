@@ -0,0 +1,88 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import org.exalt.bank.domain.port.out.BankAccountStatementPort;
+import org.exalt.bank.infrastructure.configuration.ReadReplicaRoutingDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesBankAccountStatementPortTest {
+    private static final LocalDateTime DATE_OF_ISSUE = LocalDateTime.of(2024, 11, 30, 23, 59);
+
+    @Mock
+    private BankAccountStatementPort delegate;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final RecentAccountWrites recentAccountWrites = new RecentAccountWrites(Duration.ofSeconds(5), nanoTime::get);
+
+    @Test
+    void should_pin_reads_of_a_recently_written_account_to_the_primary_until_the_window_ends() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var port = new ReadYourWritesBankAccountStatementPort(delegate, recentAccountWrites);
+        var pinned = new boolean[2];
+        when(delegate.retrieveBalanceAt(accountId, DATE_OF_ISSUE))
+                .thenAnswer(invocation -> {
+                    pinned[0] = ReadReplicaRoutingDataSource.isPinnedToPrimary();
+                    return BigDecimal.TEN;
+                })
+                .thenAnswer(invocation -> {
+                    pinned[1] = ReadReplicaRoutingDataSource.isPinnedToPrimary();
+                    return BigDecimal.TEN;
+                });
+        recentAccountWrites.onAccountOperationsRecorded(new AccountOperationsRecordedEvent(Set.of(accountId)));
+
+        // Act
+        port.retrieveBalanceAt(accountId, DATE_OF_ISSUE);
+        nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+        port.retrieveBalanceAt(accountId, DATE_OF_ISSUE);
+
+        // Assert
+        assertThat(pinned).containsExactly(true, false);
+        assertThat(recentAccountWrites.isRecent(accountId)).isFalse();
+    }
+
+    @Test
+    void should_not_pin_reads_of_other_accounts() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var port = new ReadYourWritesBankAccountStatementPort(delegate, recentAccountWrites);
+        var pinned = new boolean[1];
+        when(delegate.retrieveBalanceAt(accountId, DATE_OF_ISSUE)).thenAnswer(invocation -> {
+            pinned[0] = ReadReplicaRoutingDataSource.isPinnedToPrimary();
+            return BigDecimal.TEN;
+        });
+        recentAccountWrites.onAccountOperationsRecorded(new AccountOperationsRecordedEvent(Set.of(UUID.randomUUID())));
+
+        // Act
+        port.retrieveBalanceAt(accountId, DATE_OF_ISSUE);
+
+        // Assert
+        assertThat(pinned[0]).isFalse();
+    }
+
+    @Test
+    void should_never_pin_when_the_window_is_zero() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var writes = new RecentAccountWrites(Duration.ZERO, nanoTime::get);
+
+        // Act
+        writes.onAccountOperationsRecorded(new AccountOperationsRecordedEvent(Set.of(accountId)));
+
+        // Assert
+        assertThat(writes.isRecent(accountId)).isFalse();
+    }
+}
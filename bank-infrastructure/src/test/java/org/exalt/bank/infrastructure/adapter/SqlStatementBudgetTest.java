@@ -0,0 +1,94 @@
+package org.exalt.bank.infrastructure.adapter;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+import org.exalt.bank.infrastructure.CallBudgetFixture;
+import org.exalt.bank.infrastructure.SqlStatementBudget;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BalanceSnapshotRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.DEPOSIT_STATEMENTS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.STATEMENT_OPERATIONS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.STATEMENT_STATEMENTS;
+import static org.exalt.bank.infrastructure.CallBudgetFixture.WITHDRAWAL_STATEMENTS;
+
+// the statement cache is off so the statement call reaches the database every time
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "bank.statement.cache.enabled=false"
+})
+class SqlStatementBudgetTest {
+    @Autowired
+    private BankAccountOperationService bankAccountOperationService;
+    @Autowired
+    private BankAccountStatementUseCase bankAccountStatementUseCase;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private AccountOperationRepository accountOperationRepository;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementBudget sqlStatementBudget;
+    private CallBudgetFixture callBudgetFixture;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementBudget = new SqlStatementBudget(entityManagerFactory);
+        callBudgetFixture = new CallBudgetFixture(bankAccountOperationService, bankAccountRepository, accountOperationRepository, balanceSnapshotRepository);
+        accountId = callBudgetFixture.createAccount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callBudgetFixture.deleteAll();
+    }
+
+    @Test
+    void should_deposit_within_the_statement_budget() {
+        // Act
+        var actual = sqlStatementBudget.assertWithin("deposit", DEPOSIT_STATEMENTS,
+                () -> bankAccountOperationService.deposit(accountId, new BigDecimal("100.00")));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountOperationResult.Ok.class);
+    }
+
+    @Test
+    void should_withdraw_within_the_statement_budget() {
+        // Act
+        var actual = sqlStatementBudget.assertWithin("withdrawal", WITHDRAWAL_STATEMENTS,
+                () -> bankAccountOperationService.withdrawal(accountId, new BigDecimal("100.00")));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountOperationResult.Ok.class);
+    }
+
+    @Test
+    void should_retrieve_a_statement_within_the_statement_budget() {
+        // Arrange
+        callBudgetFixture.fillStatement(accountId);
+
+        // Act
+        var actual = sqlStatementBudget.assertWithin("statement", STATEMENT_STATEMENTS,
+                () -> bankAccountStatementUseCase.retrieveAccountOperations(accountId, LocalDateTime.now()));
+
+        // Assert
+        assertThat(actual).hasValueSatisfying(statement -> assertThat(statement.getAccountOperations()).hasSize(STATEMENT_OPERATIONS + 1));
+    }
+}
@@ -0,0 +1,74 @@
+package org.exalt.bank.infrastructure.cache;
+
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.port.in.BankAccountStatementUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBankAccountStatementUseCaseTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+    private static final LocalDateTime DATE_OF_ISSUE = LocalDateTime.of(2024, 11, 11, 12, 0);
+    private static final BankAccountStatement STATEMENT = BankAccountStatement.builder()
+            .withAccountOperations(List.of())
+            .withAmountAtIssueDate(BigDecimal.TEN)
+            .build();
+
+    @Mock
+    private BankAccountStatementUseCase delegate;
+    private StatementCache statementCache;
+    private CachingBankAccountStatementUseCase cachingBankAccountStatementUseCase;
+
+    @BeforeEach
+    void setUp() {
+        statementCache = new StatementCache(100, Duration.ofMinutes(1));
+        cachingBankAccountStatementUseCase = new CachingBankAccountStatementUseCase(delegate, statementCache);
+    }
+
+    @Test
+    void should_serve_repeated_reads_from_the_cache_until_the_account_changes() {
+        // Arrange
+        when(delegate.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE)).thenReturn(Optional.of(STATEMENT));
+
+        // Act
+        cachingBankAccountStatementUseCase.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+        var cached = cachingBankAccountStatementUseCase.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+        statementCache.invalidate(Set.of(ACCOUNT_ID));
+        var reloaded = cachingBankAccountStatementUseCase.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+
+        // Assert
+        assertThat(cached).contains(STATEMENT);
+        assertThat(reloaded).contains(STATEMENT);
+        verify(delegate, times(2)).retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+    }
+
+    @Test
+    void should_not_cache_missing_statements() {
+        // Arrange
+        when(delegate.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE)).thenReturn(Optional.empty());
+
+        // Act
+        cachingBankAccountStatementUseCase.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+        cachingBankAccountStatementUseCase.retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+
+        // Assert
+        verify(delegate, times(2)).retrieveAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE);
+        assertThat(statementCache.stats().getSize()).isZero();
+    }
+}
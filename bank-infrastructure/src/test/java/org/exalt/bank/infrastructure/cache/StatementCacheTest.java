@@ -0,0 +1,119 @@
+package org.exalt.bank.infrastructure.cache;
+
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.infrastructure.adapter.AccountOperationsRecordedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCacheTest {
+    private static final LocalDateTime DATE_OF_ISSUE = LocalDateTime.of(2024, 11, 11, 12, 0);
+    private static final BankAccountStatement STATEMENT = BankAccountStatement.builder()
+            .withAccountOperations(List.of())
+            .withAmountAtIssueDate(BigDecimal.TEN)
+            .build();
+
+    private final AtomicLong clock = new AtomicLong();
+    private StatementCache statementCache;
+
+    @BeforeEach
+    void setUp() {
+        statementCache = new StatementCache(2, Duration.ofSeconds(30), clock::get);
+    }
+
+    private void cache(UUID accountId) {
+        statementCache.put(accountId, DATE_OF_ISSUE, STATEMENT, statementCache.generation(accountId));
+    }
+
+    @Test
+    void should_count_hits_and_misses() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        cache(accountId);
+
+        // Act
+        var hit = statementCache.get(accountId, DATE_OF_ISSUE);
+        var miss = statementCache.get(accountId, DATE_OF_ISSUE.plusDays(1));
+
+        // Assert
+        assertThat(hit).contains(STATEMENT);
+        assertThat(miss).isEmpty();
+        assertThat(statementCache.stats().getHits()).isEqualTo(1);
+        assertThat(statementCache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_evict_the_least_recently_read_entry_when_full() {
+        // Arrange
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        var third = UUID.randomUUID();
+        cache(first);
+        cache(second);
+        statementCache.get(first, DATE_OF_ISSUE);
+
+        // Act
+        cache(third);
+
+        // Assert
+        assertThat(statementCache.get(second, DATE_OF_ISSUE)).isEmpty();
+        assertThat(statementCache.get(first, DATE_OF_ISSUE)).isPresent();
+        assertThat(statementCache.stats().getEvictions()).isEqualTo(1);
+        assertThat(statementCache.stats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void should_expire_entries_after_ttl() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        cache(accountId);
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        var actual = statementCache.get(accountId, DATE_OF_ISSUE);
+
+        // Assert
+        assertThat(actual).isEmpty();
+        assertThat(statementCache.stats().getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void should_drop_every_window_of_an_account_when_it_records_operations() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var otherAccountId = UUID.randomUUID();
+        cache(accountId);
+        cache(otherAccountId);
+
+        // Act
+        statementCache.onAccountOperationsRecorded(new AccountOperationsRecordedEvent(Set.of(accountId)));
+
+        // Assert
+        assertThat(statementCache.get(accountId, DATE_OF_ISSUE)).isEmpty();
+        assertThat(statementCache.get(otherAccountId, DATE_OF_ISSUE)).isPresent();
+        assertThat(statementCache.stats().getInvalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_store_a_statement_loaded_before_an_invalidation() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var generation = statementCache.generation(accountId);
+        statementCache.invalidate(Set.of(accountId));
+
+        // Act
+        statementCache.put(accountId, DATE_OF_ISSUE, STATEMENT, generation);
+
+        // Assert
+        assertThat(statementCache.get(accountId, DATE_OF_ISSUE)).isEmpty();
+    }
+}
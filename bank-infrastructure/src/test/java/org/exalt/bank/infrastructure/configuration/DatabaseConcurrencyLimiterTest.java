@@ -0,0 +1,99 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseConcurrencyLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_never_run_more_actions_than_permits_at_once() throws Exception {
+        // Arrange
+        var limiter = DatabaseConcurrencyLimiter.builder()
+                .withMaxInFlight(3)
+                .withAcquireTimeout(Duration.ofSeconds(10))
+                .withMeterRegistry(meterRegistry)
+                .build();
+        var inFlight = new AtomicInteger();
+        var maxObserved = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(12);
+
+        // Act
+        var futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 48; i++) {
+            futures.add(executor.submit(() -> limiter.execute(() -> {
+                maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return inFlight.decrementAndGet();
+            })));
+        }
+        for (var future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(maxObserved.get()).isBetween(1, 3);
+        assertThat(meterRegistry.get("bank.db.limiter.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void should_reject_when_no_permit_frees_up_within_the_timeout() throws Exception {
+        // Arrange
+        var limiter = DatabaseConcurrencyLimiter.builder()
+                .withMaxInFlight(1)
+                .withAcquireTimeout(Duration.ofMillis(20))
+                .withMeterRegistry(meterRegistry)
+                .build();
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var holder = new Thread(() -> limiter.run(() -> {
+            holding.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        holding.await();
+
+        // Act & Assert
+        assertThatThrownBy(() -> limiter.execute(() -> "never"))
+                .isInstanceOf(BankOperationsException.class)
+                .hasMessage(DatabaseConcurrencyLimiter.DATABASE_SATURATED_EXCEPTION_MESSAGE);
+        assertThat(meterRegistry.get("bank.db.limiter.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+        holder.join();
+        assertThat(limiter.execute(() -> "done")).isEqualTo("done");
+    }
+
+    @Test
+    void should_pass_through_when_disabled() {
+        // Arrange
+        var limiter = DatabaseConcurrencyLimiter.builder().withMeterRegistry(meterRegistry).build();
+
+        // Act
+        var actual = limiter.execute(() -> "done");
+
+        // Assert
+        assertThat(actual).isEqualTo("done");
+        assertThat(meterRegistry.find("bank.db.limiter.in_flight").gauge()).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaRoutingDataSourceTest {
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    // each database answers with its own name, so a query tells which one served it
+    private EmbeddedDatabase embeddedDatabase(String name) {
+        var database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        var jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE served_by (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO served_by (name) VALUES (?)", name);
+        databases.add(database);
+        return database;
+    }
+
+    private static TransactionTemplate transactionTemplate(LazyConnectionDataSourceProxy dataSource, boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static String servedBy(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT name FROM served_by", String.class);
+    }
+
+    @Test
+    void should_read_from_the_replica_in_a_read_only_transaction() {
+        // Arrange
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, List.of(replica)));
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Act
+        var actual = transactionTemplate(dataSource, true).execute(status -> servedBy(jdbcTemplate));
+
+        // Assert
+        assertThat(actual).isEqualTo("replica");
+    }
+
+    @Test
+    void should_use_the_primary_in_a_read_write_transaction_and_outside_transactions() {
+        // Arrange
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, List.of(replica)));
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Act
+        var inTransaction = transactionTemplate(dataSource, false).execute(status -> servedBy(jdbcTemplate));
+        var outsideTransaction = servedBy(jdbcTemplate);
+
+        // Assert
+        assertThat(inTransaction).isEqualTo("primary");
+        assertThat(outsideTransaction).isEqualTo("primary");
+    }
+
+    @Test
+    void should_use_the_primary_in_a_read_only_transaction_pinned_to_it() {
+        // Arrange
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, List.of(replica)));
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var readOnly = transactionTemplate(dataSource, true);
+
+        // Act
+        var pinned = ReadReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> servedBy(jdbcTemplate)));
+        var afterwards = readOnly.execute(status -> servedBy(jdbcTemplate));
+
+        // Assert
+        assertThat(pinned).isEqualTo("primary");
+        assertThat(afterwards).isEqualTo("replica");
+    }
+
+    @Test
+    void should_spread_read_only_transactions_over_the_replicas() {
+        // Arrange
+        var secondReplica = embeddedDatabase("replica-2");
+        var dataSource = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, List.of(replica, secondReplica)));
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        var readOnly = transactionTemplate(dataSource, true);
+
+        // Act
+        var actual = new ArrayList<String>();
+        for (int index = 0; index < 4; index++) {
+            actual.add(readOnly.execute(status -> servedBy(jdbcTemplate)));
+        }
+
+        // Assert
+        assertThat(actual).containsExactly("replica", "replica-2", "replica", "replica-2");
+    }
+}
@@ -0,0 +1,69 @@
+package org.exalt.bank.infrastructure.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetryPolicyTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryPolicy retryPolicy = RetryPolicy.builder()
+            .withMaxAttempts(3)
+            .withInitialBackoff(Duration.ZERO)
+            .withMeterRegistry(meterRegistry)
+            .build();
+
+    @Test
+    void should_retry_transient_failures_until_success() {
+        // Arrange
+        var attempts = new AtomicInteger();
+
+        // Act
+        var actual = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("lock wait timeout");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertThat(actual).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("bank.operations.retries").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_throw_BankOperationsException_when_attempts_are_exhausted() {
+        // Arrange
+        var attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock wait timeout");
+        })).isInstanceOf(BankOperationsException.class)
+                .hasMessage(RetryPolicy.RETRIES_EXHAUSTED_EXCEPTION_MESSAGE);
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("bank.operations.retries.exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_retry_non_transient_failures() {
+        // Arrange
+        var attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("duplicate key");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+    }
+}
@@ -43,4 +43,29 @@ class AccountOperationEntityTest {
 
         assertThat(actual).isEqualTo(buildAccountOperation());
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_print_the_account_id_instead_of_the_account() {
+        // Arrange
+        var account = new SavingAccountEntity();
+        account.setAccountId(UUID.randomUUID());
+        var operation = buildAccountOperationEntity();
+        operation.setBankAccount(account);
+
+        // Act
+        var actual = operation.toString();
+
+        // Assert
+        assertThat(actual).contains("bankAccountId=" + account.getAccountId()).doesNotContain("SavingAccountEntity");
+    }
+
+    @Test
+    void should_be_equal_by_operation_id() {
+        // Arrange
+        var other = buildAccountOperationEntity();
+        other.setAmount(new BigDecimal("10"));
+
+        // Act & Assert
+        assertThat(buildAccountOperationEntity()).isEqualTo(other).hasSameHashCodeAs(other);
+    }
+}
@@ -0,0 +1,62 @@
+package org.exalt.bank.infrastructure.entities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BankAccountEntityTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    @Mock
+    private List<AccountOperationEntity> accountOperations;
+
+    private static CurrentAccountEntity buildCurrentAccountEntity(UUID accountId, BigDecimal balance) {
+        var account = new CurrentAccountEntity();
+        account.setAccountId(accountId);
+        account.setBalance(balance);
+        account.setOverdraftLimit(new BigDecimal("200"));
+        return account;
+    }
+
+    @Test
+    void should_compare_hash_and_print_without_touching_the_operations() {
+        // Arrange
+        var account = buildCurrentAccountEntity(ACCOUNT_ID, new BigDecimal("1000"));
+        account.setAccountOperations(accountOperations);
+
+        // Act
+        var accounts = new HashSet<BankAccountEntity>();
+        accounts.add(account);
+        var description = account.toString();
+
+        // Assert
+        assertThat(accounts).contains(buildCurrentAccountEntity(ACCOUNT_ID, new BigDecimal("1000")));
+        assertThat(description).contains(ACCOUNT_ID.toString()).doesNotContain("accountOperations");
+        verifyNoInteractions(accountOperations);
+    }
+
+    @Test
+    void should_be_equal_by_id_whatever_the_balance() {
+        // Act & Assert
+        assertThat(buildCurrentAccountEntity(ACCOUNT_ID, new BigDecimal("1000")))
+                .isEqualTo(buildCurrentAccountEntity(ACCOUNT_ID, new BigDecimal("500")))
+                .hasSameHashCodeAs(buildCurrentAccountEntity(ACCOUNT_ID, new BigDecimal("500")))
+                .isNotEqualTo(buildCurrentAccountEntity(UUID.randomUUID(), new BigDecimal("1000")));
+    }
+
+    @Test
+    void should_not_be_equal_to_another_account_when_neither_has_an_id() {
+        // Act & Assert
+        assertThat(buildCurrentAccountEntity(null, BigDecimal.ZERO)).isNotEqualTo(buildCurrentAccountEntity(null, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,186 @@
+package org.exalt.bank.infrastructure.idempotency;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.infrastructure.entities.IdempotencyRecordEntity;
+import org.exalt.bank.infrastructure.repositories.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.exalt.bank.domain.port.out.BankAccountOperationPort.IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE;
+import static org.exalt.bank.domain.port.out.BankAccountOperationPort.IDEMPOTENCY_KEY_REUSED_MESSAGE;
+import static org.exalt.bank.infrastructure.enums.OperationType.DEPOSIT;
+import static org.exalt.bank.infrastructure.enums.OperationType.WITHDRAWAL;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, 2);
+    }
+
+    @Test
+    void should_replay_a_recorded_result_from_the_cache_without_reading_the_table() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        idempotencyStore.record("key-1", accountId, DEPOSIT, new BigDecimal("100"), new BankAccountOperationResult.Ok("DEPOSIT successful"));
+
+        // Act
+        var actual = idempotencyStore.find("key-1", accountId, DEPOSIT, new BigDecimal("100.00"));
+
+        // Assert
+        assertThat(actual).contains(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecordEntity.class));
+        verify(idempotencyRecordRepository, never()).findById(any());
+    }
+
+    @Test
+    void should_fall_back_to_the_table_and_cache_what_it_finds() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var record = IdempotencyRecordEntity.builder()
+                .withIdempotencyKey("key-1")
+                .withAccountId(accountId)
+                .withOperationType(WITHDRAWAL)
+                .withAmount(new BigDecimal("50"))
+                .withSucceeded(false)
+                .withResultMessage("Insufficient funds")
+                .withCreatedAt(LocalDateTime.now())
+                .build();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        // Act
+        var fromTable = idempotencyStore.find("key-1", accountId, WITHDRAWAL, new BigDecimal("50"));
+        var fromCache = idempotencyStore.findCached("key-1", accountId, WITHDRAWAL, new BigDecimal("50"));
+
+        // Assert
+        assertThat(fromTable).contains(new BankAccountOperationResult.Failure("Insufficient funds"));
+        assertThat(fromCache).isEqualTo(fromTable);
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+    }
+
+    @Test
+    void should_return_empty_when_the_key_was_never_used() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("unknown")).thenReturn(Optional.empty());
+
+        // Act
+        var actual = idempotencyStore.find("unknown", UUID.randomUUID(), DEPOSIT, BigDecimal.TEN);
+
+        // Assert
+        assertThat(actual).isEmpty();
+        assertThat(idempotencyStore.size()).isZero();
+    }
+
+    @Test
+    void should_reject_a_key_reused_for_a_different_operation() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        idempotencyStore.record("key-1", accountId, DEPOSIT, new BigDecimal("100"), new BankAccountOperationResult.Ok("DEPOSIT successful"));
+
+        // Act
+        var otherAmount = idempotencyStore.findCached("key-1", accountId, DEPOSIT, new BigDecimal("200"));
+        var otherType = idempotencyStore.findCached("key-1", accountId, WITHDRAWAL, new BigDecimal("100"));
+        var otherAccount = idempotencyStore.findCached("key-1", UUID.randomUUID(), DEPOSIT, new BigDecimal("100"));
+
+        // Assert
+        var reused = new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_REUSED_MESSAGE);
+        assertThat(otherAmount).contains(reused);
+        assertThat(otherType).contains(reused);
+        assertThat(otherAccount).contains(reused);
+    }
+
+    @Test
+    void should_evict_the_least_recently_replayed_key_beyond_max_entries() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var ok = new BankAccountOperationResult.Ok("DEPOSIT successful");
+        idempotencyStore.record("key-1", accountId, DEPOSIT, BigDecimal.ONE, ok);
+        idempotencyStore.record("key-2", accountId, DEPOSIT, BigDecimal.ONE, ok);
+        idempotencyStore.findCached("key-1", accountId, DEPOSIT, BigDecimal.ONE);
+
+        // Act
+        idempotencyStore.record("key-3", accountId, DEPOSIT, BigDecimal.ONE, ok);
+
+        // Assert
+        assertThat(idempotencyStore.size()).isEqualTo(2);
+        assertThat(idempotencyStore.findCached("key-1", accountId, DEPOSIT, BigDecimal.ONE)).contains(ok);
+        assertThat(idempotencyStore.findCached("key-2", accountId, DEPOSIT, BigDecimal.ONE)).isEmpty();
+    }
+
+    @Test
+    void should_answer_a_reserved_key_as_in_progress_until_it_settles_with_the_refusal() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var refusal = new BankAccountOperationResult.Failure("Insufficient funds");
+        var reserved = idempotencyStore.reserve("key-1", accountId, WITHDRAWAL, BigDecimal.TEN, new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+
+        // Act
+        var whileReserved = idempotencyStore.find("key-1", accountId, WITHDRAWAL, BigDecimal.TEN);
+        idempotencyStore.settle("key-1", accountId, WITHDRAWAL, BigDecimal.TEN, refusal);
+        var settled = idempotencyStore.find("key-1", accountId, WITHDRAWAL, BigDecimal.TEN);
+
+        // Assert
+        assertThat(reserved).isEmpty();
+        assertThat(whileReserved).contains(new BankAccountOperationResult.Failure(IDEMPOTENCY_KEY_IN_PROGRESS_MESSAGE));
+        assertThat(settled).contains(refusal);
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecordEntity.class));
+        verify(idempotencyRecordRepository).updateResult("key-1", false, "Insufficient funds");
+    }
+
+    @Test
+    void should_replay_the_stored_result_when_the_key_was_reserved_first_by_an_earlier_request() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var record = IdempotencyRecordEntity.builder()
+                .withIdempotencyKey("key-1")
+                .withAccountId(accountId)
+                .withOperationType(DEPOSIT)
+                .withAmount(BigDecimal.TEN)
+                .withSucceeded(true)
+                .withResultMessage("DEPOSIT successful")
+                .withCreatedAt(LocalDateTime.now())
+                .build();
+        when(idempotencyRecordRepository.save(any(IdempotencyRecordEntity.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry 'key-1'"));
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        // Act
+        var actual = idempotencyStore.reserve("key-1", accountId, DEPOSIT, BigDecimal.TEN, new BankAccountOperationResult.Ok("DEPOSIT successful"));
+
+        // Assert
+        assertThat(actual).contains(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+    }
+
+    @Test
+    void should_take_the_reservation_back_when_the_refusal_cannot_be_stored() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        idempotencyStore.reserve("key-1", accountId, WITHDRAWAL, BigDecimal.TEN, new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+        when(idempotencyRecordRepository.updateResult("key-1", false, "Insufficient funds")).thenThrow(new QueryTimeoutException("update timed out"));
+
+        // Act
+        var failure = catchThrowable(() -> idempotencyStore.settle("key-1", accountId, WITHDRAWAL, BigDecimal.TEN,
+                new BankAccountOperationResult.Failure("Insufficient funds")));
+
+        // Assert
+        assertThat(failure).isInstanceOf(QueryTimeoutException.class);
+        verify(idempotencyRecordRepository).deleteById("key-1");
+        assertThat(idempotencyStore.findCached("key-1", accountId, WITHDRAWAL, BigDecimal.TEN)).isEmpty();
+    }
+}
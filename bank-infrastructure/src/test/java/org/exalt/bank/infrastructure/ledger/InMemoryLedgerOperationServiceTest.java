@@ -0,0 +1,304 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.infrastructure.entities.CurrentAccountEntity;
+import org.exalt.bank.infrastructure.entities.SavingAccountEntity;
+import org.exalt.bank.infrastructure.enums.AccountStatus;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.idempotency.IdempotencyStore;
+import org.exalt.bank.infrastructure.metrics.OperationMetrics;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.exalt.bank.infrastructure.repositories.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryLedgerOperationServiceTest {
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private LedgerJournal ledgerJournal;
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private InMemoryLedgerOperationService ledgerOperationService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerOperationService = new InMemoryLedgerOperationService(bankAccountRepository, ledgerJournal, new OperationMetrics(new SimpleMeterRegistry()),
+                new IdempotencyStore(idempotencyRecordRepository, 16), 4);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerOperationService.close();
+    }
+
+    private static CurrentAccountEntity buildCurrentAccountEntity(UUID accountId, BigDecimal balance, BigDecimal overdraftLimit) {
+        var currentAccount = new CurrentAccountEntity();
+        currentAccount.setAccountId(accountId);
+        currentAccount.setBalance(balance);
+        currentAccount.setCreatedAt(LocalDate.now());
+        currentAccount.setStatus(AccountStatus.ACTIVATED);
+        currentAccount.setOverdraftLimit(overdraftLimit);
+        return currentAccount;
+    }
+
+    private void journalAcceptsEntries() {
+        when(ledgerJournal.append(any(LedgerEntry.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private static SavingAccountEntity buildSavingAccountEntity(UUID accountId, BigDecimal balance, BigDecimal depositLimit) {
+        var savingAccount = new SavingAccountEntity();
+        savingAccount.setAccountId(accountId);
+        savingAccount.setBalance(balance);
+        savingAccount.setCreatedAt(LocalDate.now());
+        savingAccount.setStatus(AccountStatus.ACTIVATED);
+        savingAccount.setDepositLimit(depositLimit);
+        return savingAccount;
+    }
+
+    @Test
+    void should_withdraw_within_overdraft_and_journal_the_operation() {
+        // Arrange
+        journalAcceptsEntries();
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+
+        // Act
+        var actual = ledgerOperationService.withdrawal(accountId, new BigDecimal("1200"));
+
+        // Assert
+        assertThat(actual).isEqualTo(new BankAccountOperationResult.Ok("WITHDRAWAL successful"));
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("-200");
+        var entry = ArgumentCaptor.forClass(LedgerEntry.class);
+        verify(ledgerJournal).append(entry.capture());
+        assertThat(entry.getValue())
+                .extracting(LedgerEntry::getAccountId, LedgerEntry::getAmount, LedgerEntry::getOperationType, LedgerEntry::getAccountType)
+                .containsExactly(accountId, new BigDecimal("-1200"), OperationType.WITHDRAWAL, "Current");
+    }
+
+    @Test
+    void should_return_failure_and_leave_balance_untouched_when_funds_are_insufficient() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+
+        // Act
+        var actual = ledgerOperationService.withdrawal(accountId, new BigDecimal("1201"));
+
+        // Assert
+        assertThat(actual).isEqualTo(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("1000");
+        verifyNoInteractions(ledgerJournal);
+    }
+
+    @Test
+    void should_apply_a_keyed_deposit_once_when_it_is_replayed() {
+        // Arrange
+        journalAcceptsEntries();
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+
+        // Act
+        var first = ledgerOperationService.deposit(accountId, new BigDecimal("300"), "key-1");
+        var replayed = ledgerOperationService.deposit(accountId, new BigDecimal("300"), "key-1");
+
+        // Assert
+        assertThat(replayed).isEqualTo(first).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("1300");
+        verify(ledgerJournal, times(1)).append(any(LedgerEntry.class));
+        verify(idempotencyRecordRepository, times(1)).save(any());
+    }
+
+    @Test
+    void should_leave_the_balance_untouched_when_the_key_cannot_be_recorded_so_a_retry_applies_it_once() {
+        // Arrange
+        journalAcceptsEntries();
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+        when(idempotencyRecordRepository.save(any()))
+                .thenThrow(new QueryTimeoutException("idempotency_record insert timed out"))
+                .thenReturn(null);
+
+        // Act
+        var failure = catchThrowable(() -> ledgerOperationService.deposit(accountId, new BigDecimal("300"), "key-1"));
+        var retried = ledgerOperationService.deposit(accountId, new BigDecimal("300"), "key-1");
+
+        // Assert
+        assertThat(failure).isInstanceOf(QueryTimeoutException.class);
+        assertThat(retried).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("1300");
+        verify(ledgerJournal, times(1)).append(any(LedgerEntry.class));
+    }
+
+    @Test
+    void should_forget_the_key_when_the_journal_refuses_the_operation() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+        doThrow(new BankOperationsException(WriteBehindLedgerJournal.JOURNAL_UNAVAILABLE_EXCEPTION_MESSAGE)).when(ledgerJournal).append(any(LedgerEntry.class));
+
+        // Act & Assert
+        assertThatThrownBy(() -> ledgerOperationService.withdrawal(accountId, new BigDecimal("300"), "key-1"))
+                .isInstanceOf(BankOperationsException.class);
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("1000");
+        verify(idempotencyRecordRepository).deleteById("key-1");
+    }
+
+    @Test
+    void should_keep_every_idempotency_key_write_off_the_shard_thread() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+        var writingThreads = new ArrayList<String>();
+        when(idempotencyRecordRepository.save(any())).thenAnswer(invocation -> {
+            writingThreads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        when(idempotencyRecordRepository.updateResult("key-1", false, INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE)).thenAnswer(invocation -> {
+            writingThreads.add(Thread.currentThread().getName());
+            return 1;
+        });
+
+        // Act
+        var refused = ledgerOperationService.withdrawal(accountId, new BigDecimal("1201"), "key-1");
+        var replayed = ledgerOperationService.withdrawal(accountId, new BigDecimal("1201"), "key-1");
+
+        // Assert
+        assertThat(refused).isEqualTo(replayed).isEqualTo(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+        assertThat(writingThreads).containsOnly(Thread.currentThread().getName());
+        assertThat(writingThreads).hasSize(2);
+        verifyNoInteractions(ledgerJournal);
+    }
+
+    @Test
+    void should_load_the_account_on_the_caller_thread_rather_than_the_shard() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var loadingThread = new AtomicReference<String>();
+        when(bankAccountRepository.findById(accountId)).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200")));
+        });
+        journalAcceptsEntries();
+
+        // Act
+        ledgerOperationService.deposit(accountId, BigDecimal.TEN);
+
+        // Assert
+        assertThat(loadingThread.get()).isEqualTo(Thread.currentThread().getName()).doesNotStartWith("ledger-shard-");
+    }
+
+    @Test
+    void should_keep_applying_on_the_shard_while_earlier_operations_wait_for_the_group_commit() throws Exception {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, new BigDecimal("1000"), new BigDecimal("200"))));
+        var groupCommit = new CompletableFuture<Void>();
+        when(ledgerJournal.append(any(LedgerEntry.class))).thenReturn(groupCommit);
+        var executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        var first = executor.submit(() -> ledgerOperationService.deposit(accountId, BigDecimal.ONE));
+        var second = executor.submit(() -> ledgerOperationService.deposit(accountId, BigDecimal.ONE));
+        verify(ledgerJournal, timeout(5000).times(2)).append(any(LedgerEntry.class));
+        var acknowledgedBeforeCommit = first.isDone() || second.isDone();
+        groupCommit.complete(null);
+
+        // Assert
+        assertThat(acknowledgedBeforeCommit).isFalse();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(new BankAccountOperationResult.Ok("DEPOSIT successful"));
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("1002");
+        executor.shutdown();
+    }
+
+    @Test
+    void should_throw_BankOperationsException_when_deposit_exceeds_limit() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildSavingAccountEntity(accountId, new BigDecimal("8000"), new BigDecimal("10000"))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> ledgerOperationService.deposit(accountId, new BigDecimal("2500")))
+                .isInstanceOf(BankOperationsException.class)
+                .hasMessage(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE);
+        verifyNoInteractions(ledgerJournal);
+    }
+
+    @Test
+    void should_throw_BankAccountNotFoundException_when_account_does_not_exist() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> ledgerOperationService.deposit(accountId, BigDecimal.TEN))
+                .isInstanceOf(BankAccountNotFoundException.class)
+                .hasMessage("Bank account not found");
+    }
+
+    @Test
+    void should_load_account_once_and_apply_concurrent_deposits_without_losing_updates() throws Exception {
+        // Arrange
+        journalAcceptsEntries();
+        var accountId = UUID.randomUUID();
+        when(bankAccountRepository.findById(accountId))
+                .thenReturn(Optional.of(buildCurrentAccountEntity(accountId, BigDecimal.ZERO, BigDecimal.ZERO)));
+        var executor = Executors.newFixedThreadPool(8);
+        var futures = new ArrayList<Future<?>>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int op = 0; op < 500; op++) {
+                    ledgerOperationService.deposit(accountId, BigDecimal.ONE);
+                }
+            }));
+        }
+        for (var future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(ledgerOperationService.balanceOf(accountId)).isEqualByComparingTo("4000");
+        verify(bankAccountRepository, times(1)).findById(accountId);
+        verify(ledgerJournal, times(4000)).append(any(LedgerEntry.class));
+    }
+}
@@ -0,0 +1,175 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLedgerJournalTest {
+    private static final Duration GROUP_COMMIT_INTERVAL = Duration.ofMillis(1);
+    private static final Duration RECOVERY_TIMEOUT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path directory;
+
+    private static LedgerEntry buildLedgerEntry(int index) {
+        return LedgerEntry.builder()
+                .withOperationId(UUID.randomUUID())
+                .withAccountId(UUID.randomUUID())
+                .withOperationDateTime(LocalDateTime.of(2024, 11, 11, 12, 12, 30, 123_456_789))
+                .withAmount(new BigDecimal("-" + (index + 1) + "50.25"))
+                .withOperationType(index % 2 == 0 ? OperationType.WITHDRAWAL : OperationType.DEPOSIT)
+                .withAccountType(index % 2 == 0 ? "Current" : "Saving")
+                .build();
+    }
+
+    private MappedLedgerJournal openJournal(int segmentSize, List<LedgerEntry> forwarded, boolean confirmPersistence) throws InterruptedException {
+        return openJournal(segmentSize, GROUP_COMMIT_INTERVAL, forwarded, confirmPersistence);
+    }
+
+    private MappedLedgerJournal openJournal(int segmentSize, Duration groupCommitInterval, List<LedgerEntry> forwarded,
+                                            boolean confirmPersistence) throws InterruptedException {
+        var journalRef = new AtomicReference<MappedLedgerJournal>();
+        var journal = new MappedLedgerJournal(directory, segmentSize, groupCommitInterval, entry -> {
+            forwarded.add(entry);
+            if (confirmPersistence) {
+                journalRef.get().markPersisted(List.of(entry));
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        journalRef.set(journal);
+        journal.recover(RECOVERY_TIMEOUT);
+        return journal;
+    }
+
+    @Test
+    void should_forward_entries_once_durable_and_replay_unpersisted_ones_after_restart() throws Exception {
+        // Arrange
+        var entries = IntStream.range(0, 3).mapToObj(MappedLedgerJournalTest::buildLedgerEntry).toList();
+        var forwarded = new ArrayList<LedgerEntry>();
+        var journal = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, forwarded, false);
+        entries.forEach(journal::append);
+        journal.close();
+
+        // Act
+        var replayed = new ArrayList<LedgerEntry>();
+        var reopened = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, replayed, true);
+        reopened.close();
+
+        // Assert
+        assertThat(forwarded).containsExactlyElementsOf(entries);
+        assertThat(replayed).containsExactlyElementsOf(entries);
+    }
+
+    @Test
+    void should_return_from_append_before_the_group_commit_and_complete_every_future_it_covers() throws Exception {
+        // Arrange
+        var entries = IntStream.range(0, 3).mapToObj(MappedLedgerJournalTest::buildLedgerEntry).toList();
+        var forwarded = new CopyOnWriteArrayList<LedgerEntry>();
+        var journal = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, Duration.ofMillis(200), forwarded, true);
+
+        // Act
+        var durable = entries.stream().map(journal::append).toList();
+        var durableBeforeCommit = durable.stream().anyMatch(CompletableFuture::isDone);
+        CompletableFuture.allOf(durable.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        // Assert
+        assertThat(durableBeforeCommit).isFalse();
+        assertThat(forwarded).containsExactlyElementsOf(entries);
+    }
+
+    @Test
+    void should_not_replay_entries_confirmed_as_persisted() throws Exception {
+        // Arrange
+        var journal = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, new ArrayList<>(), true);
+        IntStream.range(0, 5).mapToObj(MappedLedgerJournalTest::buildLedgerEntry).forEach(journal::append);
+        journal.close();
+
+        // Act
+        var replayed = new ArrayList<LedgerEntry>();
+        var reopened = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, replayed, true);
+        reopened.close();
+
+        // Assert
+        assertThat(replayed).isEmpty();
+    }
+
+    @Test
+    void should_stop_recovery_at_a_torn_record() throws Exception {
+        // Arrange
+        var entries = IntStream.range(0, 3).mapToObj(MappedLedgerJournalTest::buildLedgerEntry).toList();
+        var journal = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, new ArrayList<>(), false);
+        entries.forEach(journal::append);
+        journal.close();
+        corruptByte(singleSegment(), 2L * MappedLedgerJournal.RECORD_SIZE + 30);
+
+        // Act
+        var replayed = new ArrayList<LedgerEntry>();
+        var reopened = openJournal(1024 * MappedLedgerJournal.RECORD_SIZE, replayed, true);
+        var appendedAfterRecovery = buildLedgerEntry(7);
+        reopened.append(appendedAfterRecovery);
+        reopened.close();
+
+        // Assert
+        assertThat(replayed).containsExactlyElementsOf(entries.subList(0, 2));
+    }
+
+    @Test
+    void should_roll_segments_and_recover_across_them() throws Exception {
+        // Arrange
+        var entries = IntStream.range(0, 5).mapToObj(MappedLedgerJournalTest::buildLedgerEntry).toList();
+        var journal = openJournal(2 * MappedLedgerJournal.RECORD_SIZE, new ArrayList<>(), false);
+        entries.forEach(journal::append);
+        journal.close();
+        var segmentCount = countSegments();
+
+        // Act
+        var replayed = new ArrayList<LedgerEntry>();
+        var reopened = openJournal(2 * MappedLedgerJournal.RECORD_SIZE, replayed, true);
+        reopened.close();
+
+        // Assert
+        assertThat(segmentCount).isEqualTo(3);
+        assertThat(replayed).containsExactlyElementsOf(entries);
+    }
+
+    private long countSegments() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private Path singleSegment() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+    }
+
+    private static void corruptByte(Path file, long position) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~buffer.get(0)}), position);
+        }
+    }
+}
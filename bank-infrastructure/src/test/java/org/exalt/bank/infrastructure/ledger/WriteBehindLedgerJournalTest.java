@@ -0,0 +1,162 @@
+package org.exalt.bank.infrastructure.ledger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.exalt.bank.infrastructure.adapter.BalanceSnapshotRecorder;
+import org.exalt.bank.infrastructure.entities.AccountOperationEntity;
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.repositories.AccountOperationRepository;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindLedgerJournalTest {
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private AccountOperationRepository accountOperationRepository;
+    @Mock
+    private BalanceSnapshotRecorder balanceSnapshotRecorder;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UUID> savedOperationIds = new CopyOnWriteArrayList<>();
+    private Path deadLetterFile;
+    private WriteBehindLedgerJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterFile = directory.resolve("dead-letters.csv");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    private WriteBehindLedgerJournal openJournal() {
+        return WriteBehindLedgerJournal.builder()
+                .withBankAccountRepository(bankAccountRepository)
+                .withAccountOperationRepository(accountOperationRepository)
+                .withTransactionTemplate(new TransactionTemplate(transactionManager))
+                .withBalanceSnapshotRecorder(balanceSnapshotRecorder)
+                .withBatchSize(8)
+                .withFlushInterval(Duration.ofMillis(5))
+                .withMaxFlushAttempts(2)
+                .withDeadLetterFile(deadLetterFile)
+                .withMeterRegistry(meterRegistry)
+                .build();
+    }
+
+    private static LedgerEntry buildLedgerEntry() {
+        return LedgerEntry.builder()
+                .withOperationId(UUID.randomUUID())
+                .withAccountId(UUID.randomUUID())
+                .withOperationDateTime(LocalDateTime.of(2024, 11, 11, 12, 12, 30))
+                .withAmount(new BigDecimal("25.50"))
+                .withOperationType(OperationType.DEPOSIT)
+                .withAccountType("Current")
+                .build();
+    }
+
+    private CountDownLatch awaitFlushOf(int entries) {
+        var flushed = new CountDownLatch(entries);
+        journal.addFlushListener(batch -> batch.forEach(entry -> flushed.countDown()));
+        return flushed;
+    }
+
+    // every saveAll holding one of the refused operations fails, as a constraint violation would, whatever the batch
+    private void refuseOperations(Set<UUID> refusedOperationIds) {
+        when(accountOperationRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<AccountOperationEntity> operations = invocation.getArgument(0);
+            var operationIds = new ArrayList<UUID>();
+            operations.forEach(operation -> operationIds.add(operation.getOperationId()));
+            if (operationIds.stream().anyMatch(refusedOperationIds::contains)) {
+                throw new DataIntegrityViolationException("Data truncation: Out of range value for column 'amount'");
+            }
+            savedOperationIds.addAll(operationIds);
+            return operations;
+        });
+    }
+
+    @Test
+    void should_park_an_entry_the_database_keeps_refusing_and_flush_the_others() throws Exception {
+        // Arrange
+        var entries = IntStream.range(0, 8).mapToObj(index -> buildLedgerEntry()).toList();
+        var poison = entries.get(5);
+        refuseOperations(Set.of(poison.getOperationId()));
+        journal = openJournal();
+        var flushed = awaitFlushOf(entries.size() + 1);
+
+        // Act
+        entries.forEach(journal::append);
+        var later = buildLedgerEntry();
+        journal.append(later);
+
+        // Assert
+        assertThat(flushed.await(10, TimeUnit.SECONDS)).isTrue();
+        var expectedSaved = new ArrayList<>(entries.stream().filter(entry -> entry != poison).map(LedgerEntry::getOperationId).toList());
+        expectedSaved.add(later.getOperationId());
+        assertThat(savedOperationIds).containsExactlyInAnyOrderElementsOf(expectedSaved);
+        assertThat(Files.readAllLines(deadLetterFile)).singleElement().asString()
+                .startsWith(poison.getOperationId() + "," + poison.getAccountId() + ",2024-11-11T12:12:30,25.50,DEPOSIT,Current,")
+                .endsWith("Out of range value for column 'amount'");
+        assertThat(meterRegistry.counter(WriteBehindLedgerJournal.DEAD_LETTER_COUNTER).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void should_keep_retrying_while_the_database_is_unavailable_instead_of_parking() throws Exception {
+        // Arrange
+        var unavailable = new AtomicInteger(5);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            if (unavailable.getAndDecrement() > 0) {
+                throw new CannotCreateTransactionException("Could not open JPA EntityManager for transaction");
+            }
+            return null;
+        });
+        refuseOperations(Set.of());
+        journal = openJournal();
+        var flushed = awaitFlushOf(1);
+        var entry = buildLedgerEntry();
+
+        // Act
+        journal.append(entry);
+
+        // Assert
+        assertThat(flushed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(savedOperationIds).containsExactly(entry.getOperationId());
+        assertThat(Files.readAllLines(deadLetterFile)).isEmpty();
+        assertThat(meterRegistry.counter(WriteBehindLedgerJournal.DEAD_LETTER_COUNTER).count()).isZero();
+    }
+}
@@ -0,0 +1,144 @@
+package org.exalt.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.port.in.BankAccountOperationUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.adapter.BankAccountOperationService.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.configuration.DatabaseConcurrencyLimiter.DATABASE_SATURATED_EXCEPTION_MESSAGE;
+import static org.exalt.bank.infrastructure.configuration.RetryPolicy.RETRIES_EXHAUSTED_EXCEPTION_MESSAGE;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OperationMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OperationMetrics operationMetrics = new OperationMetrics(meterRegistry);
+    @Mock
+    private BankAccountOperationUseCase bankAccountOperationUseCase;
+
+    @Test
+    void should_record_operation_timer_tagged_with_account_type_and_outcome() {
+        // Arrange
+        var recording = operationMetrics.start("withdrawal");
+        recording.accountType("current");
+
+        // Act
+        recording.stop(new BankAccountOperationResult.Ok("Withdrawal successful"));
+
+        // Assert
+        var timer = meterRegistry.get(OperationMetrics.OPERATION_TIMER)
+                .tag("operation", "withdrawal")
+                .tag("account_type", "current")
+                .tag("outcome", "ok")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_count_exceptions_and_tag_timer_with_their_outcome() {
+        // Arrange
+        var recording = operationMetrics.start("deposit");
+
+        // Act
+        var actual = recording.stop(new BankAccountNotFoundException("bank account not found"));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountNotFoundException.class);
+        assertThat(meterRegistry.get(OperationMetrics.OPERATION_TIMER)
+                .tag("account_type", OperationMetrics.UNKNOWN_ACCOUNT_TYPE)
+                .tag("outcome", "not_found")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(OperationMetrics.EXCEPTION_COUNTER)
+                .tag("operation", "deposit")
+                .tag("exception", "BankAccountNotFoundException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_time_transactions_per_operation() {
+        // Act
+        var actual = operationMetrics.timeTransaction("batch", () -> "done");
+
+        // Assert
+        assertThat(actual).isEqualTo("done");
+        assertThat(meterRegistry.get(OperationMetrics.TRANSACTION_TIMER).tag("operation", "batch").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_map_results_and_exceptions_to_outcomes() {
+        assertThat(OperationMetrics.outcomeOf(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE))).isEqualTo("insufficient_funds");
+        assertThat(OperationMetrics.outcomeOf(new BankAccountOperationResult.Failure("boom"))).isEqualTo("failure");
+        assertThat(OperationMetrics.outcomeOf(new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE))).isEqualTo("limit_exceeded");
+        assertThat(OperationMetrics.outcomeOf(new BankOperationsException(RETRIES_EXHAUSTED_EXCEPTION_MESSAGE))).isEqualTo("retries_exhausted");
+        assertThat(OperationMetrics.outcomeOf(new BankOperationsException(DATABASE_SATURATED_EXCEPTION_MESSAGE))).isEqualTo("db_saturated");
+        assertThat(OperationMetrics.outcomeOf(new IllegalStateException())).isEqualTo("error");
+    }
+
+    @Test
+    void should_time_use_case_calls_by_method_and_outcome() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var timedUseCase = new TimedBankAccountOperationUseCase(bankAccountOperationUseCase, meterRegistry);
+        when(bankAccountOperationUseCase.deposit(accountId, BigDecimal.ONE, null))
+                .thenReturn(new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE));
+
+        // Act
+        timedUseCase.deposit(accountId, BigDecimal.ONE);
+
+        // Assert
+        assertThat(meterRegistry.get(TimedBankAccountOperationUseCase.USE_CASE_TIMER)
+                .tag("method", "deposit")
+                .tag("outcome", "insufficient_funds")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_time_a_use_case_call_that_throws_under_the_exception_outcome() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var timedUseCase = new TimedBankAccountOperationUseCase(bankAccountOperationUseCase, meterRegistry);
+        when(bankAccountOperationUseCase.withdrawal(accountId, BigDecimal.ONE, null)).thenThrow(new BankAccountNotFoundException("bank account not found"));
+
+        // Act
+        var actual = catchThrowable(() -> timedUseCase.withdrawal(accountId, BigDecimal.ONE));
+
+        // Assert
+        assertThat(actual).isInstanceOf(BankAccountNotFoundException.class);
+        assertThat(meterRegistry.get(TimedBankAccountOperationUseCase.USE_CASE_TIMER)
+                .tag("method", "withdrawal")
+                .tag("outcome", TimedBankAccountOperationUseCase.EXCEPTION_OUTCOME)
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_record_a_batch_as_one_sample_tagged_with_every_account_type_it_touched() {
+        // Arrange
+        var recording = operationMetrics.start(OperationMetrics.BATCH_OPERATION);
+        recording.accountType("Current");
+        recording.accountType("Saving");
+
+        // Act
+        recording.stop(List.of(new BankAccountOperationResult.Ok("DEPOSIT successful"),
+                new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE)));
+
+        // Assert
+        assertThat(meterRegistry.get(OperationMetrics.OPERATION_TIMER)
+                .tag("operation", "batch")
+                .tag("account_type", OperationMetrics.MIXED_ACCOUNT_TYPES)
+                .tag("outcome", "partial")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,143 @@
+package org.exalt.bank.infrastructure.statement;
+
+import org.exalt.bank.infrastructure.enums.OperationType;
+import org.exalt.bank.infrastructure.repositories.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthEndStatementJobTest {
+    private static final YearMonth MONTH = YearMonth.of(2024, 11);
+    private static final UUID FIRST_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID THIRD_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @TempDir
+    private Path outputDirectory;
+    private MonthEndStatementJob monthEndStatementJob;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        monthEndStatementJob = MonthEndStatementJob.builder()
+                .withBankAccountRepository(bankAccountRepository)
+                .withReadOnlyTransactionTemplate(transactionTemplate)
+                .withOutputDirectory(outputDirectory)
+                .withPartitionSize(2)
+                .withParallelism(2)
+                .build();
+        when(bankAccountRepository.count()).thenReturn(3L);
+        when(bankAccountRepository.findFirstAccountIds(any())).thenReturn(List.of(FIRST_ACCOUNT_ID, SECOND_ACCOUNT_ID));
+        when(bankAccountRepository.findAccountIdsAfter(eq(SECOND_ACCOUNT_ID), any())).thenReturn(List.of(THIRD_ACCOUNT_ID));
+        when(bankAccountRepository.findAccountIdsAfter(eq(THIRD_ACCOUNT_ID), any())).thenReturn(List.of());
+    }
+
+    private static StatementOperationRow row(UUID accountId, String amount, int day) {
+        var value = new BigDecimal(amount);
+        return new StatementOperationRow(accountId, UUID.randomUUID(), LocalDateTime.of(2024, 11, day, 10, 0), value,
+                value.signum() > 0 ? OperationType.DEPOSIT : OperationType.WITHDRAWAL, "CURRENT");
+    }
+
+    private void stubPartitions() {
+        var firstPartition = List.of(FIRST_ACCOUNT_ID, SECOND_ACCOUNT_ID);
+        var secondPartition = List.of(THIRD_ACCOUNT_ID);
+        lenient().when(bankAccountRepository.findBalancesByAccountIds(firstPartition))
+                .thenReturn(List.of(new AccountAmount(FIRST_ACCOUNT_ID, new BigDecimal("130")), new AccountAmount(SECOND_ACCOUNT_ID, new BigDecimal("500"))));
+        lenient().when(bankAccountRepository.sumOperationAmountsAfterByAccountIds(eq(firstPartition), any()))
+                .thenReturn(List.of(new AccountAmount(FIRST_ACCOUNT_ID, new BigDecimal("10"))));
+        lenient().when(bankAccountRepository.streamStatementOperations(eq(firstPartition), any(), any()))
+                .thenAnswer(invocation -> Stream.of(row(FIRST_ACCOUNT_ID, "-30", 20), row(FIRST_ACCOUNT_ID, "50", 10)));
+        lenient().when(bankAccountRepository.findBalancesByAccountIds(secondPartition))
+                .thenReturn(List.of(new AccountAmount(THIRD_ACCOUNT_ID, new BigDecimal("7"))));
+        lenient().when(bankAccountRepository.sumOperationAmountsAfterByAccountIds(eq(secondPartition), any())).thenReturn(List.of());
+        lenient().when(bankAccountRepository.streamStatementOperations(eq(secondPartition), any(), any()))
+                .thenAnswer(invocation -> Stream.of(row(THIRD_ACCOUNT_ID, "7", 1)));
+    }
+
+    private List<String> summaries(String fileName) throws IOException {
+        return Files.readAllLines(outputDirectory.resolve(MONTH.toString()).resolve(fileName)).stream()
+                .filter(line -> line.startsWith("SUMMARY,"))
+                .toList();
+    }
+
+    @Test
+    void should_write_one_file_per_partition_with_a_summary_for_every_account() throws Exception {
+        // Arrange
+        stubPartitions();
+
+        // Act
+        var actual = monthEndStatementJob.run(MONTH);
+
+        // Assert
+        assertThat(actual.partitions()).isEqualTo(2);
+        assertThat(actual.resumedPartitions()).isZero();
+        assertThat(actual.accounts()).isEqualTo(3);
+        assertThat(actual.operations()).isEqualTo(3);
+        // closing 130 - 10 booked after the month: 120, walked back through -30 and +50 to an opening of 100
+        assertThat(summaries("statements-00000.csv")).containsExactly(
+                "SUMMARY," + FIRST_ACCOUNT_ID + ",100.00,120,50.00,30.00,2,100.00,150.00",
+                "SUMMARY," + SECOND_ACCOUNT_ID + ",500.00,500,0.00,0.00,0,500.00,500.00");
+        assertThat(summaries("statements-00001.csv")).containsExactly(
+                "SUMMARY," + THIRD_ACCOUNT_ID + ",0.00,7,7.00,0.00,1,0.00,7.00");
+        assertThat(outputDirectory.resolve(MONTH.toString()).resolve(MonthEndStatementJob.CHECKPOINT_FILE)).content().hasLineCount(2);
+    }
+
+    @Test
+    void should_resume_from_the_checkpoint_and_only_write_the_partitions_left() throws Exception {
+        // Arrange
+        stubPartitions();
+        var directory = Files.createDirectories(outputDirectory.resolve(MONTH.toString()));
+        Files.writeString(directory.resolve(MonthEndStatementJob.CHECKPOINT_FILE), "0," + FIRST_ACCOUNT_ID + "," + SECOND_ACCOUNT_ID + "\n");
+
+        // Act
+        var actual = monthEndStatementJob.run(MONTH);
+
+        // Assert
+        assertThat(actual.resumedPartitions()).isEqualTo(1);
+        assertThat(actual.accounts()).isEqualTo(1);
+        verify(bankAccountRepository, never()).streamStatementOperations(eq(List.of(FIRST_ACCOUNT_ID, SECOND_ACCOUNT_ID)), any(), any());
+        assertThat(directory.resolve("statements-00001.csv")).exists();
+    }
+
+    @Test
+    void should_leave_no_partial_file_and_fail_the_run_when_a_partition_fails() throws Exception {
+        // Arrange
+        stubPartitions();
+        when(bankAccountRepository.streamStatementOperations(eq(List.of(THIRD_ACCOUNT_ID)), any(), any()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> monthEndStatementJob.run(MONTH))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("resume from the checkpoint");
+        var directory = outputDirectory.resolve(MONTH.toString());
+        assertThat(directory.resolve("statements-00001.csv")).doesNotExist();
+        assertThat(directory.resolve(MonthEndStatementJob.CHECKPOINT_FILE)).content().doesNotContain(THIRD_ACCOUNT_ID.toString());
+    }
+}
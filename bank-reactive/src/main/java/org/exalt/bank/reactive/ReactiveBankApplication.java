@@ -0,0 +1,13 @@
+package org.exalt.bank.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveBankApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveBankApplication.class, args);
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.exalt.bank.reactive.adapter;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.AccountLimits;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.domain.model.TimeOrderedUuid;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountOperationPort;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.exalt.bank.domain.model.AccountLimits.DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE;
+import static org.exalt.bank.domain.model.AccountLimits.INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE;
+
+// the same guarded updates as BankAccountOperationService, issued over R2DBC against the tables the JPA adapters map
+public class R2dbcBankAccountOperationAdapter implements ReactiveBankAccountOperationPort {
+    static final String ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE = "Bank account not found";
+    static final String RETRIES_EXHAUSTED_EXCEPTION_MESSAGE = "Operation aborted after repeated concurrent update conflicts";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Retry retry;
+
+    public R2dbcBankAccountOperationAdapter(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                                           int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.retry = Retry.backoff(maxAttempts - 1L, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .filter(TransientDataAccessException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> new BankOperationsException(RETRIES_EXHAUSTED_EXCEPTION_MESSAGE));
+    }
+
+    @Override
+    public Mono<BankAccountOperationResult> withdrawal(UUID accountId, BigDecimal withdrawalAmount) {
+        return transactionalOperator.transactional(findAccount(accountId)
+                        .flatMap(account -> {
+                            var overdraftLimit = account.overdraftLimit();
+                            if (!AccountLimits.canWithdraw(Money.of(account.balance()), Money.of(withdrawalAmount), overdraftLimit)) {
+                                return Mono.just(insufficientFunds());
+                            }
+                            return databaseClient.sql("UPDATE bank_account_entity SET balance = balance - :amount, version = COALESCE(version, 0) + 1 " +
+                                            "WHERE account_id = :accountId AND balance - :amount >= :floor")
+                                    .bind("amount", withdrawalAmount)
+                                    .bind("accountId", Uuids.toBytes(accountId))
+                                    .bind("floor", overdraftLimit.negate().toBigDecimal())
+                                    .fetch()
+                                    .rowsUpdated()
+                                    .flatMap(updated -> updated == 0
+                                            ? Mono.just(insufficientFunds())
+                                            : recordOperation(accountId, account.accountType(), withdrawalAmount.negate(), OperationType.WITHDRAWAL));
+                        }))
+                .retryWhen(retry);
+    }
+
+    @Override
+    public Mono<BankAccountOperationResult> deposit(UUID accountId, BigDecimal amount) {
+        return transactionalOperator.transactional(findAccount(accountId)
+                        .flatMap(account -> {
+                            var depositLimit = account.depositLimit();
+                            if (AccountLimits.exceedsDepositLimit(Money.of(account.balance()), Money.of(amount), depositLimit)) {
+                                return Mono.error(new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE));
+                            }
+                            var update = depositLimit == null
+                                    ? databaseClient.sql("UPDATE bank_account_entity SET balance = balance + :amount, version = COALESCE(version, 0) + 1 " +
+                                            "WHERE account_id = :accountId")
+                                    : databaseClient.sql("UPDATE bank_account_entity SET balance = balance + :amount, version = COALESCE(version, 0) + 1 " +
+                                                    "WHERE account_id = :accountId AND balance + :amount <= :ceiling")
+                                            .bind("ceiling", depositLimit.toBigDecimal());
+                            return update.bind("amount", amount)
+                                    .bind("accountId", Uuids.toBytes(accountId))
+                                    .fetch()
+                                    .rowsUpdated()
+                                    .flatMap(updated -> updated == 0
+                                            ? Mono.error(new BankOperationsException(DEPOSIT_EXCEEDS_LIMIT_EXCEPTION_MESSAGE))
+                                            : recordOperation(accountId, account.accountType(), amount, OperationType.DEPOSIT));
+                        }))
+                .retryWhen(retry);
+    }
+
+    private Mono<AccountRow> findAccount(UUID accountId) {
+        return databaseClient.sql("SELECT account_type, balance, overdraft_limit, deposit_limit FROM bank_account_entity WHERE account_id = :accountId")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .map((row, metadata) -> new AccountRow(
+                        row.get("account_type", String.class),
+                        row.get("balance", BigDecimal.class),
+                        row.get("overdraft_limit", BigDecimal.class),
+                        row.get("deposit_limit", BigDecimal.class)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new BankAccountNotFoundException(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE)));
+    }
+
+    private Mono<BankAccountOperationResult> recordOperation(UUID accountId, String accountType, BigDecimal amount, OperationType operationType) {
+        var operationDateTime = LocalDateTime.now();
+        return databaseClient.sql("INSERT INTO account_operation_entity " +
+                        "(operation_id, operation_date_time, amount, operation_type, account_type, bank_account_account_id) " +
+                        "VALUES (:operationId, :operationDateTime, :amount, :operationType, :accountType, :accountId)")
+                .bind("operationId", Uuids.toBytes(TimeOrderedUuid.next()))
+                .bind("operationDateTime", operationDateTime)
+                .bind("amount", amount)
+                .bind("operationType", operationType.name())
+                .bind("accountType", accountType)
+                .bind("accountId", Uuids.toBytes(accountId))
+                .fetch()
+                .rowsUpdated()
+                .then(recordClosingBalance(accountId, operationDateTime.toLocalDate()))
+                .thenReturn(new BankAccountOperationResult.Ok(operationType + " successful"));
+    }
+
+    // keeps the daily snapshots statements are derived from, as BalanceSnapshotRecorder does for the JPA adapters
+    private Mono<Void> recordClosingBalance(UUID accountId, LocalDate snapshotDate) {
+        return databaseClient.sql("SELECT balance FROM bank_account_entity WHERE account_id = :accountId")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .map((row, metadata) -> row.get("balance", BigDecimal.class))
+                .one()
+                .flatMap(balance -> databaseClient.sql("UPDATE balance_snapshot_entity SET closing_balance = :closingBalance " +
+                                "WHERE account_id = :accountId AND snapshot_date = :snapshotDate")
+                        .bind("closingBalance", balance)
+                        .bind("accountId", Uuids.toBytes(accountId))
+                        .bind("snapshotDate", snapshotDate)
+                        .fetch()
+                        .rowsUpdated()
+                        .filter(updated -> updated == 0)
+                        .flatMap(updated -> databaseClient.sql("INSERT INTO balance_snapshot_entity (account_id, snapshot_date, closing_balance) " +
+                                        "VALUES (:accountId, :snapshotDate, :closingBalance)")
+                                .bind("accountId", Uuids.toBytes(accountId))
+                                .bind("snapshotDate", snapshotDate)
+                                .bind("closingBalance", balance)
+                                .fetch()
+                                .rowsUpdated()))
+                .then();
+    }
+
+    private static BankAccountOperationResult insufficientFunds() {
+        return new BankAccountOperationResult.Failure(INSUFFICIENT_FUNDS_EXCEPTION_MESSAGE);
+    }
+
+    private record AccountRow(String accountType, BigDecimal balance, BigDecimal overdraftLimitOrNull, BigDecimal depositLimitOrNull) {
+        Money overdraftLimit() {
+            return overdraftLimitOrNull == null ? Money.ZERO : Money.of(overdraftLimitOrNull);
+        }
+
+        // null when the account has none, as AccountLimits expects
+        Money depositLimit() {
+            return depositLimitOrNull == null ? null : Money.of(depositLimitOrNull);
+        }
+    }
+}
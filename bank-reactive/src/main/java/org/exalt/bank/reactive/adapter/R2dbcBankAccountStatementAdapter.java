@@ -0,0 +1,97 @@
+package org.exalt.bank.reactive.adapter;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.exceptions.AccountOperationsException;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.BalanceSnapshots;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountStatementPort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class R2dbcBankAccountStatementAdapter implements ReactiveBankAccountStatementPort {
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public R2dbcBankAccountStatementAdapter(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<AccountOperation> streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        // rows are pulled from the driver as the subscriber requests them, fetchSize at a time
+        return databaseClient.sql("SELECT operation_id, operation_date_time, amount, operation_type, account_type FROM account_operation_entity " +
+                        "WHERE bank_account_account_id = :accountId AND operation_date_time BETWEEN :startDate AND :endDate " +
+                        "ORDER BY operation_date_time DESC, operation_id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("accountId", Uuids.toBytes(accountId))
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> AccountOperation.builder()
+                        .withOperationId(Uuids.fromBytes(row.get("operation_id", byte[].class)))
+                        .withOperationDateTime(row.get("operation_date_time", LocalDateTime.class))
+                        .withAmount(row.get("amount", BigDecimal.class))
+                        .withOperationType(toOperationType(row.get("operation_type", String.class)))
+                        .withAccountType(row.get("account_type", String.class))
+                        .build())
+                .all();
+    }
+
+    @Override
+    public Mono<BigDecimal> retrieveBalanceAt(UUID accountId, LocalDateTime dateTime) {
+        return databaseClient.sql("SELECT snapshot_date, closing_balance FROM balance_snapshot_entity " +
+                        "WHERE account_id = :accountId AND snapshot_date < :snapshotDate ORDER BY snapshot_date DESC LIMIT 1")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .bind("snapshotDate", BalanceSnapshots.snapshotDateBefore(dateTime))
+                .map((row, metadata) -> new Snapshot(row.get("snapshot_date", LocalDate.class), row.get("closing_balance", BigDecimal.class)))
+                .one()
+                .flatMap(snapshot -> sumOperationAmountsBetween(accountId, BalanceSnapshots.replayStart(snapshot.snapshotDate()), dateTime)
+                        .map(replayed -> BalanceSnapshots.fromSnapshot(snapshot.closingBalance(), replayed)))
+                .switchIfEmpty(Mono.defer(() -> rewindCurrentBalance(accountId, dateTime)));
+    }
+
+    private Mono<BigDecimal> rewindCurrentBalance(UUID accountId, LocalDateTime dateTime) {
+        return databaseClient.sql("SELECT balance FROM bank_account_entity WHERE account_id = :accountId")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .map((row, metadata) -> row.get("balance", BigDecimal.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new AccountOperationsException("No bank account found with ID: " + accountId + ".")))
+                .flatMap(currentBalance -> sumOperationAmountsAfter(accountId, dateTime).map(after -> BalanceSnapshots.rewind(currentBalance, after)));
+    }
+
+    private Mono<BigDecimal> sumOperationAmountsBetween(UUID accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return databaseClient.sql("SELECT COALESCE(SUM(amount), 0) AS total FROM account_operation_entity " +
+                        "WHERE bank_account_account_id = :accountId AND operation_date_time >= :startDate AND operation_date_time <= :endDate")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> row.get("total", BigDecimal.class))
+                .one();
+    }
+
+    private Mono<BigDecimal> sumOperationAmountsAfter(UUID accountId, LocalDateTime dateTime) {
+        return databaseClient.sql("SELECT COALESCE(SUM(amount), 0) AS total FROM account_operation_entity " +
+                        "WHERE bank_account_account_id = :accountId AND operation_date_time > :dateTime")
+                .bind("accountId", Uuids.toBytes(accountId))
+                .bind("dateTime", dateTime)
+                .map((row, metadata) -> row.get("total", BigDecimal.class))
+                .one();
+    }
+
+    private static OperationType toOperationType(String operationType) {
+        try {
+            return OperationType.valueOf(operationType);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return OperationType.UNKNOWN;
+        }
+    }
+
+    private record Snapshot(LocalDate snapshotDate, BigDecimal closingBalance) {
+    }
+}
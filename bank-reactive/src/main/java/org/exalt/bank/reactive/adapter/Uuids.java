@@ -0,0 +1,21 @@
+package org.exalt.bank.reactive.adapter;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Hibernate stores UUID columns as BINARY(16) on MySQL; R2DBC has to bind and read the raw bytes itself
+final class Uuids {
+    private Uuids() {}
+
+    static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID fromBytes(byte[] bytes) {
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,59 @@
+package org.exalt.bank.reactive.api;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("v1/bank/account")
+public class ReactiveAccountOperationsController {
+    private final ReactiveBankAccountService reactiveBankAccountService;
+
+    public ReactiveAccountOperationsController(ReactiveBankAccountService reactiveBankAccountService) {
+        this.reactiveBankAccountService = reactiveBankAccountService;
+    }
+
+    @PostMapping(value = "/{accountId}/withdrawal", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BankAccountOperationResult>> withdrawal(@PathVariable UUID accountId, @RequestBody BigDecimal withdrawalAmount) {
+        if (withdrawalAmount == null || withdrawalAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure("withdrawal amount must be greater than zero.")));
+        }
+        if (!Money.fitsDefaultScale(withdrawalAmount)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure(Money.TOO_MANY_DECIMALS_MESSAGE)));
+        }
+        return reactiveBankAccountService.withdrawal(accountId, withdrawalAmount).map(ReactiveAccountOperationsController::toResponse);
+    }
+
+    @PostMapping(value = "/{accountId}/deposit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BankAccountOperationResult>> deposit(@PathVariable UUID accountId, @RequestBody BigDecimal depositAmount) {
+        if (depositAmount == null || depositAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure("Deposit amount must be greater than zero.")));
+        }
+        if (!Money.fitsDefaultScale(depositAmount)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new BankAccountOperationResult.Failure(Money.TOO_MANY_DECIMALS_MESSAGE)));
+        }
+        return reactiveBankAccountService.deposit(accountId, depositAmount).map(ReactiveAccountOperationsController::toResponse);
+    }
+
+    private static ResponseEntity<BankAccountOperationResult> toResponse(BankAccountOperationResult result) {
+        if (!(result instanceof BankAccountOperationResult.Failure failure)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        }
+        var status = ReactiveBankAccountService.ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE.equals(failure.getOperationMessage())
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(failure);
+    }
+}
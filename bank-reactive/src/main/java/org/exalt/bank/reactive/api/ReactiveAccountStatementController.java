@@ -0,0 +1,69 @@
+package org.exalt.bank.reactive.api;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountStatementService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("v1/bank/statement")
+public class ReactiveAccountStatementController {
+    static final BankAccountStatement EMPTY = BankAccountStatement.builder()
+            .withAccountOperations(List.of())
+            .withAmountAtIssueDate(BigDecimal.ZERO)
+            .withAggregates(StatementAggregates.of(BigDecimal.ZERO, List.of()))
+            .build();
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final ReactiveBankAccountStatementService reactiveBankAccountStatementService;
+
+    public ReactiveAccountStatementController(ReactiveBankAccountStatementService reactiveBankAccountStatementService) {
+        this.reactiveBankAccountStatementService = reactiveBankAccountStatementService;
+    }
+
+    @GetMapping(value = "/{accountId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BankAccountStatement>> retrieveAccountStatement(@PathVariable UUID accountId, @RequestParam String date) {
+        LocalDateTime dateOfIssue;
+        try {
+            dateOfIssue = LocalDateTime.parse(date, FORMATTER);
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return reactiveBankAccountStatementService.retrieveAccountStatement(accountId, dateOfIssue)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok(EMPTY));
+    }
+
+    // newline-delimited JSON, written as rows arrive: a slow reader slows the query down instead of buffering it
+    @GetMapping(value = "/{accountId}/operations", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountOperation> streamAccountOperations(@PathVariable UUID accountId, @RequestParam String from, @RequestParam String to) {
+        LocalDateTime startDate;
+        LocalDateTime endDate;
+        try {
+            startDate = LocalDateTime.parse(from, FORMATTER);
+            endDate = LocalDateTime.parse(to, FORMATTER);
+        } catch (DateTimeParseException e) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "from and to must be formatted as yyyy-MM-dd'T'HH:mm:ss"));
+        }
+        return reactiveBankAccountStatementService.streamAccountOperations(accountId, startDate, endDate)
+                .onErrorMap(IllegalArgumentException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -0,0 +1,55 @@
+package org.exalt.bank.reactive.configuration;
+
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.exalt.bank.reactive.adapter.R2dbcBankAccountOperationAdapter;
+import org.exalt.bank.reactive.adapter.R2dbcBankAccountStatementAdapter;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountOperationPort;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountStatementPort;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountService;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountStatementService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+
+@Configuration
+public class ReactiveBeanConfiguration {
+
+    @Bean
+    public ReactiveBankAccountService reactiveBankAccountService(ReactiveBankAccountOperationPort reactiveBankAccountOperationPort) {
+        return new ReactiveBankAccountService(reactiveBankAccountOperationPort);
+    }
+
+    @Bean
+    public ReactiveBankAccountStatementService reactiveBankAccountStatementService(ReactiveBankAccountStatementPort reactiveBankAccountStatementPort) {
+        return new ReactiveBankAccountStatementService(reactiveBankAccountStatementPort);
+    }
+
+    @Bean
+    public ReactiveBankAccountOperationPort reactiveBankAccountOperationPort(DatabaseClient databaseClient,
+                                                                             ReactiveTransactionManager reactiveTransactionManager,
+                                                                             @Value("${bank.operations.retry.max-attempts:5}") int maxAttempts,
+                                                                             @Value("${bank.operations.retry.initial-backoff:5ms}") Duration initialBackoff,
+                                                                             @Value("${bank.operations.retry.max-backoff:200ms}") Duration maxBackoff) {
+        return new R2dbcBankAccountOperationAdapter(databaseClient, TransactionalOperator.create(reactiveTransactionManager),
+                maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    @Bean
+    public ReactiveBankAccountStatementPort reactiveBankAccountStatementPort(DatabaseClient databaseClient,
+                                                                             @Value("${bank.statement.stream.fetch-size:500}") int fetchSize) {
+        return new R2dbcBankAccountStatementAdapter(databaseClient, fetchSize);
+    }
+
+    // same operation date format as the servlet application's responses
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer operationDateTimeFormat() {
+        return builder -> builder.serializers(new LocalDateTimeSerializer(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+    }
+}
@@ -0,0 +1,13 @@
+package org.exalt.bank.reactive.port.out;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface ReactiveBankAccountOperationPort {
+    Mono<BankAccountOperationResult> withdrawal(UUID accountId, BigDecimal amount);
+
+    Mono<BankAccountOperationResult> deposit(UUID accountId, BigDecimal amount);
+}
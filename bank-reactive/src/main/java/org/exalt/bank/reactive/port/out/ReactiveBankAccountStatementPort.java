@@ -0,0 +1,15 @@
+package org.exalt.bank.reactive.port.out;
+
+import org.exalt.bank.domain.model.AccountOperation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ReactiveBankAccountStatementPort {
+    Flux<AccountOperation> streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
+    Mono<BigDecimal> retrieveBalanceAt(UUID accountId, LocalDateTime dateTime);
+}
@@ -0,0 +1,44 @@
+package org.exalt.bank.reactive.usecases;
+
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountOperationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class ReactiveBankAccountService {
+    public static final String ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE = "bank account not found";
+    static final String OPERATION_FAILED_EXCEPTION_MESSAGE = "Operation failed due to a bank operation error";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveBankAccountService.class);
+    private final ReactiveBankAccountOperationPort reactiveBankAccountOperationPort;
+
+    public ReactiveBankAccountService(ReactiveBankAccountOperationPort reactiveBankAccountOperationPort) {
+        this.reactiveBankAccountOperationPort = reactiveBankAccountOperationPort;
+    }
+
+    public Mono<BankAccountOperationResult> withdrawal(UUID accountId, BigDecimal amount) {
+        return handleFailures(accountId, reactiveBankAccountOperationPort.withdrawal(accountId, amount));
+    }
+
+    public Mono<BankAccountOperationResult> deposit(UUID accountId, BigDecimal amount) {
+        return handleFailures(accountId, reactiveBankAccountOperationPort.deposit(accountId, amount));
+    }
+
+    // same mapping as BankAccountService, applied to the error signal instead of a thrown exception
+    private static Mono<BankAccountOperationResult> handleFailures(UUID accountId, Mono<BankAccountOperationResult> operation) {
+        return operation
+                .onErrorResume(BankOperationsException.class, e -> {
+                    LOGGER.warn("Operation failed for bank account with ID {}: {}", accountId, e.getMessage());
+                    return Mono.just(new BankAccountOperationResult.Failure(OPERATION_FAILED_EXCEPTION_MESSAGE));
+                })
+                .onErrorResume(BankAccountNotFoundException.class, e -> {
+                    LOGGER.warn("Bank account not found for ID {}", accountId);
+                    return Mono.just(new BankAccountOperationResult.Failure(ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE));
+                });
+    }
+}
@@ -0,0 +1,47 @@
+package org.exalt.bank.reactive.usecases;
+
+import org.exalt.bank.domain.exceptions.AccountOperationsException;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.domain.model.BankAccountStatement;
+import org.exalt.bank.domain.model.StatementAggregates;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountStatementPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReactiveBankAccountStatementService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveBankAccountStatementService.class);
+    private final ReactiveBankAccountStatementPort reactiveBankAccountStatementPort;
+
+    public ReactiveBankAccountStatementService(ReactiveBankAccountStatementPort reactiveBankAccountStatementPort) {
+        this.reactiveBankAccountStatementPort = reactiveBankAccountStatementPort;
+    }
+
+    public Mono<BankAccountStatement> retrieveAccountStatement(UUID accountId, LocalDateTime dateOfIssue) {
+        var accountOperations = reactiveBankAccountStatementPort.streamAccountOperations(accountId, dateOfIssue.minusDays(31), dateOfIssue)
+                .collectList()
+                .filter(operations -> !operations.isEmpty());
+        return accountOperations
+                .zipWith(reactiveBankAccountStatementPort.retrieveBalanceAt(accountId, dateOfIssue),
+                        (operations, balanceAtIssueDate) -> BankAccountStatement.builder()
+                                .withAmountAtIssueDate(balanceAtIssueDate)
+                                .withAccountOperations(operations)
+                                .withAggregates(StatementAggregates.of(balanceAtIssueDate, operations))
+                                .build())
+                .onErrorResume(AccountOperationsException.class, e -> {
+                    LOGGER.warn("Failed to retrieve operations for bank account with ID {} for the date {}", accountId, dateOfIssue);
+                    return Mono.empty();
+                });
+    }
+
+    public Flux<AccountOperation> streamAccountOperations(UUID accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Flux.error(new IllegalArgumentException("startDate must not be after endDate"));
+        }
+        return reactiveBankAccountStatementPort.streamAccountOperations(accountId, startDate, endDate);
+    }
+}
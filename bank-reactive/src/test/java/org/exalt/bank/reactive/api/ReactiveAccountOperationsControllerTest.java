@@ -0,0 +1,79 @@
+package org.exalt.bank.reactive.api;
+
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.domain.model.Money;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountOperationPort;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAccountOperationsControllerTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    @Mock
+    private ReactiveBankAccountOperationPort reactiveBankAccountOperationPort;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        var controller = new ReactiveAccountOperationsController(new ReactiveBankAccountService(reactiveBankAccountOperationPort));
+        webTestClient = WebTestClient.bindToController(controller).build();
+    }
+
+    @Test
+    void should_return_created_when_deposit_succeeds() {
+        // Arrange
+        var amount = new BigDecimal("10.50");
+        when(reactiveBankAccountOperationPort.deposit(ACCOUNT_ID, amount))
+                .thenReturn(Mono.just(new BankAccountOperationResult.Ok("DEPOSIT successful")));
+
+        // Act & Assert
+        webTestClient.post()
+                .uri("/v1/bank/account/{accountId}/deposit", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("10.50")
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    void should_return_bad_request_when_deposit_amount_has_more_than_two_decimals() {
+        // Act & Assert
+        webTestClient.post()
+                .uri("/v1/bank/account/{accountId}/deposit", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("10.001")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.operationMessage").isEqualTo(Money.TOO_MANY_DECIMALS_MESSAGE);
+        verifyNoInteractions(reactiveBankAccountOperationPort);
+    }
+
+    @Test
+    void should_return_bad_request_when_withdrawal_amount_has_more_than_two_decimals() {
+        // Act & Assert
+        webTestClient.post()
+                .uri("/v1/bank/account/{accountId}/withdrawal", ACCOUNT_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("10.001")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.operationMessage").isEqualTo(Money.TOO_MANY_DECIMALS_MESSAGE);
+        verifyNoInteractions(reactiveBankAccountOperationPort);
+    }
+}
@@ -0,0 +1,110 @@
+package org.exalt.bank.reactive.api;
+
+import org.exalt.bank.domain.enums.OperationType;
+import org.exalt.bank.domain.model.AccountOperation;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountStatementPort;
+import org.exalt.bank.reactive.usecases.ReactiveBankAccountStatementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAccountStatementControllerTest {
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+    private static final LocalDateTime DATE_OF_ISSUE = LocalDateTime.of(2024, 11, 30, 12, 0);
+
+    @Mock
+    private ReactiveBankAccountStatementPort reactiveBankAccountStatementPort;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        var controller = new ReactiveAccountStatementController(new ReactiveBankAccountStatementService(reactiveBankAccountStatementPort));
+        webTestClient = WebTestClient.bindToController(controller).build();
+    }
+
+    private static AccountOperation operation(int index) {
+        return AccountOperation.builder()
+                .withOperationId(UUID.randomUUID())
+                .withOperationDateTime(DATE_OF_ISSUE.minusHours(index))
+                .withAmount(BigDecimal.TEN)
+                .withOperationType(OperationType.DEPOSIT)
+                .withAccountType("Current")
+                .build();
+    }
+
+    @Test
+    void should_return_statement_with_balance_at_issue_date() {
+        // Arrange
+        when(reactiveBankAccountStatementPort.streamAccountOperations(ACCOUNT_ID, DATE_OF_ISSUE.minusDays(31), DATE_OF_ISSUE))
+                .thenReturn(Flux.just(operation(1), operation(2)));
+        when(reactiveBankAccountStatementPort.retrieveBalanceAt(ACCOUNT_ID, DATE_OF_ISSUE)).thenReturn(Mono.just(new BigDecimal("20.00")));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/v1/bank/statement/{accountId}?date=2024-11-30T12:00:00", ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.amountAtIssueDate").isEqualTo(20.00)
+                .jsonPath("$.accountOperations.length()").isEqualTo(2);
+    }
+
+    @Test
+    void should_return_bad_request_when_date_is_malformed() {
+        // Act & Assert
+        webTestClient.get()
+                .uri("/v1/bank/statement/{accountId}?date=30/11/2024", ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_stream_operations_as_ndjson() {
+        // Arrange
+        when(reactiveBankAccountStatementPort.streamAccountOperations(eq(ACCOUNT_ID), any(), any()))
+                .thenReturn(Flux.range(0, 1000).map(ReactiveAccountStatementControllerTest::operation));
+
+        // Act
+        var operations = webTestClient.get()
+                .uri("/v1/bank/statement/{accountId}/operations?from=2024-11-01T00:00:00&to=2024-11-30T12:00:00", ACCOUNT_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Map.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(operations).hasSize(1000);
+        assertThat(operations.get(0)).containsEntry("operationType", "DEPOSIT");
+    }
+
+    @Test
+    void should_return_bad_request_when_range_is_inverted() {
+        // Act & Assert
+        webTestClient.get()
+                .uri("/v1/bank/statement/{accountId}/operations?from=2024-11-30T00:00:00&to=2024-11-01T00:00:00", ACCOUNT_ID)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
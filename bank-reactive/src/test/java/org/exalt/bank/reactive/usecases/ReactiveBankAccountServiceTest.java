@@ -0,0 +1,69 @@
+package org.exalt.bank.reactive.usecases;
+
+import org.exalt.bank.domain.exceptions.BankAccountNotFoundException;
+import org.exalt.bank.domain.exceptions.BankOperationsException;
+import org.exalt.bank.domain.model.BankAccountOperationResult;
+import org.exalt.bank.reactive.port.out.ReactiveBankAccountOperationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBankAccountServiceTest {
+    @Mock
+    private ReactiveBankAccountOperationPort reactiveBankAccountOperationPort;
+    private ReactiveBankAccountService reactiveBankAccountService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveBankAccountService = new ReactiveBankAccountService(reactiveBankAccountOperationPort);
+    }
+
+    @Test
+    void should_return_port_result_when_withdrawal_succeeds() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        var expected = new BankAccountOperationResult.Ok("WITHDRAWAL successful");
+        when(reactiveBankAccountOperationPort.withdrawal(accountId, BigDecimal.TEN)).thenReturn(Mono.just(expected));
+
+        // Act & Assert
+        StepVerifier.create(reactiveBankAccountService.withdrawal(accountId, BigDecimal.TEN))
+                .expectNext(expected)
+                .verifyComplete();
+    }
+
+    @Test
+    void should_map_BankAccountNotFoundException_to_failure() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(reactiveBankAccountOperationPort.deposit(accountId, BigDecimal.TEN))
+                .thenReturn(Mono.error(new BankAccountNotFoundException("Bank account not found")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveBankAccountService.deposit(accountId, BigDecimal.TEN))
+                .expectNext(new BankAccountOperationResult.Failure(ReactiveBankAccountService.ACCOUNT_NOT_FOUND_EXCEPTION_MESSAGE))
+                .verifyComplete();
+    }
+
+    @Test
+    void should_map_BankOperationsException_to_failure() {
+        // Arrange
+        var accountId = UUID.randomUUID();
+        when(reactiveBankAccountOperationPort.deposit(accountId, BigDecimal.TEN))
+                .thenReturn(Mono.error(new BankOperationsException("Deposit exceeds the maximum allowed deposit limit for SavingAccount.")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveBankAccountService.deposit(accountId, BigDecimal.TEN))
+                .expectNext(new BankAccountOperationResult.Failure(ReactiveBankAccountService.OPERATION_FAILED_EXCEPTION_MESSAGE))
+                .verifyComplete();
+    }
+}